@@ -0,0 +1,92 @@
+package com.instrospect.jwt_validator.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validação de {@code batchSize} tokens por HTTP (loopback, servidor embarcado real):
+ * {@code batchSize} chamadas a {@code /api/jwt/validate} contra uma chamada a {@code /api/jwt/validate/batch}.
+ * O tempo reportado é o do lote inteiro.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchValidationBenchmark {
+
+    @Param({"8", "64"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private URI validateUri;
+    private URI batchUri;
+    private String[] singleBodies;
+    private String batchBody;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.startServer();
+        String port = context.getEnvironment().getProperty("local.server.port");
+        validateUri = URI.create("http://localhost:" + port + "/api/jwt/validate");
+        batchUri = URI.create("http://localhost:" + port + "/api/jwt/validate/batch");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        String[] tokens = BenchmarkTokens.Corpus.VALID.tokens();
+        singleBodies = new String[batchSize];
+        StringBuilder batch = new StringBuilder("{\"jwts\":[");
+        for (int i = 0; i < batchSize; i++) {
+            String token = tokens[i & (BenchmarkTokens.CORPUS_SIZE - 1)];
+            singleBodies[i] = "{\"jwt\":\"" + token + "\"}";
+            batch.append(i == 0 ? "\"" : ",\"").append(token).append('"');
+        }
+        batchBody = batch.append("]}").toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void singleCalls(Blackhole blackhole) throws IOException, InterruptedException {
+        for (String body : singleBodies) {
+            blackhole.consume(post(validateUri, body));
+        }
+    }
+
+    @Benchmark
+    public String batchCall() throws IOException, InterruptedException {
+        return post(batchUri, batchBody);
+    }
+
+    private String post(URI uri, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+}
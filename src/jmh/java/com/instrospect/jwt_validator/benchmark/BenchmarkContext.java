@@ -0,0 +1,79 @@
+package com.instrospect.jwt_validator.benchmark;
+
+import com.instrospect.jwt_validator.JwtValidatorApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sobe o contexto Spring da aplicação, sem servidor web, para que os benchmarks
+ * exercitem os mesmos beans (e a mesma configuração) usados em produção.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    // Sem logs por padrão: a saída no console distorceria as medições.
+    private static final List<String> QUIET = List.of("logging.level.root=OFF", "spring.main.banner-mode=off");
+    private static final List<String> RANDOM_PORT = List.of("server.port=0");
+
+    /**
+     * @param properties propriedades adicionais no formato {@code chave=valor}
+     */
+    static ConfigurableApplicationContext start(String... properties) {
+        return run(builder(WebApplicationType.NONE), List.of(), properties);
+    }
+
+    /**
+     * Sobe o contexto com o servidor web em uma porta livre, para benchmarks que medem a ida e volta HTTP.
+     * A porta escolhida fica em {@code local.server.port}.
+     *
+     * @param properties propriedades adicionais no formato {@code chave=valor}
+     */
+    static ConfigurableApplicationContext startServer(String... properties) {
+        return run(builder(WebApplicationType.SERVLET), RANDOM_PORT, properties);
+    }
+
+    /**
+     * Como {@link #startServer(String...)}, mas com a pilha reativa (WebFlux sobre Netty) do profile {@code reactive}.
+     *
+     * @param properties propriedades adicionais no formato {@code chave=valor}
+     */
+    static ConfigurableApplicationContext startReactiveServer(String... properties) {
+        return run(builder(WebApplicationType.REACTIVE).profiles("reactive"), RANDOM_PORT, properties);
+    }
+
+    private static SpringApplicationBuilder builder(WebApplicationType type) {
+        return new SpringApplicationBuilder(JwtValidatorApplication.class)
+                .web(type)
+                .logStartupInfo(false);
+    }
+
+    // Todas as propriedades vão como argumentos de linha de comando, que prevalecem sobre application.properties
+    // (as de SpringApplicationBuilder#properties são apenas valores padrão, e o arquivo as sobrescreveria em
+    // silêncio). Depois da subida, cada uma é conferida no Environment: uma propriedade que não vale faria o
+    // benchmark medir outra configuração, então ele falha em vez de medir.
+    private static ConfigurableApplicationContext run(SpringApplicationBuilder builder, List<String> fixed,
+                                                      String... properties) {
+        List<String> all = new ArrayList<>(QUIET);
+        all.addAll(fixed);
+        all.addAll(List.of(properties));
+        ConfigurableApplicationContext context = builder.run(all.stream().map(p -> "--" + p).toArray(String[]::new));
+        for (String property : all) {
+            int separator = property.indexOf('=');
+            String name = property.substring(0, separator);
+            String expected = property.substring(separator + 1);
+            String actual = context.getEnvironment().getProperty(name);
+            if (!expected.equals(actual)) {
+                context.close();
+                throw new IllegalStateException("Propriedade do benchmark não aplicada: " + name + "=" + expected
+                        + ", mas o contexto usa " + actual);
+            }
+        }
+        return context;
+    }
+}
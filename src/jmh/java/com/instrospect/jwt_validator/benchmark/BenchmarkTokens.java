@@ -0,0 +1,116 @@
+package com.instrospect.jwt_validator.benchmark;
+
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Tokens usados pelos benchmarks, assinados com o mesmo segredo de application.properties.
+ */
+public final class BenchmarkTokens {
+
+    static final String SECRET = "3Vq#mP9$kL2@nR5*jF8&hX4^wC7!tY6zB1";
+
+    /**
+     * Quantidade de tokens distintos por corpus, percorridos em rodízio pelos benchmarks.
+     */
+    static final int CORPUS_SIZE = 64;
+
+    private static final SecretKey KEY = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    private static final SecretKey WRONG_KEY =
+            Keys.hmacShaKeyFor("wrongsecretwrongsecretwrongsecret".getBytes(StandardCharsets.UTF_8));
+
+    private static final String[] NAMES = {"Toninho Araujo", "Maria Olivia", "Valdir Aranha", "External User"};
+    private static final String[] ROLES = {"Admin", "Member", "External"};
+    private static final String[] SMALL_PRIMES = {"7", "11", "13", "7841", "72341", "14627"};
+
+    /**
+     * Maior primo abaixo de 46337²: pior caso da divisão por tentativa (~7.700 iterações).
+     */
+    static final String HUGE_PRIME = "2147117563";
+
+    /**
+     * 46337², o maior quadrado de primo em 32 bits: composto cujo menor fator só é encontrado no fim do laço.
+     */
+    static final String HUGE_COMPOSITE = "2147117569";
+
+    private BenchmarkTokens() {
+    }
+
+    static String valid() {
+        return signed("Toninho Araujo", "Admin", "7841");
+    }
+
+    static String signed(String name, String role, String seed) {
+        return signed(KEY, name, role, seed);
+    }
+
+    private static String signed(SecretKey key, String name, String role, String seed) {
+        return Jwts.builder()
+                .claim("Name", name)
+                .claim("Role", role)
+                .claim("Seed", seed)
+                .signWith(key)
+                .compact();
+    }
+
+    private static String signedLarge(String name, String role, int i) {
+        JwtBuilder builder = Jwts.builder()
+                .claim("Name", name)
+                .claim("Role", role)
+                .claim("Seed", "7")
+                .issuer("https://idp.example.com")
+                .subject("user-" + i)
+                .issuedAt(new Date(1_700_000_000_000L))
+                .expiration(new Date(4_102_444_800_000L));
+        for (int c = 0; c < 40; c++) {
+            builder.claim("attr" + c, c % 2 == 0 ? "value-" + c + "-" + "x".repeat(32) : (Object) (c * 1_000_003L));
+        }
+        return builder
+                .claim("groups", List.of("admins", "developers", "on-call", "reviewers"))
+                .claim("address", Map.of("city", "Recife", "country", "BR"))
+                .signWith(KEY)
+                .compact();
+    }
+
+    /**
+     * Corpora representativos do tráfego real e de tráfego hostil.
+     */
+    public enum Corpus {
+        VALID(i -> signed(NAMES[i % NAMES.length], ROLES[i % ROLES.length], SMALL_PRIMES[i % SMALL_PRIMES.length])),
+        BAD_SIGNATURE(i -> signed(WRONG_KEY, NAMES[i % NAMES.length], ROLES[i % ROLES.length], "7")),
+        MALFORMED(i -> switch (i % 4) {
+            case 0 -> "invalid.jwt.token";
+            case 1 -> "eyJhbGciOiJzI1NiJ9.dfsdfsfryJSr2xrIjoiQWRtaW4iLCJTZrkIjoiNzg0MSIsIk5hbrUiOaJUb25pbmhvIEFyYXVqbyJ9."
+                    + "QY05fsdfsIjtrcJnP533kQNk8QXcaleJ1Q01jWY_ZzIZuAg";
+            case 2 -> "not-a-jwt-" + i;
+            default -> valid().replace('.', '*');
+        }),
+        LARGE_NAME(i -> signed("A".repeat(255) + (char) ('a' + i % 26), ROLES[i % ROLES.length], "7")),
+        HUGE_PRIME_SEED(i -> signed(NAMES[i % NAMES.length], ROLES[i % ROLES.length], HUGE_PRIME)),
+        HUGE_COMPOSITE_SEED(i -> signed(NAMES[i % NAMES.length], ROLES[i % ROLES.length], HUGE_COMPOSITE)),
+        // Token de identidade grande (~3KB de payload): rejeitado em /validate (CLAIM_COUNT), mas típico de /extract-claims.
+        LARGE_PAYLOAD(i -> signedLarge(NAMES[i % NAMES.length], ROLES[i % ROLES.length], i));
+
+        private final IntFunction<String> generator;
+
+        Corpus(IntFunction<String> generator) {
+            this.generator = generator;
+        }
+
+        String[] tokens() {
+            String[] tokens = new String[CORPUS_SIZE];
+            for (int i = 0; i < CORPUS_SIZE; i++) {
+                tokens[i] = generator.apply(i);
+            }
+            return tokens;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.instrospect.jwt_validator.benchmark;
+
+import com.instrospect.jwt_validator.service.ClaimsJsonWriter;
+import com.instrospect.jwt_validator.service.JwtVerifier;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bytes alocados por resposta de {@code /extract-claims} ao serializar as claims já verificadas.
+ * <p>
+ * {@code stringBuilder} reproduz a montagem anterior (String, depois bytes UTF-8 pelo conversor do Spring);
+ * {@code writeToStream} usa o {@link ClaimsJsonWriter} sobre um destino reaproveitado, como o buffer de saída
+ * da conexão; {@code toBytes} é o caminho com o cache de resultados habilitado, que guarda o JSON.
+ * Use {@code -prof gc} para {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClaimsJsonBenchmark {
+
+    @Param({"VALID", "LARGE_NAME"})
+    private BenchmarkTokens.Corpus corpus;
+
+    private final ClaimsJsonWriter writer = new ClaimsJsonWriter();
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+    private Claims[] claims;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtVerifier verifier = new JwtVerifier(BenchmarkTokens.SECRET);
+        String[] tokens = corpus.tokens();
+        claims = new Claims[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            claims[i] = verifier.parseClaims(tokens[i]);
+        }
+    }
+
+    private Claims next() {
+        return claims[index++ & (BenchmarkTokens.CORPUS_SIZE - 1)];
+    }
+
+    @Benchmark
+    public byte[] stringBuilder() {
+        Claims current = next();
+        StringBuilder jsonBuilder = new StringBuilder();
+        jsonBuilder.append("{");
+        boolean first = true;
+        for (String key : current.keySet()) {
+            if (!first) {
+                jsonBuilder.append(",");
+            }
+            jsonBuilder.append("\"").append(key).append("\":\"").append(current.get(key)).append("\"");
+            first = false;
+        }
+        jsonBuilder.append("}");
+        return jsonBuilder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public int writeToStream() throws IOException {
+        out.reset();
+        writer.write(next(), out);
+        return out.size();
+    }
+
+    @Benchmark
+    public byte[] toBytes() {
+        return writer.toBytes(next());
+    }
+}
@@ -0,0 +1,91 @@
+package com.instrospect.jwt_validator.benchmark;
+
+import com.instrospect.jwt_validator.service.ClaimProjection;
+import com.instrospect.jwt_validator.service.JwtValidationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtValidationService#writeClaims} com o payload repassado como bytes ({@code mode=payload}) ou
+ * materializado em claims e serializado de novo ({@code mode=claims}).
+ * <p>
+ * O destino é um buffer reaproveitado, como o corpo da resposta; com {@code -prof gc}, a alocação
+ * por operação mostra o custo do mapa de claims e da nova serialização.
+ * <p>
+ * {@code claims} é a projeção ({@code ?claims=...}): vazio para todas as claims, ou os nomes pedidos separados por vírgula.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExtractClaimsBenchmark {
+
+    @Param({"payload", "claims"})
+    private String mode;
+
+    @Param({"VALID", "LARGE_NAME", "LARGE_PAYLOAD"})
+    private BenchmarkTokens.Corpus corpus;
+
+    @Param({"", "Role"})
+    private String claims;
+
+    /**
+     * Habilita o cache de resultados (jwt.cache.enabled): com ele, a projeção parte do JSON guardado, sem verificação.
+     */
+    @Param({"false"})
+    private boolean cache;
+
+    private ConfigurableApplicationContext context;
+    private JwtValidationService jwtValidationService;
+    private String[] tokens;
+    private ClaimProjection projection;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("jwt.cache.enabled=" + cache, "jwt.extract.mode=" + mode);
+        jwtValidationService = context.getBean(JwtValidationService.class);
+        tokens = corpus.tokens();
+        projection = ClaimProjection.of(List.of(claims.split(",")));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        private int index;
+
+        String next(String[] tokens) {
+            return tokens[index++ & (BenchmarkTokens.CORPUS_SIZE - 1)];
+        }
+    }
+
+    @Benchmark
+    public int writeClaims(Cursor cursor) throws IOException {
+        cursor.out.reset();
+        jwtValidationService.writeClaims(cursor.next(tokens), projection, cursor.out);
+        return cursor.out.size();
+    }
+}
@@ -0,0 +1,106 @@
+package com.instrospect.jwt_validator.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teste de carga do padrão de subrequisição de gateways ({@code auth_request} do nginx): cada chamada da API
+ * vira um {@code GET /api/jwt/introspect} com o token em {@code Authorization}, em conexões persistentes, e só o
+ * status importa. {@code validate} é a mesma verificação por {@code POST /api/jwt/validate} com corpo JSON.
+ * <p>
+ * {@code profile=gateway} sobe a aplicação com o profile de mesmo nome (keep-alive sem limite, sem a observação
+ * {@code http.server.requests}). A concorrência é o número de threads do JMH ({@code -t}, padrão 64).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+@Fork(1)
+public class GatewayIntrospectionBenchmark {
+
+    @Param({"default", "gateway"})
+    private String profile;
+
+    @Param({"VALID", "BAD_SIGNATURE"})
+    private BenchmarkTokens.Corpus corpus;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private URI introspectUri;
+    private URI validateUri;
+    private String[] authorizations;
+    private String[] validateBodies;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.startServer(
+                "spring.profiles.active=" + profile,
+                "server.tomcat.accept-count=1024");
+        String port = context.getEnvironment().getProperty("local.server.port");
+        introspectUri = URI.create("http://localhost:" + port + "/api/jwt/introspect");
+        validateUri = URI.create("http://localhost:" + port + "/api/jwt/validate");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        String[] tokens = corpus.tokens();
+        authorizations = new String[tokens.length];
+        validateBodies = new String[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            authorizations[i] = "Bearer " + tokens[i];
+            validateBodies[i] = "{\"jwt\":\"" + tokens[i] + "\"}";
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index;
+
+        int next() {
+            return index++ & (BenchmarkTokens.CORPUS_SIZE - 1);
+        }
+    }
+
+    @Benchmark
+    public int introspect(Cursor cursor) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(introspectUri)
+                .header("Authorization", authorizations[cursor.next()])
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public String validate(Cursor cursor) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(validateUri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(validateBodies[cursor.next()]))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+}
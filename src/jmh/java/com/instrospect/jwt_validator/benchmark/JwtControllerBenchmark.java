@@ -0,0 +1,115 @@
+package com.instrospect.jwt_validator.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.instrospect.jwt_validator.controller.JwtController;
+import com.instrospect.jwt_validator.dto.JwtRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ida e volta JSON do {@link JwtController}: desserialização do {@link JwtRequest},
+ * chamada ao endpoint e serialização da resposta com o mesmo {@link ObjectMapper} usado pelo Spring MVC.
+ * Não inclui o custo do servidor HTTP.
+ * <p>
+ * {@code validateBearer} e {@code validatePlain} recebem o token bruto (header {@code Authorization} ou corpo
+ * {@code text/plain}, decodificado como o {@code StringHttpMessageConverter} faz) e devolvem os bytes pré-formatados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtControllerBenchmark {
+
+    @Param({"VALID", "BAD_SIGNATURE", "MALFORMED"})
+    private BenchmarkTokens.Corpus corpus;
+
+    private ConfigurableApplicationContext context;
+    private JwtController jwtController;
+    private ObjectMapper objectMapper;
+    private byte[][] requestBodies;
+    private byte[][] plainBodies;
+    private String[] authorizations;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // JwtController só existe em aplicações servlet; as chamadas abaixo não passam pelo servidor.
+        context = BenchmarkContext.startServer();
+        jwtController = context.getBean(JwtController.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        String[] tokens = corpus.tokens();
+        requestBodies = new byte[tokens.length][];
+        plainBodies = new byte[tokens.length][];
+        authorizations = new String[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            requestBodies[i] = ("{\"jwt\":\"" + tokens[i] + "\"}").getBytes(StandardCharsets.UTF_8);
+            plainBodies[i] = tokens[i].getBytes(StandardCharsets.UTF_8);
+            authorizations[i] = "Bearer " + tokens[i];
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index;
+        // Reaproveitada entre chamadas (reset), como o buffer de saída de uma conexão.
+        private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        byte[] next(byte[][] bodies) {
+            return bodies[index++ & (BenchmarkTokens.CORPUS_SIZE - 1)];
+        }
+
+        String next(String[] headers) {
+            return headers[index++ & (BenchmarkTokens.CORPUS_SIZE - 1)];
+        }
+    }
+
+    @Benchmark
+    public byte[] validate(Cursor cursor) throws IOException {
+        JwtRequest request = objectMapper.readValue(cursor.next(requestBodies), JwtRequest.class);
+        return objectMapper.writeValueAsBytes(jwtController.validateToken(request).getBody());
+    }
+
+    @Benchmark
+    public byte[] validateBearer(Cursor cursor) {
+        return jwtController.validateBearerToken(cursor.next(authorizations)).getBody();
+    }
+
+    @Benchmark
+    public byte[] validatePlain(Cursor cursor) {
+        return jwtController.validatePlainToken(new String(cursor.next(plainBodies), StandardCharsets.UTF_8)).getBody();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse extractClaims(Cursor cursor) throws IOException {
+        JwtRequest request = objectMapper.readValue(cursor.next(requestBodies), JwtRequest.class);
+        cursor.response.setCommitted(false);
+        cursor.response.reset();
+        // As claims são escritas direto no corpo da resposta.
+        jwtController.extractClaims(request, null, cursor.response);
+        return cursor.response;
+    }
+}
@@ -0,0 +1,92 @@
+package com.instrospect.jwt_validator.benchmark;
+
+import com.instrospect.jwt_validator.service.JwtVerifier;
+import com.instrospect.jwt_validator.service.ValidationResult;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Estratégias de verificação de assinatura para cada corpus de tokens:
+ * <ul>
+ *     <li>{@code perCallKeyAndParser}: chave e parser construídos a cada chamada (comportamento original);</li>
+ *     <li>{@code sharedParser}: parser do jjwt compartilhado, com exceções nas falhas;</li>
+ *     <li>{@code verify}: {@link JwtVerifier#verify(String)}, sem exceções nos casos comuns de falha.</li>
+ * </ul>
+ * Execute com {@code -prof gc} para comparar {@code gc.alloc.rate.norm} (bytes alocados por chamada).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerifierBenchmark {
+
+    @Param({"VALID", "BAD_SIGNATURE", "MALFORMED"})
+    private BenchmarkTokens.Corpus corpus;
+
+    private String secret;
+    private String[] tokens;
+    private JwtVerifier jwtVerifier;
+
+    @Setup
+    public void setUp() {
+        secret = BenchmarkTokens.SECRET;
+        tokens = corpus.tokens();
+        jwtVerifier = new JwtVerifier(secret);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index;
+
+        String next(String[] tokens) {
+            return tokens[index++ & (BenchmarkTokens.CORPUS_SIZE - 1)];
+        }
+    }
+
+    @Benchmark
+    public Claims perCallKeyAndParser(Cursor cursor) {
+        try {
+            SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+            return Jwts.parser()
+                    .verifyWith(key)
+                    .build()
+                    .parseSignedClaims(cursor.next(tokens))
+                    .getPayload();
+        } catch (JwtException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public Claims sharedParser(Cursor cursor) {
+        try {
+            return jwtVerifier.parseClaims(cursor.next(tokens));
+        } catch (JwtException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public ValidationResult verify(Cursor cursor) {
+        return jwtVerifier.verify(cursor.next(tokens));
+    }
+}
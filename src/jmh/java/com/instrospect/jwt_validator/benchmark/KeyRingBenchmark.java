@@ -0,0 +1,119 @@
+package com.instrospect.jwt_validator.benchmark;
+
+import com.instrospect.jwt_validator.service.JwtVerifier;
+import com.instrospect.jwt_validator.service.ValidationResult;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.Jwks;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtVerifier#verify(String)} com tokens assinados por chaves de um chaveiro de {@code ringSize} chaves,
+ * escolhidas pelo {@code kid}; o custo não deve variar com o tamanho do chaveiro.
+ * <p>
+ * Com {@code rotate=true}, uma thread troca o chaveiro inteiro ({@link JwtVerifier#updateKeys}) a cada
+ * 10 ms durante a medição: as validações não esperam pelas trocas (numa máquina com poucos núcleos, a thread que
+ * monta os estados novos ainda disputa CPU com as validações).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeyRingBenchmark {
+
+    @Param({"1", "1000"})
+    private int ringSize;
+
+    @Param({"false", "true"})
+    private boolean rotate;
+
+    private JwtVerifier jwtVerifier;
+    private String[] tokens;
+    private List<Jwk<?>> ring;
+    private volatile boolean rotating;
+    private Thread rotator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ring = new ArrayList<>();
+        SecretKey[] keys = new SecretKey[ringSize];
+        for (int i = 0; i < ringSize; i++) {
+            byte[] secret = ("key-ring-benchmark-secret-" + i + "-0123456789abcdef").getBytes(StandardCharsets.UTF_8);
+            keys[i] = new SecretKeySpec(secret, "HmacSHA256");
+            ring.add(Jwks.builder().key(keys[i]).id("kid-" + i).build());
+        }
+        jwtVerifier = new JwtVerifier(BenchmarkTokens.SECRET);
+        jwtVerifier.updateKeys("benchmark", ring);
+
+        tokens = new String[BenchmarkTokens.CORPUS_SIZE];
+        for (int i = 0; i < tokens.length; i++) {
+            int k = (i * 7919) % ringSize;
+            tokens[i] = Jwts.builder()
+                    .header().keyId("kid-" + k).and()
+                    .claim("Name", "Toninho Araujo")
+                    .claim("Role", "Admin")
+                    .claim("Seed", "7")
+                    .signWith(keys[k])
+                    .compact();
+        }
+
+        if (rotate) {
+            rotating = true;
+            rotator = new Thread(() -> {
+                while (rotating) {
+                    jwtVerifier.updateKeys("benchmark", ring);
+                    try {
+                        Thread.sleep(10);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }, "key-ring-rotator");
+            rotator.setDaemon(true);
+            rotator.start();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        rotating = false;
+        if (rotator != null) {
+            rotator.join();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index;
+
+        String next(String[] tokens) {
+            return tokens[index++ & (BenchmarkTokens.CORPUS_SIZE - 1)];
+        }
+    }
+
+    @Benchmark
+    public ValidationResult verify(Cursor cursor) {
+        return jwtVerifier.verify(cursor.next(tokens));
+    }
+}
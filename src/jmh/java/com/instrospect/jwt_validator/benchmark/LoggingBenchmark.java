@@ -0,0 +1,117 @@
+package com.instrospect.jwt_validator.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.instrospect.jwt_validator.service.JwtValidationService;
+import com.instrospect.jwt_validator.service.ValidationLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do log dos resultados em {@link JwtValidationService#validateToken(String)}.
+ * <p>
+ * {@code logging=off} desliga o logger (linha de base); {@code per-request} registra uma linha por token,
+ * como antes; {@code sampled} usa as taxas padrão de amostragem. As linhas vão para um arquivo temporário,
+ * por um {@link FileAppender} direto ({@code appender=sync}) ou atrás de um {@link AsyncAppender}
+ * ({@code appender=async}), como em logback-spring.xml. Rode com {@code -prof gc} para ver a alocação por operação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggingBenchmark {
+
+    @Param({"off", "per-request", "sampled"})
+    private String logging;
+
+    @Param({"sync", "async"})
+    private String appender;
+
+    @Param({"VALID", "BAD_SIGNATURE"})
+    private BenchmarkTokens.Corpus corpus;
+
+    private ConfigurableApplicationContext context;
+    private JwtValidationService jwtValidationService;
+    private String[] tokens;
+    private Logger logger;
+    private Appender<ILoggingEvent> fileAppender;
+    private Path logFile;
+    private int index;
+
+    @Setup
+    public void setUp() throws IOException {
+        String mode = logging.equals("off") ? "per-request" : logging;
+        context = BenchmarkContext.start("jwt.logging.mode=" + mode);
+        jwtValidationService = context.getBean(JwtValidationService.class);
+        tokens = corpus.tokens();
+
+        logFile = Files.createTempFile("jwt-validator-logging-benchmark", ".log");
+        logger = (Logger) LoggerFactory.getLogger(ValidationLogger.class);
+        logger.setAdditive(false);
+        logger.setLevel(logging.equals("off") ? Level.OFF : Level.INFO);
+        fileAppender = appender.equals("async") ? async(file()) : file();
+        logger.addAppender(fileAppender);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        logger.detachAppender(fileAppender);
+        fileAppender.stop();
+        context.close();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtValidationService.validateToken(tokens[index++ & (BenchmarkTokens.CORPUS_SIZE - 1)]);
+    }
+
+    private FileAppender<ILoggingEvent> file() {
+        LoggerContext loggerContext = logger.getLoggerContext();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%t] %logger{40} : %m%n");
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(loggerContext);
+        file.setFile(logFile.toString());
+        file.setEncoder(encoder);
+        file.start();
+        return file;
+    }
+
+    private AsyncAppender async(FileAppender<ILoggingEvent> file) {
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(logger.getLoggerContext());
+        async.setQueueSize(8192);
+        async.addAppender(file);
+        async.start();
+        return async;
+    }
+}
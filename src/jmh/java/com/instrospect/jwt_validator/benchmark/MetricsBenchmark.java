@@ -0,0 +1,69 @@
+package com.instrospect.jwt_validator.benchmark;
+
+import com.instrospect.jwt_validator.service.JwtValidationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo da instrumentação Micrometer ({@code ValidationMetrics}) em {@link JwtValidationService#validateToken(String)},
+ * com o registro Prometheus usado em produção.
+ * <p>
+ * {@code metrics=off} desliga a instrumentação ({@code jwt.metrics.enabled=false}); {@code sampled} é a
+ * configuração padrão (contadores em toda validação, timers com histograma em 1% delas); {@code all}
+ * mede todas as validações ({@code jwt.metrics.timer-sample-rate=1.0}), com ou sem histograma ({@code histogram}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsBenchmark {
+
+    @Param({"off", "sampled", "all"})
+    private String metrics;
+
+    @Param({"true"})
+    private boolean histogram;
+
+    @Param({"VALID", "BAD_SIGNATURE", "MALFORMED"})
+    private BenchmarkTokens.Corpus corpus;
+
+    private ConfigurableApplicationContext context;
+    private JwtValidationService jwtValidationService;
+    private String[] tokens;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "jwt.metrics.enabled=" + !metrics.equals("off"),
+                "jwt.metrics.percentile-histogram=" + histogram,
+                "jwt.metrics.timer-sample-rate=" + (metrics.equals("all") ? "1.0" : "0.01"));
+        jwtValidationService = context.getBean(JwtValidationService.class);
+        tokens = corpus.tokens();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtValidationService.validateToken(tokens[index++ & (BenchmarkTokens.CORPUS_SIZE - 1)]);
+    }
+}
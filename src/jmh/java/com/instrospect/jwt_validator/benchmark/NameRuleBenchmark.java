@@ -0,0 +1,75 @@
+package com.instrospect.jwt_validator.benchmark;
+
+import com.instrospect.jwt_validator.util.DigitUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Regra "Name sem números": {@code String.matches(".*\\d.*")} (comportamento original, compila o
+ * {@link Pattern} a cada chamada), o mesmo {@link Pattern} pré-compilado e {@link DigitUtil#containsNumeric}.
+ * Execute com {@code -prof gc} para comparar a alocação por chamada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NameRuleBenchmark {
+
+    private static final Pattern DIGIT = Pattern.compile(".*\\d.*");
+
+    /**
+     * <ul>
+     *     <li>{@code SHORT}: Name típico, sem dígitos;</li>
+     *     <li>{@code MAX_LENGTH}: 256 letras ASCII, percorridas por inteiro;</li>
+     *     <li>{@code MAX_LENGTH_NON_ASCII}: 256 letras acentuadas, fora do caminho rápido ASCII;</li>
+     *     <li>{@code TRAILING_DIGIT}: 255 letras e um dígito no fim;</li>
+     *     <li>{@code LEADING_DIGIT}: dígito no primeiro caractere, pior caso da regex: o {@code .*} guloso
+     *     consome o texto inteiro e retrocede caractere a caractere até o início.</li>
+     * </ul>
+     */
+    @Param({"SHORT", "MAX_LENGTH", "MAX_LENGTH_NON_ASCII", "TRAILING_DIGIT", "LEADING_DIGIT"})
+    private String shape;
+
+    private String name;
+
+    @Setup
+    public void setUp() {
+        name = switch (shape) {
+            case "SHORT" -> "Toninho Araujo";
+            case "MAX_LENGTH" -> "A".repeat(256);
+            case "MAX_LENGTH_NON_ASCII" -> "ã".repeat(256);
+            case "TRAILING_DIGIT" -> "A".repeat(255) + "1";
+            case "LEADING_DIGIT" -> "1" + "A".repeat(255);
+            default -> throw new IllegalArgumentException(shape);
+        };
+    }
+
+    @Benchmark
+    public boolean stringMatches() {
+        return name.matches(".*\\d.*");
+    }
+
+    @Benchmark
+    public boolean precompiledPattern() {
+        return DIGIT.matcher(name).matches();
+    }
+
+    @Benchmark
+    public boolean scanner() {
+        return DigitUtil.containsNumeric(name);
+    }
+}
@@ -0,0 +1,57 @@
+package com.instrospect.jwt_validator.benchmark;
+
+import com.instrospect.jwt_validator.util.PrimeSieve;
+import com.instrospect.jwt_validator.util.PrimeUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teste de primalidade para Seeds pequenas e para os piores casos de 32 bits: divisão por tentativa
+ * (implementação original), Miller–Rabin determinístico e crivo de 1 MB com Miller–Rabin acima do limite.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimeUtilBenchmark {
+
+    @Param({"7", "7841", "72341", BenchmarkTokens.HUGE_PRIME, BenchmarkTokens.HUGE_COMPOSITE})
+    private String seed;
+
+    private int value;
+    private PrimeSieve sieve;
+
+    @Setup
+    public void setUp() {
+        value = Integer.parseInt(seed);
+        sieve = new PrimeSieve(1024 * 1024);
+    }
+
+    @Benchmark
+    public boolean trialDivision() {
+        return PrimeUtil.isPrimeByTrialDivision(value);
+    }
+
+    @Benchmark
+    public boolean millerRabin() {
+        return PrimeUtil.isPrime(value);
+    }
+
+    @Benchmark
+    public boolean sieve() {
+        return sieve.isPrime(value);
+    }
+}
@@ -0,0 +1,85 @@
+package com.instrospect.jwt_validator.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teste de carga comparativo por HTTP (loopback) entre a pilha servlet ({@code stack=servlet}, Tomcat) e a
+ * reativa ({@code stack=reactive}, WebFlux sobre Netty), com as mesmas regras de validação.
+ * <p>
+ * A concorrência é o número de threads do JMH ({@code -t}, padrão 64). Reporta vazão e percentis
+ * ({@code SampleTime}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+@Fork(1)
+public class ReactiveStackBenchmark {
+
+    @Param({"servlet", "reactive"})
+    private String stack;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private URI validateUri;
+    private URI extractClaimsUri;
+    private String body;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = stack.equals("reactive")
+                ? BenchmarkContext.startReactiveServer()
+                : BenchmarkContext.startServer("server.tomcat.accept-count=1024");
+        String port = context.getEnvironment().getProperty("local.server.port");
+        validateUri = URI.create("http://localhost:" + port + "/api/jwt/validate");
+        extractClaimsUri = URI.create("http://localhost:" + port + "/api/jwt/extract-claims");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        body = "{\"jwt\":\"" + BenchmarkTokens.Corpus.VALID.tokens()[0] + "\"}";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String validate() throws IOException, InterruptedException {
+        return post(validateUri);
+    }
+
+    @Benchmark
+    public String extractClaims() throws IOException, InterruptedException {
+        return post(extractClaimsUri);
+    }
+
+    private String post(URI uri) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+}
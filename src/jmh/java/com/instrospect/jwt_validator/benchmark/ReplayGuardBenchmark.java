@@ -0,0 +1,101 @@
+package com.instrospect.jwt_validator.benchmark;
+
+import com.instrospect.jwt_validator.service.LocalReplayStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link LocalReplayStore#markUsed(String, long)}: uma roda só ({@code shards=1}) vs. quatro por processador
+ * ({@code 0}), com 4 e 64 fatias de 1 segundo. Para medir a disputa pelos locks, rode com várias threads ({@code -t}).
+ * <p>
+ * {@code firstUse} registra um {@code jti} novo a cada chamada, com {@code exp} no segundo corrente: as fatias vencem
+ * durante a medição e são descartadas inteiras. {@code replayed} apresenta de novo {@code jti}s registrados sem
+ * {@code exp}: além da fatia do {@code exp}, a consulta passa pelas fatias que guardam {@code jti}s sem {@code exp}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ReplayGuardBenchmark {
+
+    private static final int REPLAYED_JTIS = 1024;
+
+    @Param({"1", "0"})
+    private int shards;
+
+    @Param({"4", "64"})
+    private int buckets;
+
+    private LocalReplayStore store;
+    private String[] replayed;
+    private final AtomicInteger threadIds = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int count = shards > 0 ? shards : 4 * Runtime.getRuntime().availableProcessors();
+        store = new LocalReplayStore(Duration.ofSeconds(buckets), buckets, count);
+        replayed = new String[REPLAYED_JTIS];
+    }
+
+    // jtis novos a cada iteração (os anteriores vencem com a roda), mais jtis com exp em cada fatia, para que todas
+    // as fatias estejam ocupadas.
+    @Setup(Level.Iteration)
+    public void register() {
+        long now = System.currentTimeMillis() / 1000;
+        for (int i = 0; i < REPLAYED_JTIS; i++) {
+            replayed[i] = "replayed-" + now + "-" + i;
+            store.markUsed(replayed[i], Long.MAX_VALUE);
+            store.markUsed("filler-" + now + "-" + i, now + i % buckets);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private String prefix;
+        private long sequence;
+        private int index;
+
+        @Setup
+        public void setUp(ReplayGuardBenchmark benchmark) {
+            prefix = "t" + benchmark.threadIds.getAndIncrement() + "-";
+        }
+
+        String nextJwtId() {
+            return prefix + sequence++;
+        }
+
+        String nextReplayed(String[] replayed) {
+            return replayed[index++ & (REPLAYED_JTIS - 1)];
+        }
+    }
+
+    @Benchmark
+    public boolean firstUse(Cursor cursor) {
+        return store.markUsed(cursor.nextJwtId(), System.currentTimeMillis() / 1000);
+    }
+
+    @Benchmark
+    public boolean replayed(Cursor cursor) {
+        boolean first = store.markUsed(cursor.nextReplayed(replayed), Long.MAX_VALUE);
+        if (first) {
+            throw new IllegalStateException("jti repetido aceito");
+        }
+        return first;
+    }
+}
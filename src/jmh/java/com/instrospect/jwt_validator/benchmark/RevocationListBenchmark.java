@@ -0,0 +1,167 @@
+package com.instrospect.jwt_validator.benchmark;
+
+import com.instrospect.jwt_validator.service.RevocationList;
+import com.instrospect.jwt_validator.service.RevocationList.Revocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consulta da lista de revogação por hash do token, com {@code entries} tokens revogados: {@link RevocationList}
+ * (filtro de Bloom na frente de uma tabela de impressões de 64 bits) vs. um {@code HashSet} com os SHA-256 em
+ * hexadecimal. {@code notRevoked} é o caso comum (o filtro responde sem tocar a tabela); {@code revoked} percorre o
+ * filtro e a tabela.
+ * <p>
+ * Na preparação, a memória ocupada pela lista (heap depois de um GC, antes e depois de carregá-la) é impressa em
+ * bytes por entrada e em MB por milhão de entradas. O SHA-256 do token domina a consulta nas duas implementações; a
+ * diferença está na memória.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class RevocationListBenchmark {
+
+    private static final int CHUNK_SIZE = 10_000;
+
+    @Param({"0", "1000", "1000000"})
+    private int entries;
+
+    @Param({"revocation-list", "hash-set"})
+    private String implementation;
+
+    private RevocationList revocationList;
+    private Set<String> hashSet;
+    private String[] revokedTokens;
+    private String[] validTokens;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchAlgorithmException {
+        validTokens = new String[BenchmarkTokens.CORPUS_SIZE];
+        revokedTokens = new String[BenchmarkTokens.CORPUS_SIZE];
+        for (int i = 0; i < validTokens.length; i++) {
+            validTokens[i] = BenchmarkTokens.signed("Toninho Araujo", "Admin", String.valueOf(2 * i));
+            revokedTokens[i] = BenchmarkTokens.signed("Toninho Araujo", "Admin", String.valueOf(2 * i + 1));
+        }
+
+        // As entradas são hashes aleatórios, gerados durante a carga para que só a lista ocupe a memória medida; os
+        // tokens revogados da consulta entram no lugar das primeiras.
+        SplittableRandom random = new SplittableRandom(42);
+        long before = usedHeap();
+        if (implementation.equals("revocation-list")) {
+            revocationList = new RevocationList();
+            List<Revocation> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (int i = 0; i < entries; i++) {
+                chunk.add(Revocation.ofTokenHash(hash(i, random), RevocationList.NEVER_EXPIRES));
+                if (chunk.size() == CHUNK_SIZE || i == entries - 1) {
+                    revocationList.add(chunk);
+                    chunk.clear();
+                }
+            }
+        } else {
+            hashSet = new HashSet<>();
+            for (int i = 0; i < entries; i++) {
+                hashSet.add(hash(i, random));
+            }
+        }
+        long used = usedHeap() - before;
+        // Com poucas entradas, a diferença some no ruído do heap.
+        if (entries >= 100_000) {
+            System.out.printf("%n  memória: %.1f bytes/entrada, %.1f MB por milhão de entradas%s%n",
+                    (double) used / entries, used * 1e6 / entries / (1 << 20),
+                    revocationList == null ? "" : " (tabela e filtro: " + revocationList.memoryBytes() + " bytes)");
+        }
+    }
+
+    private String hash(int i, SplittableRandom random) throws NoSuchAlgorithmException {
+        if (i < revokedTokens.length) {
+            return sha256Hex(revokedTokens[i]);
+        }
+        byte[] digest = new byte[32];
+        for (int j = 0; j < digest.length; j++) {
+            digest[j] = (byte) random.nextInt(256);
+        }
+        return HexFormat.of().formatHex(digest);
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static String sha256Hex(String token) throws NoSuchAlgorithmException {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index;
+        private MessageDigest sha256;
+
+        @Setup
+        public void setUp() throws NoSuchAlgorithmException {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        }
+
+        String next(String[] tokens) {
+            return tokens[index++ & (BenchmarkTokens.CORPUS_SIZE - 1)];
+        }
+    }
+
+    private boolean isRevoked(String token, Cursor cursor) {
+        if (revocationList != null) {
+            return revocationList.isRevoked(token, null);
+        }
+        // O conjunto ingênuo: hash do token em hexadecimal a cada consulta, como uma lista de Strings exigiria.
+        if (hashSet.isEmpty()) {
+            return false;
+        }
+        return hashSet.contains(HexFormat.of().formatHex(cursor.sha256.digest(token.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Benchmark
+    public boolean notRevoked(Cursor cursor) {
+        boolean revoked = isRevoked(cursor.next(validTokens), cursor);
+        if (revoked) {
+            throw new IllegalStateException("token válido dado como revogado");
+        }
+        return revoked;
+    }
+
+    @Benchmark
+    public boolean revoked(Cursor cursor) {
+        boolean revoked = isRevoked(cursor.next(revokedTokens), cursor);
+        if (revoked != entries > 0) {
+            throw new IllegalStateException("token revogado não encontrado");
+        }
+        return revoked;
+    }
+}
@@ -0,0 +1,112 @@
+package com.instrospect.jwt_validator.benchmark;
+
+import com.instrospect.jwt_validator.service.PrimalityChecker;
+import com.instrospect.jwt_validator.service.SeedPrimalityCache;
+import com.instrospect.jwt_validator.util.PrimeUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo da regra da Seed (conversão e teste de primalidade) com e sem o {@link SeedPrimalityCache},
+ * para Seeds sorteadas segundo uma distribuição de Zipf com expoente {@code skew} sobre
+ * {@code distinctSeeds} valores distintos. As Seeds ficam acima do limite do crivo padrão (1 MB),
+ * onde o teste de primalidade recorre ao Miller–Rabin. A taxa de acerto é impressa ao fim de cada rodada.
+ * Com muitos valores distintos e pouca concentração o cache erra mais do que acerta, e cada falha
+ * paga também a inserção: esse cenário está incluído de propósito.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeedPrimalityBenchmark {
+
+    private static final int SAMPLES = 1 << 16;
+
+    @Param({"0.8", "1.2"})
+    private double skew;
+
+    @Param({"1000", "100000"})
+    private int distinctSeeds;
+
+    private String[] samples;
+    private PrimalityChecker primalityChecker;
+    private SeedPrimalityCache seedPrimalityCache;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        String[] universe = new String[distinctSeeds];
+        for (int i = 0; i < distinctSeeds; i++) {
+            // Tokens válidos carregam Seeds primas: 9 em cada 10 valores do universo são primos.
+            int seed = 20_000_000 + random.nextInt(Integer.MAX_VALUE - 20_000_000);
+            while (i % 10 != 0 && !PrimeUtil.isPrime(seed)) {
+                seed++;
+            }
+            universe[i] = Integer.toString(seed);
+        }
+
+        double[] cumulative = new double[distinctSeeds];
+        double total = 0;
+        for (int rank = 0; rank < distinctSeeds; rank++) {
+            total += 1.0 / Math.pow(rank + 1, skew);
+            cumulative[rank] = total;
+        }
+        samples = new String[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+            samples[i] = universe[Math.min(rank < 0 ? -rank - 1 : rank, distinctSeeds - 1)];
+        }
+
+        primalityChecker = new PrimalityChecker(DataSize.ofMegabytes(1));
+        seedPrimalityCache = new SeedPrimalityCache(true, 4096);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (seedPrimalityCache.stats().requestCount() > 0) {
+            System.out.printf("%n  taxa de acerto do cache: %.3f%n", seedPrimalityCache.stats().hitRate());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index;
+
+        String next(String[] samples) {
+            return samples[index++ & (SAMPLES - 1)];
+        }
+    }
+
+    @Benchmark
+    public boolean uncached(Cursor cursor) {
+        return primalityChecker.isPrime(Integer.parseInt(cursor.next(samples)));
+    }
+
+    @Benchmark
+    public boolean cached(Cursor cursor) {
+        String seed = cursor.next(samples);
+        Boolean prime = seedPrimalityCache.get(seed);
+        if (prime == null) {
+            prime = primalityChecker.isPrime(Integer.parseInt(seed));
+            seedPrimalityCache.put(seed, prime);
+        }
+        return prime;
+    }
+}
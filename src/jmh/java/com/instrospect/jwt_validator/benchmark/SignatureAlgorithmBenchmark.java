@@ -0,0 +1,95 @@
+package com.instrospect.jwt_validator.benchmark;
+
+import com.instrospect.jwt_validator.service.JwtVerifier;
+import com.instrospect.jwt_validator.service.ValidationResult;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de {@link JwtVerifier#verify(String)} por algoritmo de assinatura, com a chave escolhida pelo {@code kid} no
+ * chaveiro: HMAC vs. RSA PKCS#1 v1.5 vs. RSA-PSS (2048 bits) vs. ECDSA P-256 vs. Ed25519. Os verificadores são
+ * montados uma vez por chave; a diferença entre os algoritmos é a própria operação criptográfica.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SignatureAlgorithmBenchmark {
+
+    @Param({"HS256", "RS256", "PS256", "ES256", "EdDSA"})
+    private String algorithm;
+
+    private JwtVerifier jwtVerifier;
+    private String[] tokens;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtVerifier = new JwtVerifier(BenchmarkTokens.SECRET);
+        tokens = new String[BenchmarkTokens.CORPUS_SIZE];
+        if (algorithm.equals("HS256")) {
+            SecretKey key = new SecretKeySpec(
+                    "signature-benchmark-secret-0123456789abcdef".getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+            jwtVerifier.updateKeys("benchmark", List.of(Jwks.builder().key(key).id(algorithm).build()));
+            for (int i = 0; i < tokens.length; i++) {
+                tokens[i] = token(i).signWith(key, Jwts.SIG.HS256).compact();
+            }
+            return;
+        }
+        SignatureAlgorithm signature = (SignatureAlgorithm) Jwts.SIG.get().forKey(algorithm);
+        // EdDSA gera chaves Ed448 por padrão; Ed25519 é a curva usada pelos emissores.
+        KeyPair pair = algorithm.equals("EdDSA") ? Jwks.CRV.Ed25519.keyPair().build() : signature.keyPair().build();
+        jwtVerifier.updateKeys("benchmark", List.of(Jwks.builder().key(pair.getPublic()).id(algorithm).build()));
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = token(i).signWith(pair.getPrivate(), signature).compact();
+        }
+    }
+
+    private JwtBuilder token(int i) {
+        return Jwts.builder()
+                .header().keyId(algorithm).and()
+                .claim("Name", "Toninho Araujo")
+                .claim("Role", "Admin")
+                .claim("Seed", String.valueOf(i));
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index;
+
+        String next(String[] tokens) {
+            return tokens[index++ & (BenchmarkTokens.CORPUS_SIZE - 1)];
+        }
+    }
+
+    @Benchmark
+    public ValidationResult verify(Cursor cursor) {
+        ValidationResult result = jwtVerifier.verify(cursor.next(tokens));
+        if (!result.isValid()) {
+            throw new IllegalStateException(algorithm + ": " + result.getReason());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,69 @@
+package com.instrospect.jwt_validator.benchmark;
+
+import com.instrospect.jwt_validator.service.JwksProvider;
+import com.instrospect.jwt_validator.service.JwtVerifier;
+import com.instrospect.jwt_validator.service.RejectionReason;
+import com.instrospect.jwt_validator.service.TokenPreScreener;
+import com.instrospect.jwt_validator.service.ValidationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo da triagem estrutural ({@code screen}) comparado à verificação completa ({@code verify})
+ * para tokens válidos e malformados. Com {@code -prof gc}, {@code screen} deve reportar
+ * {@code gc.alloc.rate.norm} próximo de zero.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenPreScreenerBenchmark {
+
+    @Param({"VALID", "MALFORMED"})
+    private BenchmarkTokens.Corpus corpus;
+
+    private String[] tokens;
+    private JwtVerifier jwtVerifier;
+    private TokenPreScreener tokenPreScreener;
+
+    @Setup
+    public void setUp() {
+        tokens = corpus.tokens();
+        jwtVerifier = new JwtVerifier(BenchmarkTokens.SECRET);
+        tokenPreScreener = new TokenPreScreener(jwtVerifier,
+                new StaticListableBeanFactory().getBeanProvider(JwksProvider.class), true, 8192);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index;
+
+        String next(String[] tokens) {
+            return tokens[index++ & (BenchmarkTokens.CORPUS_SIZE - 1)];
+        }
+    }
+
+    @Benchmark
+    public RejectionReason screen(Cursor cursor) {
+        return tokenPreScreener.screen(cursor.next(tokens));
+    }
+
+    @Benchmark
+    public ValidationResult verify(Cursor cursor) {
+        return jwtVerifier.verify(cursor.next(tokens));
+    }
+}
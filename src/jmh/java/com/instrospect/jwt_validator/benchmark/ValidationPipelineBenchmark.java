@@ -0,0 +1,78 @@
+package com.instrospect.jwt_validator.benchmark;
+
+import com.instrospect.jwt_validator.service.JwtValidationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pipeline completo de {@link JwtValidationService} para cada corpus de tokens.
+ * <p>
+ * Reporta vazão, tempo médio e percentis de cauda ({@code SampleTime}); com {@code -prof gc},
+ * também a taxa de alocação por operação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationPipelineBenchmark {
+
+    @Param({"VALID", "BAD_SIGNATURE", "MALFORMED", "LARGE_NAME", "HUGE_PRIME_SEED", "HUGE_COMPOSITE_SEED"})
+    private BenchmarkTokens.Corpus corpus;
+
+    /**
+     * Habilita o cache de resultados (jwt.cache.enabled). Use {@code -p cache=false,true} para comparar.
+     */
+    @Param({"false"})
+    private boolean cache;
+
+    private ConfigurableApplicationContext context;
+    private JwtValidationService jwtValidationService;
+    private String[] tokens;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("jwt.cache.enabled=" + cache);
+        jwtValidationService = context.getBean(JwtValidationService.class);
+        tokens = corpus.tokens();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index;
+
+        String next(String[] tokens) {
+            return tokens[index++ & (BenchmarkTokens.CORPUS_SIZE - 1)];
+        }
+    }
+
+    @Benchmark
+    public boolean validateToken(Cursor cursor) {
+        return jwtValidationService.validateToken(cursor.next(tokens));
+    }
+
+    @Benchmark
+    public String extractClaims(Cursor cursor) {
+        return jwtValidationService.extractClaims(cursor.next(tokens));
+    }
+}
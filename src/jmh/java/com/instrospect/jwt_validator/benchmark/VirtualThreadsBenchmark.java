@@ -0,0 +1,103 @@
+package com.instrospect.jwt_validator.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teste de carga por HTTP (loopback, servidor embarcado real): muitos clientes concorrentes contra
+ * o Tomcat com o pool de threads de plataforma ({@code threads=platform}) ou com threads virtuais
+ * ({@code threads=virtual}, {@code spring.threads.virtual.enabled=true}).
+ * <p>
+ * A concorrência é o número de threads do JMH ({@code -t}, padrão 64). {@code tomcatThreads} limita
+ * o pool de plataforma ({@code server.tomcat.threads.max}); abaixo da concorrência, as requisições
+ * esperam na fila do conector. Reporta vazão e percentis ({@code SampleTime}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+@Fork(1)
+public class VirtualThreadsBenchmark {
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"200"})
+    private int tomcatThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private URI validateUri;
+    private URI batchUri;
+    private String validateBody;
+    private String batchBody;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.startServer(
+                "spring.threads.virtual.enabled=" + threads.equals("virtual"),
+                "server.tomcat.threads.max=" + tomcatThreads,
+                "server.tomcat.accept-count=1024");
+        String port = context.getEnvironment().getProperty("local.server.port");
+        validateUri = URI.create("http://localhost:" + port + "/api/jwt/validate");
+        batchUri = URI.create("http://localhost:" + port + "/api/jwt/validate/batch");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        String[] tokens = BenchmarkTokens.Corpus.VALID.tokens();
+        validateBody = "{\"jwt\":\"" + tokens[0] + "\"}";
+        StringBuilder batch = new StringBuilder("{\"jwts\":[");
+        for (int i = 0; i < 16; i++) {
+            batch.append(i == 0 ? "\"" : ",\"").append(tokens[i]).append('"');
+        }
+        batchBody = batch.append("]}").toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String validate() throws IOException, InterruptedException {
+        return post(validateUri, validateBody);
+    }
+
+    /**
+     * A thread da requisição espera os blocos do lote no executor de validação: o caso em que uma
+     * thread de plataforma fica parada e uma thread virtual libera a portadora.
+     */
+    @Benchmark
+    public String batch() throws IOException, InterruptedException {
+        return post(batchUri, batchBody);
+    }
+
+    private String post(URI uri, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+}
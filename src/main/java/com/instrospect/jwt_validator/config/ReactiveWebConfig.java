@@ -0,0 +1,49 @@
+package com.instrospect.jwt_validator.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuração da pilha reativa (profile {@code reactive}).
+ * <p>
+ * O Tomcat continua no classpath por causa da pilha servlet, e o Spring Boot o preferiria também no
+ * modo reativo; declarar a fábrica do Netty garante o servidor não bloqueante.
+ * <p>
+ * A validação não roda nas threads de evento do Netty: {@link #VALIDATION_SCHEDULER} tem um executor
+ * próprio, do tamanho de {@code jwt.executor.parallelism} e com fila de {@code jwt.executor.queue-capacity}.
+ * Diferente do executor da validação em lote ({@link ValidationExecutorConfig}), ele não executa a tarefa
+ * em quem a submeteu quando a fila enche: a tarefa é recusada e a requisição recebe 503, porque quem
+ * submete é uma thread de evento, que não pode ficar presa numa validação (nem na espera por um JWKS).
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebConfig {
+
+    public static final String VALIDATION_SCHEDULER = "validationScheduler";
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean(name = VALIDATION_SCHEDULER, destroyMethod = "dispose")
+    public Scheduler validationScheduler(
+            @Value("${jwt.executor.parallelism:0}") int parallelism,
+            @Value("${jwt.executor.queue-capacity:1024}") int queueCapacity) {
+        int threads = ValidationExecutorConfig.resolveParallelism(parallelism);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new ValidationExecutorConfig.ValidationThreadFactory("jwt-reactive-validation-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        return Schedulers.fromExecutorService(executor, "jwt-reactive-validation");
+    }
+}
@@ -0,0 +1,66 @@
+package com.instrospect.jwt_validator.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configuração do executor usado para validar tokens em paralelo.
+ * <p>
+ * O pool tem tamanho fixo e fila limitada: quando a fila enche, a tarefa é executada pela
+ * própria thread que a submeteu ({@link ThreadPoolExecutor.CallerRunsPolicy}), o que limita
+ * a memória e desacelera quem produz trabalho mais rápido do que o pool consegue consumir.
+ * <p>
+ * O pool continua com threads de plataforma mesmo com {@code spring.threads.virtual.enabled=true}:
+ * a validação usa só CPU, e threads virtuais não aumentariam o paralelismo, apenas tirariam o limite.
+ */
+@Configuration
+public class ValidationExecutorConfig {
+
+    public static final String VALIDATION_EXECUTOR = "validationExecutor";
+
+    @Bean(name = VALIDATION_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService validationExecutor(
+            @Value("${jwt.executor.parallelism:0}") int parallelism,
+            @Value("${jwt.executor.queue-capacity:1024}") int queueCapacity) {
+        int threads = resolveParallelism(parallelism);
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new ValidationThreadFactory("jwt-validation-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Resolve o paralelismo configurado.
+     *
+     * @param parallelism valor de {@code jwt.executor.parallelism}; zero ou negativo usa o número de processadores
+     * @return o número de threads do executor
+     */
+    public static int resolveParallelism(int parallelism) {
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    // Threads daemon numeradas; também usada pelo scheduler da pilha reativa.
+    static final class ValidationThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        ValidationThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
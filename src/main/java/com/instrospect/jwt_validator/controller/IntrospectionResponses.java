@@ -0,0 +1,82 @@
+package com.instrospect.jwt_validator.controller;
+
+import com.instrospect.jwt_validator.service.RejectionReason;
+import com.instrospect.jwt_validator.service.ValidationResult;
+import io.jsonwebtoken.Claims;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Respostas de {@code /api/jwt/introspect}, o endpoint de subrequisição de gateways ({@code auth_request} do nginx,
+ * {@code ext_authz} do Envoy): só o status e, opcionalmente, as claims Name e Role em headers, sem corpo.
+ * Compartilhado pelas pilhas servlet e reativa.
+ */
+final class IntrospectionResponses {
+
+    static final String NAME_HEADER = "X-Auth-Name";
+    static final String ROLE_HEADER = "X-Auth-Role";
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private static final ResponseEntity<Void> ACCEPTED = ResponseEntity.noContent().build();
+    private static final ResponseEntity<Void> UNAUTHORIZED = ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+            .header(HttpHeaders.WWW_AUTHENTICATE, "Bearer")
+            .build();
+    private static final ResponseEntity<Void> FAILED = ResponseEntity.internalServerError().build();
+
+    private IntrospectionResponses() {
+    }
+
+    /**
+     * @param result       o resultado da validação
+     * @param claimHeaders se os headers {@value #NAME_HEADER} e {@value #ROLE_HEADER} acompanham o 204
+     * @return 204 para tokens aceitos, 401 para rejeitados e 500 para erro interno (o gateway trata como falha, não como negação)
+     */
+    static ResponseEntity<Void> of(ValidationResult result, boolean claimHeaders) {
+        if (!result.isValid()) {
+            return result.getReason() == RejectionReason.INTERNAL_ERROR ? FAILED : UNAUTHORIZED;
+        }
+        if (!claimHeaders) {
+            return ACCEPTED;
+        }
+        Claims claims = result.getClaims();
+        return ResponseEntity.noContent()
+                .header(NAME_HEADER, headerValue(claims.get("Name", String.class)))
+                .header(ROLE_HEADER, headerValue(claims.get("Role", String.class)))
+                .build();
+    }
+
+    /**
+     * Valores de header só carregam ASCII visível com segurança: bytes UTF-8 fora dessa faixa, e o próprio
+     * {@code %}, são codificados como {@code %XX} (por exemplo, {@code Araújo} vira {@code Ara%C3%BAjo}).
+     */
+    static String headerValue(String value) {
+        if (isPlainAscii(value)) {
+            return value;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        StringBuilder encoded = new StringBuilder(bytes.length * 3);
+        for (byte b : bytes) {
+            int c = b & 0xFF;
+            if (c >= 0x20 && c < 0x7F && c != '%') {
+                encoded.append((char) c);
+            } else {
+                encoded.append('%').append(HEX[c >>> 4]).append(HEX[c & 0x0F]);
+            }
+        }
+        return encoded.toString();
+    }
+
+    private static boolean isPlainAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x20 || c >= 0x7F || c == '%') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,8 +1,16 @@
 package com.instrospect.jwt_validator.controller;
 
+import com.instrospect.jwt_validator.dto.BatchTokensDeserializer;
+import com.instrospect.jwt_validator.dto.BatchValidationRequest;
+import com.instrospect.jwt_validator.dto.BatchValidationResponse;
 import com.instrospect.jwt_validator.dto.JwtRequest;
 import com.instrospect.jwt_validator.dto.ValidationResponse;
+import com.instrospect.jwt_validator.service.BatchValidationService;
+import com.instrospect.jwt_validator.service.ClaimProjection;
 import com.instrospect.jwt_validator.service.JwtValidationService;
+import com.instrospect.jwt_validator.service.StreamValidationService;
+import com.instrospect.jwt_validator.service.ValidationResult;
+import io.swagger.v3.oas.annotations.Hidden;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,24 +19,67 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Controlador REST responsável por gerenciar as operações relacionadas a JWT.
+ * Ativo na pilha servlet (Tomcat), a padrão; no profile {@code reactive}, {@link ReactiveJwtController} o substitui.
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/jwt")
 @Tag(name = "JWT Validation", description = "Operações para validação e extração de informações de tokens JWT")
 public class JwtController {
 
+    // Mapeamentos do token bruto: qualquer corpo que não seja JSON. Requisições JSON continuam nos
+    // mapeamentos com JwtRequest, mesmo que tragam o header Authorization.
+    static final String NOT_JSON = "!" + MediaType.APPLICATION_JSON_VALUE;
+
+    // As variantes de token bruto ficam fora da documentação (@Hidden): com o mesmo caminho e método, o springdoc as
+    // fundiria com a operação JSON. São descritas na operação principal.
+    static final String RAW_TOKEN_INPUTS = "Em vez do corpo JSON, o token também pode ser enviado como corpo "
+            + "text/plain ou no header Authorization: Bearer <jwt> (sem corpo JSON), com a mesma resposta";
+
+    // Projeção de /extract-claims: ?claims=Role,Name (ou o parâmetro repetido).
+    static final String CLAIMS_PARAM = "claims";
+
     @Autowired
     private JwtValidationService jwtValidationService;
 
+    @Autowired
+    private BatchValidationService batchValidationService;
+
+    @Autowired
+    private StreamValidationService streamValidationService;
+
+    // Expor o motivo da rejeição ajuda no diagnóstico, mas também informa o cliente sobre
+    // qual regra falhou; por isso fica desabilitado por padrão.
+    @Value("${jwt.validation.expose-reason:false}")
+    private boolean exposeReason;
+
+    @Value("${jwt.gateway.claim-headers:true}")
+    private boolean gatewayClaimHeaders;
+
     /**
      * Endpoint para validar um token JWT.
      *
@@ -37,7 +88,8 @@ public class JwtController {
      */
     @Operation(
             summary = "Validar token JWT",
-            description = "Valida se um token JWT é válido de acordo com as regras de negócio configuradas"
+            description = "Valida se um token JWT é válido de acordo com as regras de negócio configuradas. "
+                    + RAW_TOKEN_INPUTS
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -66,20 +118,162 @@ public class JwtController {
                     schema = @Schema(implementation = JwtRequest.class)
             )
             @RequestBody JwtRequest jwtRequest) {
-        boolean isValid = jwtValidationService.validateToken(jwtRequest.getJwt());
-        ValidationResponse response = new ValidationResponse(isValid);
-        return ResponseEntity.ok(response);
+        ValidationResult result = jwtValidationService.validate(jwtRequest.getJwt());
+        return ResponseEntity.ok(toResponse(result, exposeReason));
+    }
+
+    /**
+     * Endpoint para validar o token enviado no header {@code Authorization: Bearer ...}, sem envelope JSON.
+     * A resposta tem o mesmo conteúdo de {@link #validateToken(JwtRequest)}, escrito a partir de bytes pré-formatados.
+     *
+     * @param authorization o valor do header Authorization
+     * @return ResponseEntity com o resultado da validação
+     */
+    @Hidden
+    @PostMapping(value = "/validate", headers = HttpHeaders.AUTHORIZATION, consumes = NOT_JSON)
+    public ResponseEntity<byte[]> validateBearerToken(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        return rawResponse(jwtValidationService.validate(RawTokens.fromAuthorization(authorization)));
+    }
+
+    /**
+     * Endpoint para validar o token enviado como corpo {@code text/plain}, sem envelope JSON.
+     *
+     * @param token o corpo da requisição, contendo apenas o token
+     * @return ResponseEntity com o resultado da validação
+     */
+    @Hidden
+    @PostMapping(value = "/validate", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<byte[]> validatePlainToken(@RequestBody String token) {
+        return rawResponse(jwtValidationService.validate(RawTokens.fromBody(token)));
+    }
+
+    /**
+     * Endpoint de introspecção para gateways ({@code auth_request} do nginx, {@code ext_authz} do Envoy): valida o
+     * token de {@code Authorization: Bearer ...} e responde só com o status, sem corpo. Aceita qualquer método HTTP,
+     * já que a subrequisição repete o método da chamada original.
+     *
+     * @param authorization o valor do header Authorization
+     * @return 204 (com Name e Role em headers, se habilitado), 401 ou 500
+     */
+    @Operation(
+            summary = "Introspecção para gateways",
+            description = "Valida o token de Authorization: Bearer <jwt> e responde 204 (aceito), 401 (rejeitado) "
+                    + "ou 500, sem corpo. No 204, Name e Role seguem em X-Auth-Name e X-Auth-Role"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Token aceito"),
+            @ApiResponse(responseCode = "401", description = "Token ausente ou rejeitado"),
+            @ApiResponse(responseCode = "500", description = "Erro interno durante a validação")
+    })
+    @RequestMapping("/introspect")
+    public ResponseEntity<Void> introspect(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        ValidationResult result = jwtValidationService.validate(RawTokens.fromAuthorization(authorization));
+        return IntrospectionResponses.of(result, gatewayClaimHeaders);
     }
 
     /**
-     * Endpoint para extrair claims de um token JWT.
+     * Endpoint para validar um lote de tokens JWT em uma única requisição.
+     *
+     * @param batchRequest o objeto contendo os tokens JWT a serem validados
+     * @return ResponseEntity com o resultado de cada token, na ordem da requisição
+     */
+    @Operation(
+            summary = "Validar lote de tokens JWT",
+            description = "Valida vários tokens JWT em paralelo com as mesmas regras de /validate. "
+                    + "Os resultados seguem a ordem dos tokens enviados"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Lote validado com sucesso",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BatchValidationResponse.class),
+                            examples = @ExampleObject(
+                                    name = "Exemplo de resposta",
+                                    value = "{\"results\": [{\"isValid\": true}, {\"isValid\": false}]}"
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Requisição inválida - lista de JWTs não fornecida ou corpo JSON ilegível",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "413",
+                    description = "O lote excede o tamanho máximo configurado em jwt.batch.max-size; "
+                            + "a leitura do corpo é interrompida no primeiro token excedente",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @PostMapping("/validate/batch")
+    public ResponseEntity<BatchValidationResponse> validateBatch(
+            @Parameter(
+                    description = "Objeto contendo os tokens JWT a serem validados",
+                    required = true,
+                    schema = @Schema(implementation = BatchValidationRequest.class)
+            )
+            @RequestBody BatchValidationRequest batchRequest) {
+        List<String> tokens = batchRequest.getJwts();
+        if (tokens == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<ValidationResult> results = batchValidationService.validateAll(tokens);
+        List<ValidationResponse> responses = new ArrayList<>(results.size());
+        for (ValidationResult result : results) {
+            responses.add(toResponse(result, exposeReason));
+        }
+        return ResponseEntity.ok(new BatchValidationResponse(responses));
+    }
+
+    /**
+     * Endpoint para validar um fluxo NDJSON de tokens JWT, uma requisição {@link JwtRequest} por linha.
+     * Os vereditos são escritos na resposta à medida que ficam prontos, sem carregar o fluxo em memória.
+     *
+     * @param request  a requisição, cujo corpo é lido linha a linha
+     * @param response a resposta, na qual cada veredito é escrito como uma linha JSON
+     * @throws IOException se a leitura ou a escrita falharem
+     */
+    @Operation(
+            summary = "Validar fluxo NDJSON de tokens JWT",
+            description = "Lê uma requisição {\"jwt\": \"...\"} por linha e escreve um veredito por linha, "
+                    + "na mesma ordem, com o número da linha de origem"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Vereditos, um por linha",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            examples = @ExampleObject(
+                                    name = "Exemplo de resposta",
+                                    value = "{\"line\":1,\"valid\":true}\n{\"line\":2,\"valid\":false}"
+                            )
+                    )
+            )
+    })
+    @PostMapping(value = "/validate/stream",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void validateStream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        streamValidationService.validateStream(request.getInputStream(), response.getOutputStream());
+    }
+
+    /**
+     * Endpoint para extrair claims de um token JWT. O JSON das claims é escrito direto no corpo da resposta.
      *
      * @param jwtRequest o objeto contendo o token JWT
-     * @return ResponseEntity com as claims extraídas
+     * @param claims     as claims pedidas ({@code ?claims=Role,Name}); sem o parâmetro, todas
+     * @param response   a resposta, na qual as claims são escritas
+     * @throws IOException se a escrita falhar
      */
     @Operation(
             summary = "Extrair claims do token JWT",
-            description = "Extrai e retorna todas as claims (informações) contidas em um token JWT"
+            description = "Extrai e retorna as claims (informações) contidas em um token JWT: todas, ou só as listadas em claims. "
+                    + RAW_TOKEN_INPUTS
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -100,14 +294,82 @@ public class JwtController {
             )
     })
     @PostMapping("/extract-claims")
-    public ResponseEntity<String> extractClaims(
+    public void extractClaims(
             @Parameter(
                     description = "Objeto contendo o token JWT do qual extrair as claims",
                     required = true,
                     schema = @Schema(implementation = JwtRequest.class)
             )
-            @RequestBody JwtRequest jwtRequest) {
-        String claims = jwtValidationService.extractClaims(jwtRequest.getJwt());
-        return ResponseEntity.ok(claims);
+            @RequestBody JwtRequest jwtRequest,
+            @Parameter(description = "Nomes das claims a retornar, separados por vírgula (ex.: Role,Name); sem o parâmetro, todas")
+            @RequestParam(name = CLAIMS_PARAM, required = false) List<String> claims,
+            HttpServletResponse response) throws IOException {
+        writeClaims(jwtRequest.getJwt(), claims, response);
+    }
+
+    /**
+     * Endpoint para extrair claims do token enviado no header {@code Authorization: Bearer ...}.
+     *
+     * @param authorization o valor do header Authorization
+     * @param claims        as claims pedidas; sem o parâmetro, todas
+     * @param response      a resposta, na qual as claims são escritas
+     * @throws IOException se a escrita falhar
+     */
+    @Hidden
+    @PostMapping(value = "/extract-claims", headers = HttpHeaders.AUTHORIZATION, consumes = NOT_JSON)
+    public void extractClaimsFromBearerToken(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+                                             @RequestParam(name = CLAIMS_PARAM, required = false) List<String> claims,
+                                             HttpServletResponse response) throws IOException {
+        writeClaims(RawTokens.fromAuthorization(authorization), claims, response);
+    }
+
+    /**
+     * Endpoint para extrair claims do token enviado como corpo {@code text/plain}.
+     *
+     * @param token    o corpo da requisição, contendo apenas o token
+     * @param claims   as claims pedidas; sem o parâmetro, todas
+     * @param response a resposta, na qual as claims são escritas
+     * @throws IOException se a escrita falhar
+     */
+    @Hidden
+    @PostMapping(value = "/extract-claims", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public void extractClaimsFromPlainToken(@RequestBody String token,
+                                            @RequestParam(name = CLAIMS_PARAM, required = false) List<String> claims,
+                                            HttpServletResponse response) throws IOException {
+        writeClaims(RawTokens.fromBody(token), claims, response);
+    }
+
+    /**
+     * Responde 413 ao lote que passou de {@code jwt.batch.max-size} durante a leitura do corpo
+     * ({@link BatchTokensDeserializer}); os demais corpos ilegíveis seguem o tratamento padrão (400).
+     *
+     * @param e a falha de leitura do corpo
+     * @return resposta 413 sem corpo
+     * @throws HttpMessageNotReadableException se a falha não for um lote grande demais
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<Void> handleUnreadableBody(HttpMessageNotReadableException e) {
+        if (e.getCause() instanceof BatchTokensDeserializer.TooManyTokensException) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        throw e;
+    }
+
+    private void writeClaims(String token, List<String> claims, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        jwtValidationService.writeClaims(token, ClaimProjection.of(claims), response.getOutputStream());
+    }
+
+    private ResponseEntity<byte[]> rawResponse(ValidationResult result) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ValidationResponseBodies.of(result, exposeReason));
+    }
+
+    // Compartilhado com ReactiveJwtController, para que as duas pilhas respondam de forma idêntica.
+    static ValidationResponse toResponse(ValidationResult result, boolean exposeReason) {
+        return exposeReason && !result.isValid()
+                ? new ValidationResponse(false, result.getReason().name())
+                : new ValidationResponse(result.isValid());
     }
 }
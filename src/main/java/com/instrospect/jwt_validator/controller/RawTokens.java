@@ -0,0 +1,32 @@
+package com.instrospect.jwt_validator.controller;
+
+/**
+ * Extração do token enviado sem o envelope JSON: no header {@code Authorization: Bearer ...} ou como
+ * corpo {@code text/plain}. Compartilhado pelas pilhas servlet e reativa.
+ */
+final class RawTokens {
+
+    private static final String BEARER = "Bearer ";
+
+    private RawTokens() {
+    }
+
+    /**
+     * @param authorization valor do header {@code Authorization}
+     * @return o token após o esquema {@code Bearer} (sem diferenciar maiúsculas), ou null se o esquema for outro
+     */
+    static String fromAuthorization(String authorization) {
+        if (authorization == null || !authorization.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            return null;
+        }
+        return authorization.substring(BEARER.length()).strip();
+    }
+
+    /**
+     * @param body corpo {@code text/plain} da requisição
+     * @return o token sem espaços e quebras de linha nas pontas (como as deixadas por {@code curl --data-binary @arquivo})
+     */
+    static String fromBody(String body) {
+        return body == null ? null : body.strip();
+    }
+}
@@ -0,0 +1,162 @@
+package com.instrospect.jwt_validator.controller;
+
+import com.instrospect.jwt_validator.config.ReactiveWebConfig;
+import com.instrospect.jwt_validator.dto.JwtRequest;
+import com.instrospect.jwt_validator.dto.ValidationResponse;
+import com.instrospect.jwt_validator.service.ClaimProjection;
+import com.instrospect.jwt_validator.service.JwtValidationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Variante reativa (Spring WebFlux sobre Netty) de {@code /api/jwt/validate}, {@code /api/jwt/extract-claims} e
+ * {@code /api/jwt/introspect}, ativa no profile {@code reactive}. Usa o mesmo {@link JwtValidationService} e as
+ * mesmas respostas de {@link JwtController}; a validação roda no scheduler limitado de {@link ReactiveWebConfig},
+ * fora das threads de evento, e com a fila dele cheia a resposta é 503. Lote e fluxo NDJSON existem apenas na pilha servlet.
+ */
+@RestController
+@RequestMapping("/api/jwt")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveJwtController {
+
+    @Autowired
+    private JwtValidationService jwtValidationService;
+
+    @Autowired
+    @Qualifier(ReactiveWebConfig.VALIDATION_SCHEDULER)
+    private Scheduler validationScheduler;
+
+    @Value("${jwt.validation.expose-reason:false}")
+    private boolean exposeReason;
+
+    @Value("${jwt.gateway.claim-headers:true}")
+    private boolean gatewayClaimHeaders;
+
+    /**
+     * Endpoint para validar um token JWT.
+     *
+     * @param jwtRequest o objeto contendo o token JWT a ser validado
+     * @return o resultado da validação, emitido quando a validação termina
+     */
+    @PostMapping("/validate")
+    public Mono<ResponseEntity<ValidationResponse>> validateToken(@RequestBody JwtRequest jwtRequest) {
+        return offEventLoop(() -> jwtValidationService.validate(jwtRequest.getJwt()))
+                .map(result -> ResponseEntity.ok(JwtController.toResponse(result, exposeReason)));
+    }
+
+    /**
+     * Endpoint para validar o token enviado no header {@code Authorization: Bearer ...}, sem envelope JSON.
+     *
+     * @param authorization o valor do header Authorization
+     * @return o resultado da validação, em bytes pré-formatados
+     */
+    @PostMapping(value = "/validate", headers = HttpHeaders.AUTHORIZATION, consumes = JwtController.NOT_JSON)
+    public Mono<ResponseEntity<byte[]>> validateBearerToken(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        return validateRaw(RawTokens.fromAuthorization(authorization));
+    }
+
+    /**
+     * Endpoint para validar o token enviado como corpo {@code text/plain}, sem envelope JSON.
+     *
+     * @param token o corpo da requisição, contendo apenas o token
+     * @return o resultado da validação, em bytes pré-formatados
+     */
+    @PostMapping(value = "/validate", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public Mono<ResponseEntity<byte[]>> validatePlainToken(@RequestBody String token) {
+        return validateRaw(RawTokens.fromBody(token));
+    }
+
+    /**
+     * Endpoint de introspecção para gateways: só o status, sem corpo (ver {@link JwtController#introspect(String)}).
+     *
+     * @param authorization o valor do header Authorization
+     * @return 204 (com Name e Role em headers, se habilitado), 401 ou 500
+     */
+    @RequestMapping("/introspect")
+    public Mono<ResponseEntity<Void>> introspect(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        String token = RawTokens.fromAuthorization(authorization);
+        return offEventLoop(() -> jwtValidationService.validate(token))
+                .map(result -> IntrospectionResponses.of(result, gatewayClaimHeaders));
+    }
+
+    /**
+     * Endpoint para extrair claims de um token JWT.
+     *
+     * @param jwtRequest o objeto contendo o token JWT
+     * @param claims     as claims pedidas ({@code ?claims=Role,Name}); sem o parâmetro, todas
+     * @return as claims extraídas, emitidas quando a verificação termina
+     */
+    @PostMapping("/extract-claims")
+    public Mono<ResponseEntity<byte[]>> extractClaims(@RequestBody JwtRequest jwtRequest,
+                                                      @RequestParam(name = JwtController.CLAIMS_PARAM, required = false) List<String> claims) {
+        return extractRaw(jwtRequest.getJwt(), claims);
+    }
+
+    /**
+     * Endpoint para extrair claims do token enviado no header {@code Authorization: Bearer ...}.
+     *
+     * @param authorization o valor do header Authorization
+     * @param claims        as claims pedidas; sem o parâmetro, todas
+     * @return as claims extraídas, emitidas quando a verificação termina
+     */
+    @PostMapping(value = "/extract-claims", headers = HttpHeaders.AUTHORIZATION, consumes = JwtController.NOT_JSON)
+    public Mono<ResponseEntity<byte[]>> extractClaimsFromBearerToken(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+                                                                     @RequestParam(name = JwtController.CLAIMS_PARAM, required = false) List<String> claims) {
+        return extractRaw(RawTokens.fromAuthorization(authorization), claims);
+    }
+
+    /**
+     * Endpoint para extrair claims do token enviado como corpo {@code text/plain}.
+     *
+     * @param token  o corpo da requisição, contendo apenas o token
+     * @param claims as claims pedidas; sem o parâmetro, todas
+     * @return as claims extraídas, emitidas quando a verificação termina
+     */
+    @PostMapping(value = "/extract-claims", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public Mono<ResponseEntity<byte[]>> extractClaimsFromPlainToken(@RequestBody String token,
+                                                                    @RequestParam(name = JwtController.CLAIMS_PARAM, required = false) List<String> claims) {
+        return extractRaw(RawTokens.fromBody(token), claims);
+    }
+
+    // A validação roda no scheduler; com a fila dele cheia, a requisição recebe 503 em vez de a validação rodar
+    // na thread de evento.
+    private <T> Mono<T> offEventLoop(Callable<T> validation) {
+        return Mono.fromCallable(validation)
+                .subscribeOn(validationScheduler)
+                .onErrorMap(RejectedExecutionException.class, e -> new ResponseStatusException(
+                        HttpStatus.SERVICE_UNAVAILABLE, "Fila de validação cheia", e));
+    }
+
+    private Mono<ResponseEntity<byte[]>> validateRaw(String token) {
+        return offEventLoop(() -> jwtValidationService.validate(token))
+                .map(result -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(ValidationResponseBodies.of(result, exposeReason)));
+    }
+
+    private Mono<ResponseEntity<byte[]>> extractRaw(String token, List<String> claims) {
+        ClaimProjection projection = ClaimProjection.of(claims);
+        return offEventLoop(() -> jwtValidationService.extractClaimsJson(token, projection))
+                .map(json -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json));
+    }
+}
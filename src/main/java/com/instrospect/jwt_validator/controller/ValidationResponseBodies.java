@@ -0,0 +1,39 @@
+package com.instrospect.jwt_validator.controller;
+
+import com.instrospect.jwt_validator.dto.ValidationResponse;
+import com.instrospect.jwt_validator.service.RejectionReason;
+import com.instrospect.jwt_validator.service.ValidationResult;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Corpos JSON pré-formatados da resposta de validação, idênticos à serialização de {@link ValidationResponse}
+ * pelo Jackson. Como os vereditos possíveis são poucos, os bytes são montados uma vez e reutilizados, sem
+ * passar pelo {@code ObjectMapper} a cada requisição. Os arrays são compartilhados e não devem ser alterados.
+ */
+final class ValidationResponseBodies {
+
+    private static final byte[] VALID = bytes("{\"valid\":true}");
+    private static final byte[] INVALID = bytes("{\"valid\":false}");
+    private static final byte[][] INVALID_WITH_REASON = new byte[RejectionReason.values().length][];
+
+    static {
+        for (RejectionReason reason : RejectionReason.values()) {
+            INVALID_WITH_REASON[reason.ordinal()] = bytes("{\"reason\":\"" + reason.name() + "\",\"valid\":false}");
+        }
+    }
+
+    private ValidationResponseBodies() {
+    }
+
+    static byte[] of(ValidationResult result, boolean exposeReason) {
+        if (result.isValid()) {
+            return VALID;
+        }
+        return exposeReason ? INVALID_WITH_REASON[result.getReason().ordinal()] : INVALID;
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
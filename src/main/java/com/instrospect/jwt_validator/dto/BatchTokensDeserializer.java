@@ -0,0 +1,66 @@
+package com.instrospect.jwt_validator.dto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lê os tokens de {@link BatchValidationRequest} um a um e interrompe a leitura do corpo assim que a lista passa de
+ * {@code jwt.batch.max-size}: um lote grande demais é recusado sem que o restante do corpo seja lido e alocado.
+ * <p>
+ * O ObjectMapper da aplicação cria o deserializador pelo Spring, que injeta o limite; fora do Spring, vale o
+ * padrão de 1000 tokens.
+ */
+public class BatchTokensDeserializer extends StdDeserializer<List<String>> {
+
+    private static final int DEFAULT_MAX_SIZE = 1000;
+
+    private final int maxSize;
+
+    public BatchTokensDeserializer() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    @Autowired
+    public BatchTokensDeserializer(@Value("${jwt.batch.max-size:1000}") int maxSize) {
+        super(List.class);
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (!parser.isExpectedStartArrayToken()) {
+            return (List<String>) context.handleUnexpectedToken(List.class, parser);
+        }
+        List<String> tokens = new ArrayList<>();
+        for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+            if (tokens.size() == maxSize) {
+                throw new TooManyTokensException(parser, maxSize);
+            }
+            // Como a desserialização padrão de List<String>: escalares viram texto, e null continua null.
+            tokens.add(token.isScalarValue()
+                    ? parser.getValueAsString()
+                    : (String) context.handleUnexpectedToken(String.class, parser));
+        }
+        return tokens;
+    }
+
+    /**
+     * O lote passou de {@code jwt.batch.max-size}; a leitura do corpo parou no primeiro token excedente.
+     */
+    public static final class TooManyTokensException extends JsonMappingException {
+
+        TooManyTokensException(JsonParser parser, int maxSize) {
+            super(parser, "O lote excede o tamanho máximo de " + maxSize + " tokens");
+        }
+    }
+}
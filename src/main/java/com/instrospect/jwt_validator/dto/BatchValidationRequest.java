@@ -0,0 +1,31 @@
+package com.instrospect.jwt_validator.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Classe que representa a requisição para validação de um lote de JWTs.
+ */
+@Data
+@Schema(description = "Objeto de requisição contendo os tokens JWT a serem validados em lote")
+public class BatchValidationRequest {
+
+    /**
+     * Tokens JWT que serão validados, na ordem em que os resultados devem ser devolvidos.
+     * No máximo {@code jwt.batch.max-size}, conferido durante a leitura ({@link BatchTokensDeserializer}).
+     */
+    @ArraySchema(
+            arraySchema = @Schema(
+                    description = "Tokens JWT a serem validados (no máximo jwt.batch.max-size, padrão 1000)",
+                    requiredMode = Schema.RequiredMode.REQUIRED),
+            schema = @Schema(example = "eyJhbGciOiJIUzI1NiJ9.eyJSb2xlIjoiQWRtaW4iLCJTZWVkIjoiNyIsIk5hbWUiOiJKb2huRG9lIn0.signature")
+    )
+    @NotNull(message = "A lista de JWTs é obrigatória")
+    @JsonDeserialize(using = BatchTokensDeserializer.class)
+    private List<String> jwts;
+}
@@ -0,0 +1,23 @@
+package com.instrospect.jwt_validator.dto;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Classe que representa a resposta da validação de um lote de JWTs.
+ */
+@Data
+@AllArgsConstructor
+@Schema(description = "Resultado da validação de um lote de tokens JWT")
+public class BatchValidationResponse {
+
+    /**
+     * Resultado de cada token, na mesma ordem da requisição.
+     */
+    @ArraySchema(arraySchema = @Schema(description = "Resultados na mesma ordem dos tokens enviados"))
+    private List<ValidationResponse> results;
+}
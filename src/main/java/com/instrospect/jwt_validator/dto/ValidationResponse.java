@@ -1,5 +1,6 @@
 package com.instrospect.jwt_validator.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -9,6 +10,7 @@ import lombok.Data;
  */
 @Data
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @Schema(description = "Resposta da validação do token JWT")
 public class ValidationResponse {
 
@@ -20,4 +22,19 @@ public class ValidationResponse {
             example = "true"
     )
     private boolean isValid;
+
+    /**
+     * Motivo da rejeição. Só é preenchido quando jwt.validation.expose-reason=true.
+     */
+    @Schema(
+            description = "Motivo da rejeição do token (presente apenas quando habilitado em jwt.validation.expose-reason)",
+            example = "SEED_NOT_PRIME",
+            allowableValues = {"MALFORMED", "TOKEN_TOO_LARGE", "UNSUPPORTED_ALGORITHM", "UNKNOWN_KEY", "BAD_SIGNATURE", "EXPIRED",
+                    "NOT_YET_VALID", "REVOKED", "CLAIM_COUNT", "NAME_INVALID", "ROLE_INVALID", "SEED_NOT_NUMERIC", "SEED_NOT_PRIME", "LIFETIME_EXCEEDED", "REPLAYED", "INTERNAL_ERROR"}
+    )
+    private String reason;
+
+    public ValidationResponse(boolean isValid) {
+        this(isValid, null);
+    }
 }
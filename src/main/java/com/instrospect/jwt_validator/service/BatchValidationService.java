@@ -0,0 +1,108 @@
+package com.instrospect.jwt_validator.service;
+
+import com.instrospect.jwt_validator.config.ValidationExecutorConfig;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Serviço responsável pela validação de lotes de tokens JWT.
+ * <p>
+ * O lote é dividido em blocos contíguos, distribuídos entre as threads do executor de validação;
+ * a thread chamadora processa o primeiro bloco em vez de ficar ociosa. Cada token passa pelas
+ * mesmas regras de {@link JwtValidationService#validate(String)} e os resultados preservam a
+ * ordem de entrada.
+ */
+@Service
+public class BatchValidationService {
+
+    /**
+     * Menor quantidade de tokens por bloco: abaixo disso o custo de despachar a tarefa
+     * supera o ganho do paralelismo.
+     */
+    static final int MIN_CHUNK_SIZE = 4;
+
+    private final JwtValidationService jwtValidationService;
+    private final ExecutorService executor;
+    private final int parallelism;
+    private final int maxBatchSize;
+
+    public BatchValidationService(
+            JwtValidationService jwtValidationService,
+            @Qualifier(ValidationExecutorConfig.VALIDATION_EXECUTOR) ExecutorService executor,
+            @Value("${jwt.executor.parallelism:0}") int parallelism,
+            @Value("${jwt.batch.max-size:1000}") int maxBatchSize) {
+        this.jwtValidationService = jwtValidationService;
+        this.executor = executor;
+        this.parallelism = ValidationExecutorConfig.resolveParallelism(parallelism);
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Tamanho máximo aceito por {@link #validateAll(List)}.
+     *
+     * @return o valor de {@code jwt.batch.max-size}
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Valida todos os tokens do lote.
+     *
+     * @param tokens os tokens JWT a serem validados
+     * @return os resultados, na mesma ordem dos tokens
+     * @throws IllegalArgumentException se o lote exceder {@link #getMaxBatchSize()}
+     */
+    public List<ValidationResult> validateAll(List<String> tokens) {
+        int size = tokens.size();
+        if (size > maxBatchSize) {
+            throw new IllegalArgumentException("O lote excede o tamanho máximo de " + maxBatchSize + " tokens");
+        }
+
+        ValidationResult[] results = new ValidationResult[size];
+        int chunks = Math.min(parallelism, size / MIN_CHUNK_SIZE);
+        if (chunks <= 1) {
+            validateRange(tokens, results, 0, size);
+            return Arrays.asList(results);
+        }
+
+        int chunkSize = (size + chunks - 1) / chunks;
+        List<Future<?>> futures = new ArrayList<>(chunks - 1);
+        try {
+            for (int from = chunkSize; from < size; from += chunkSize) {
+                int start = from;
+                int end = Math.min(from + chunkSize, size);
+                futures.add(executor.submit(() -> validateRange(tokens, results, start, end)));
+            }
+            validateRange(tokens, results, 0, chunkSize);
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Validação do lote interrompida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha na validação do lote", e.getCause());
+        } finally {
+            for (Future<?> future : futures) {
+                future.cancel(false);
+            }
+        }
+        // Future.get() estabelece happens-before entre as escritas dos blocos e esta leitura.
+        return Arrays.asList(results);
+    }
+
+    private void validateRange(List<String> tokens, ValidationResult[] results, int from, int to) {
+        for (int i = from; i < to; i++) {
+            results[i] = jwtValidationService.validate(tokens.get(i));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.instrospect.jwt_validator.service;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Nomes das claims pedidas em {@code /extract-claims?claims=...}: só elas são lidas do payload e escritas na resposta.
+ * <p>
+ * Os nomes são comparados exatamente (com maiúsculas e minúsculas), sem espaços nas pontas; repetidos e vazios são
+ * descartados. Claims pedidas que o token não tem são omitidas da resposta.
+ */
+public final class ClaimProjection {
+
+    private final Set<String> names;
+
+    private ClaimProjection(Set<String> names) {
+        this.names = names;
+    }
+
+    /**
+     * @param names os nomes pedidos; pode ser null
+     * @return a projeção, ou null se nenhum nome foi pedido (todas as claims)
+     */
+    public static ClaimProjection of(Collection<String> names) {
+        if (names == null) {
+            return null;
+        }
+        Set<String> wanted = new HashSet<>();
+        for (String name : names) {
+            if (name != null && !name.isBlank()) {
+                wanted.add(name.strip());
+            }
+        }
+        return wanted.isEmpty() ? null : new ClaimProjection(Set.copyOf(wanted));
+    }
+
+    /**
+     * @param name o nome de uma claim do token
+     * @return true se a claim foi pedida
+     */
+    public boolean includes(String name) {
+        return names.contains(name);
+    }
+
+    /**
+     * @return o número de claims pedidas; a leitura termina quando todas foram encontradas
+     */
+    public int size() {
+        return names.size();
+    }
+}
@@ -0,0 +1,169 @@
+package com.instrospect.jwt_validator.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import io.jsonwebtoken.Claims;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Serializa as claims verificadas em JSON com o {@link JsonGenerator} do Jackson, escrevendo direto no destino
+ * (o corpo da resposta) em UTF-8, sem montar uma {@code String} intermediária.
+ * <p>
+ * Os tipos do payload são preservados: números e booleanos saem sem aspas, as datas registradas pelo jjwt
+ * ({@code exp}, {@code iat}, {@code nbf}) voltam a segundos desde a época, como no token, e listas e objetos
+ * aninhados são escritos recursivamente. Aspas, barras invertidas e caracteres de controle são escapados pelo gerador.
+ * <p>
+ * Com uma {@link ClaimProjection}, só as claims pedidas são escritas. Sobre um JSON já verificado (o payload do token
+ * ou o JSON do cache), {@link #project(byte[], ClaimProjection, OutputStream)} copia os trechos originais de cada
+ * claim pedida e para de ler assim que todas foram encontradas.
+ */
+@Component
+public class ClaimsJsonWriter {
+
+    // O destino é o corpo da resposta, que pertence ao contêiner: o gerador não deve fechá-lo.
+    private final JsonFactory jsonFactory = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    /**
+     * Escreve as claims como um objeto JSON.
+     *
+     * @param claims as claims verificadas
+     * @param out    o destino; não é fechado
+     * @throws IOException se a escrita no destino falhar
+     */
+    public void write(Claims claims, OutputStream out) throws IOException {
+        try (JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            writeValue(generator, claims);
+        }
+    }
+
+    /**
+     * Escreve só as claims pedidas, na ordem em que aparecem nas claims.
+     *
+     * @param claims     as claims verificadas
+     * @param projection as claims pedidas
+     * @param out        o destino; não é fechado
+     * @throws IOException se a escrita no destino falhar
+     */
+    public void write(Claims claims, ClaimProjection projection, OutputStream out) throws IOException {
+        try (JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            int remaining = projection.size();
+            for (Map.Entry<String, Object> entry : claims.entrySet()) {
+                if (remaining == 0) {
+                    break;
+                }
+                if (projection.includes(entry.getKey())) {
+                    generator.writeFieldName(entry.getKey());
+                    writeValue(generator, entry.getValue());
+                    remaining--;
+                }
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Escreve só as claims pedidas de um objeto JSON já verificado, na ordem em que aparecem. Cada claim pedida é
+     * copiada do JSON de origem como está (nome, separador e valor), sem decodificar o valor; as demais são puladas
+     * sem materializar texto, e a leitura termina quando todas as pedidas foram encontradas.
+     *
+     * @param json       o payload verificado ou o JSON do cache: um objeto, sem nomes repetidos
+     * @param projection as claims pedidas
+     * @param out        o destino; não é fechado
+     * @throws IOException se a escrita no destino falhar
+     */
+    public void project(byte[] json, ClaimProjection projection, OutputStream out) throws IOException {
+        out.write('{');
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            parser.nextToken();
+            int remaining = projection.size();
+            boolean first = true;
+            while (remaining > 0 && parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                int start = (int) parser.currentTokenLocation().getByteOffset();
+                parser.nextToken();
+                parser.skipChildren();
+                if (!projection.includes(name)) {
+                    continue;
+                }
+                // Textos são lidos sob demanda: conclui o valor para que a posição do parser fique depois dele.
+                parser.finishToken();
+                int end = (int) parser.currentLocation().getByteOffset();
+                if (!first) {
+                    out.write(',');
+                }
+                out.write(json, start, end - start);
+                first = false;
+                remaining--;
+            }
+        } catch (JsonProcessingException e) {
+            // O JSON já passou pela verificação: não é um caminho alcançável com payloads assinados.
+            throw new IllegalStateException("JSON verificado inválido", e);
+        }
+        out.write('}');
+    }
+
+    /**
+     * Serializa as claims para um array, para quem precisa guardar o JSON (o cache de resultados).
+     *
+     * @param claims as claims verificadas
+     * @return o JSON em UTF-8
+     */
+    public byte[] toBytes(Claims claims) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try {
+            write(claims, out);
+        } catch (IOException e) {
+            // ByteArrayOutputStream não lança IOException.
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeValue(JsonGenerator generator, Object value) throws IOException {
+        switch (value) {
+            case null -> generator.writeNull();
+            case String text -> generator.writeString(text);
+            case Boolean bool -> generator.writeBoolean(bool);
+            case Integer number -> generator.writeNumber(number);
+            case Long number -> generator.writeNumber(number);
+            case Double number -> generator.writeNumber(number);
+            case BigInteger number -> generator.writeNumber(number);
+            case BigDecimal number -> generator.writeNumber(number);
+            case Number number -> generator.writeNumber(number.toString());
+            case Date date -> generator.writeNumber(date.getTime() / 1000);
+            case Map<?, ?> map -> {
+                generator.writeStartObject();
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    generator.writeFieldName(String.valueOf(entry.getKey()));
+                    writeValue(generator, entry.getValue());
+                }
+                generator.writeEndObject();
+            }
+            case Collection<?> collection -> {
+                generator.writeStartArray();
+                for (Object element : collection) {
+                    writeValue(generator, element);
+                }
+                generator.writeEndArray();
+            }
+            default -> generator.writeString(value.toString());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.instrospect.jwt_validator.service;
+
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Busca o JWK Set em {@code jwt.jwks.uri} (por exemplo, {@code https://idp.example.com/.well-known/jwks.json}) com o
+ * {@link HttpClient} do JDK.
+ * <p>
+ * Chaves de tipos que o jjwt não conhece são ignoradas, como recomenda a RFC 7517; um JSON inválido ou uma resposta
+ * diferente de 200 é um erro, e as chaves anteriores continuam em uso.
+ */
+@Component
+@ConditionalOnExpression("!'${jwt.jwks.uri:}'.isEmpty()")
+public class HttpJwksProvider implements JwksProvider {
+
+    private final URI uri;
+    private final Duration timeout;
+    private final HttpClient client;
+
+    public HttpJwksProvider(
+            @Value("${jwt.jwks.uri}") URI uri,
+            @Value("${jwt.jwks.timeout:5s}") Duration timeout) {
+        this.uri = uri;
+        this.timeout = timeout;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    @Override
+    public Collection<? extends Jwk<?>> fetch() throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        HttpResponse<String> response;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Busca do JWKS interrompida", e);
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("JWKS em " + uri + " respondeu com status " + response.statusCode());
+        }
+        JwkSet jwkSet = Jwks.setParser().build().parse(response.body());
+        return jwkSet.getKeys();
+    }
+
+    @Override
+    public String toString() {
+        return uri.toString();
+    }
+}
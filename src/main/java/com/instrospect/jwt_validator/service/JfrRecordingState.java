@@ -0,0 +1,57 @@
+package com.instrospect.jwt_validator.service;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Indica se há alguma gravação do Java Flight Recorder em andamento, atualizado pelo próprio JFR
+ * a cada mudança de estado de uma gravação (inclusive as iniciadas por {@code jcmd JFR.start}).
+ * <p>
+ * O JFR não repassa ao listener as gravações que já estavam em andamento quando ele foi registrado
+ * ({@code -XX:StartFlightRecording}, ou um {@code JFR.start} antes da primeira validação): o estado
+ * inicial é lido logo depois do registro.
+ * <p>
+ * Os eventos da validação consultam este estado antes de serem criados: sem gravação, o custo é a
+ * leitura de um campo volátil, sem alocação, mesmo quando o JIT não consegue eliminar o objeto do evento.
+ */
+final class JfrRecordingState {
+
+    // Serializa as releituras, para que a leitura inicial não sobrescreva a de uma mudança que chegou antes dela.
+    private static final ReentrantLock UPDATE_LOCK = new ReentrantLock();
+    private static volatile boolean recording;
+
+    static {
+        FlightRecorder.addListener(new FlightRecorderListener() {
+            @Override
+            public void recordingStateChanged(Recording changed) {
+                update();
+            }
+        });
+        // Sem o JFR inicializado não há gravação, e getFlightRecorder() o inicializaria à toa.
+        if (FlightRecorder.isInitialized()) {
+            update();
+        }
+    }
+
+    private JfrRecordingState() {
+        throw new UnsupportedOperationException("Esta é uma classe utilitária e não deve ser instanciada");
+    }
+
+    static boolean isRecording() {
+        return recording;
+    }
+
+    private static void update() {
+        UPDATE_LOCK.lock();
+        try {
+            recording = FlightRecorder.getFlightRecorder().getRecordings().stream()
+                    .anyMatch(r -> r.getState() == RecordingState.RUNNING);
+        } finally {
+            UPDATE_LOCK.unlock();
+        }
+    }
+}
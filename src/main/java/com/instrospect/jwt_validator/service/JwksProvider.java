@@ -0,0 +1,24 @@
+package com.instrospect.jwt_validator.service;
+
+import io.jsonwebtoken.security.Jwk;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Fonte remota das chaves públicas do emissor (o JWKS do provedor de identidade), consultada por
+ * {@link JwksRefresher}.
+ * <p>
+ * A implementação padrão é {@link HttpJwksProvider}, ativada por {@code jwt.jwks.uri}. Com {@code jwt.jwks.uri}
+ * vazio, um bean próprio deste tipo (um cliente com autenticação, um servidor de teste) ocupa o lugar dela.
+ */
+public interface JwksProvider {
+
+    /**
+     * Busca o conjunto de chaves atual. Chamado fora do caminho das requisições, por uma única thread de cada vez.
+     *
+     * @return as chaves publicadas, cada uma com {@code kid}
+     * @throws IOException se o provedor estiver indisponível ou responder com erro
+     */
+    Collection<? extends Jwk<?>> fetch() throws IOException;
+}
@@ -0,0 +1,206 @@
+package com.instrospect.jwt_validator.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.security.Jwk;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Mantém no chaveiro de {@link JwtVerifier} as chaves públicas do {@link JwksProvider} (o JWKS do emissor),
+ * buscadas em segundo plano, fora do caminho das requisições.
+ * <p>
+ * As buscas são únicas e limitadas: {@link #refresh()} devolve a busca em andamento, se houver, em vez de começar
+ * outra, e não busca de novo antes de {@code jwt.jwks.min-refresh-interval} desde a anterior. Além dessas, uma busca
+ * periódica a cada {@code jwt.jwks.refresh-interval} acompanha a rotação das chaves do emissor.
+ * <p>
+ * Um token com {@code kid} desconhecido ({@link #resolveUnknownKey(String)}) também pede uma busca, para que uma
+ * chave recém-publicada pelo emissor seja aceita sem esperar o próximo ciclo. As requisições com {@code kid}
+ * desconhecido simultâneas esperam a mesma busca; as demais continuam sendo verificadas com as chaves atuais
+ * enquanto ela acontece (stale-while-revalidate), e a troca é atômica quando a busca termina. Um {@code kid} que
+ * continua desconhecido depois de uma busca fica em um cache negativo por {@code jwt.jwks.unknown-kid-ttl}: tokens
+ * com ele são rejeitados na hora, sem nova busca nem espera, e {@code kid}s aleatórios não geram mais do que uma
+ * busca por {@code jwt.jwks.min-refresh-interval}.
+ * <p>
+ * Uma busca que falha (provedor fora do ar, JSON inválido, chave incompatível) é registrada e as chaves anteriores
+ * continuam em uso; na inicialização, a aplicação sobe sem as chaves do JWKS e as busca de novo no próximo ciclo.
+ * Um conjunto igual ao atual não gera troca, e as chaves que não mudaram mantêm os verificadores já montados.
+ */
+@Component
+@Slf4j
+public class JwksRefresher {
+
+    // Fonte destas chaves no chaveiro de JwtVerifier, ao lado das de KeyRingWatcher.
+    static final String SOURCE = "jwks";
+    // kids desconhecidos lembrados; além disso, os menos usados saem (a busca continua limitada pelo intervalo mínimo).
+    private static final int UNKNOWN_KEYS_MAXIMUM_SIZE = 10_000;
+
+    private final JwtVerifier jwtVerifier;
+    private final JwksProvider provider;
+    private final long minIntervalNanos;
+    private final Duration missTimeout;
+    // Cache negativo: kids que continuaram desconhecidos depois de uma busca.
+    private final Cache<String, Boolean> unknownKeys;
+    private final ScheduledExecutorService scheduler;
+    // A busca em andamento; null entre buscas.
+    private final AtomicReference<CompletableFuture<Boolean>> inFlight = new AtomicReference<>();
+    // Início da última busca; escrito só por quem ganhou inFlight.
+    private volatile long lastFetchNanos;
+    private volatile boolean fetched;
+    // Lido e escrito só pela thread de busca.
+    private Set<Jwk<?>> current = Set.of();
+
+    public JwksRefresher(
+            JwtVerifier jwtVerifier,
+            ObjectProvider<JwksProvider> provider,
+            @Value("${jwt.jwks.refresh-interval:5m}") Duration refreshInterval,
+            @Value("${jwt.jwks.min-refresh-interval:30s}") Duration minRefreshInterval,
+            @Value("${jwt.jwks.unknown-kid-ttl:1m}") Duration unknownKeyTtl,
+            @Value("${jwt.jwks.miss-timeout:2s}") Duration missTimeout) {
+        this.jwtVerifier = jwtVerifier;
+        this.provider = provider.getIfAvailable();
+        this.minIntervalNanos = minRefreshInterval.toNanos();
+        this.missTimeout = missTimeout;
+        this.unknownKeys = Caffeine.newBuilder()
+                .maximumSize(UNKNOWN_KEYS_MAXIMUM_SIZE)
+                .expireAfterWrite(unknownKeyTtl)
+                .build();
+        if (this.provider == null) {
+            this.scheduler = null;
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "jwt-jwks-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // A primeira busca é aguardada, para que os primeiros tokens já encontrem as chaves.
+        refresh().join();
+        if (refreshInterval.isPositive()) {
+            long period = refreshInterval.toMillis();
+            scheduler.scheduleWithFixedDelay(this::refresh, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Pede uma busca do JWKS em segundo plano. Chamadas simultâneas recebem a mesma busca, e chamadas dentro de
+     * {@code jwt.jwks.min-refresh-interval} desde a última busca não buscam de novo.
+     *
+     * @return a busca: completa com true se as chaves mudaram, ou false se não mudaram, se a busca falhou ou se não
+     * houve busca (sem provedor ou dentro do intervalo mínimo); nunca completa com erro
+     */
+    public CompletableFuture<Boolean> refresh() {
+        CompletableFuture<Boolean> flight = provider == null ? null : startOrJoin();
+        return flight != null ? flight : CompletableFuture.completedFuture(false);
+    }
+
+    /**
+     * Tenta encontrar a chave de um {@code kid} que o chaveiro não conhece: espera uma busca do JWKS (a que estiver
+     * em andamento ou uma nova, respeitando o intervalo mínimo) por até {@code jwt.jwks.miss-timeout}.
+     * <p>
+     * Chamado pelas threads das requisições; não lança exceções.
+     *
+     * @param keyId o {@code kid} do token; null devolve false
+     * @return true se o chaveiro passou a ter a chave, e o token deve ser verificado de novo
+     */
+    public boolean resolveUnknownKey(String keyId) {
+        if (provider == null || keyId == null || unknownKeys.getIfPresent(keyId) != null) {
+            return false;
+        }
+        CompletableFuture<Boolean> flight = startOrJoin();
+        if (flight == null) {
+            // Dentro do intervalo mínimo: sem busca nova, mas uma busca recente pode ter trazido a chave.
+            return jwtVerifier.hasKey(keyId);
+        }
+        try {
+            flight.get(missTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // A busca continua; o token é rejeitado e o próximo com o mesmo kid tenta de novo.
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            return false;
+        }
+        if (jwtVerifier.hasKey(keyId)) {
+            return true;
+        }
+        unknownKeys.put(keyId, Boolean.TRUE);
+        return false;
+    }
+
+    // A busca em andamento, uma busca nova, ou null se a última começou há menos que o intervalo mínimo.
+    private CompletableFuture<Boolean> startOrJoin() {
+        CompletableFuture<Boolean> running = inFlight.get();
+        if (running != null) {
+            return running;
+        }
+        if (throttled(System.nanoTime())) {
+            return null;
+        }
+        CompletableFuture<Boolean> flight = new CompletableFuture<>();
+        if (!inFlight.compareAndSet(null, flight)) {
+            return inFlight.get();
+        }
+        // Confere de novo com inFlight em mãos: outra busca pode ter terminado entre a primeira conferência e o CAS.
+        long now = System.nanoTime();
+        if (throttled(now)) {
+            inFlight.set(null);
+            flight.complete(false);
+            return null;
+        }
+        lastFetchNanos = now;
+        fetched = true;
+        scheduler.execute(() -> {
+            boolean changed = fetch();
+            inFlight.set(null);
+            flight.complete(changed);
+        });
+        return flight;
+    }
+
+    private boolean throttled(long now) {
+        return fetched && now - lastFetchNanos < minIntervalNanos;
+    }
+
+    private boolean fetch() {
+        try {
+            Collection<? extends Jwk<?>> keys = provider.fetch();
+            Set<Jwk<?>> loaded = new HashSet<>(keys);
+            if (loaded.equals(current)) {
+                return false;
+            }
+            jwtVerifier.updateKeys(SOURCE, keys);
+            current = loaded;
+            // kids publicados agora saem do cache negativo.
+            loaded.forEach(jwk -> unknownKeys.invalidate(jwk.getId()));
+            return true;
+        } catch (Exception e) {
+            log.warn("JWKS de {} não foi atualizado; as chaves anteriores continuam em uso: {}", provider, e.toString());
+            return false;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.instrospect.jwt_validator.service;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.EdECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.AlgorithmParameterSpec;
+import java.security.spec.MGF1ParameterSpec;
+import java.security.spec.PSSParameterSpec;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Verificadores de assinatura JWS por algoritmo ({@code alg}) para uma chave, montados uma vez quando a chave entra
+ * no chaveiro e reaproveitados por todas as requisições.
+ * <p>
+ * HMAC ({@code HS256/384/512}) usa um {@link Mac} protótipo, clonado a cada uso. Os algoritmos assimétricos
+ * ({@code RS256/384/512}, {@code PS256/384/512}, {@code ES256/384/512} e {@code EdDSA}) usam um pequeno pool de
+ * {@link Signature} já inicializados com a chave pública, já que {@link Signature} não é thread-safe nem clonável em
+ * todos os provedores. As assinaturas ECDSA do JWS são {@code R || S} (IEEE P1363), não DER.
+ * <p>
+ * Os algoritmos aceitos seguem o tipo e o tamanho da chave, com os mínimos do jjwt: HMAC com pelo menos o tamanho
+ * do hash, RSA com pelo menos 2048 bits e ECDSA com a curva do algoritmo (P-256, P-384, P-521).
+ */
+final class JwsVerifiers {
+
+    // Signature inicializados guardados por algoritmo de cada chave; além disso, os excedentes são descartados.
+    private static final int POOL_SIZE = 64;
+
+    /**
+     * Os algoritmos assimétricos que têm verificador; cada chave pública aceita os compatíveis com o seu tipo.
+     */
+    static final List<String> ASYMMETRIC_ALGORITHMS = List.of(
+            "RS256", "RS384", "RS512", "PS256", "PS384", "PS512", "ES256", "ES384", "ES512", "EdDSA");
+
+    private JwsVerifiers() {
+    }
+
+    /**
+     * Verifica a assinatura do JWS.
+     */
+    interface Verifier {
+
+        /**
+         * @param signingInput os bytes ASCII de {@code header.payload}
+         * @param signature    a assinatura decodificada
+         * @return true se a assinatura conferir
+         */
+        boolean verify(byte[] signingInput, byte[] signature);
+    }
+
+    /**
+     * Monta os verificadores compatíveis com a chave.
+     *
+     * @param key         a chave HMAC ou a chave pública
+     * @param restriction o único {@code alg} aceito (o {@code alg} da JWK), ou null para todos os compatíveis
+     * @return os verificadores por {@code alg}; vazio se nenhum algoritmo for compatível
+     */
+    static Map<String, Verifier> forKey(Key key, String restriction) {
+        Map<String, Verifier> verifiers = new HashMap<>();
+        switch (key) {
+            case SecretKey secretKey -> {
+                byte[] keyBytes = secretKey.getEncoded();
+                addHmac(verifiers, restriction, "HS256", "HmacSHA256", 256, keyBytes);
+                addHmac(verifiers, restriction, "HS384", "HmacSHA384", 384, keyBytes);
+                addHmac(verifiers, restriction, "HS512", "HmacSHA512", 512, keyBytes);
+            }
+            case RSAPublicKey rsaKey when rsaKey.getModulus().bitLength() >= 2048 -> {
+                addSignature(verifiers, restriction, "RS256", "SHA256withRSA", null, rsaKey);
+                addSignature(verifiers, restriction, "RS384", "SHA384withRSA", null, rsaKey);
+                addSignature(verifiers, restriction, "RS512", "SHA512withRSA", null, rsaKey);
+                addSignature(verifiers, restriction, "PS256", "RSASSA-PSS", pss("SHA-256", MGF1ParameterSpec.SHA256, 32), rsaKey);
+                addSignature(verifiers, restriction, "PS384", "RSASSA-PSS", pss("SHA-384", MGF1ParameterSpec.SHA384, 48), rsaKey);
+                addSignature(verifiers, restriction, "PS512", "RSASSA-PSS", pss("SHA-512", MGF1ParameterSpec.SHA512, 64), rsaKey);
+            }
+            case ECPublicKey ecKey -> {
+                switch (ecKey.getParams().getCurve().getField().getFieldSize()) {
+                    case 256 -> addSignature(verifiers, restriction, "ES256", "SHA256withECDSAinP1363Format", null, ecKey);
+                    case 384 -> addSignature(verifiers, restriction, "ES384", "SHA384withECDSAinP1363Format", null, ecKey);
+                    case 521 -> addSignature(verifiers, restriction, "ES512", "SHA512withECDSAinP1363Format", null, ecKey);
+                    default -> {
+                    }
+                }
+            }
+            case EdECPublicKey edKey -> addSignature(verifiers, restriction, "EdDSA", "EdDSA", null, edKey);
+            default -> {
+            }
+        }
+        return Map.copyOf(verifiers);
+    }
+
+    private static PSSParameterSpec pss(String digest, MGF1ParameterSpec mgf1, int saltLength) {
+        return new PSSParameterSpec(digest, "MGF1", mgf1, saltLength, PSSParameterSpec.TRAILER_FIELD_BC);
+    }
+
+    // Mesma regra do jjwt: o algoritmo só é aceito se a chave tiver pelo menos o tamanho do hash.
+    private static void addHmac(Map<String, Verifier> verifiers, String restriction, String alg, String jcaName,
+                                int minBits, byte[] keyBytes) {
+        if (keyBytes.length * 8 < minBits || (restriction != null && !restriction.equals(alg))) {
+            return;
+        }
+        try {
+            Mac mac = Mac.getInstance(jcaName);
+            mac.init(new SecretKeySpec(keyBytes, jcaName));
+            verifiers.put(alg, new HmacVerifier(mac));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Algoritmo " + jcaName + " não está disponível nesta JVM", e);
+        }
+    }
+
+    private static void addSignature(Map<String, Verifier> verifiers, String restriction, String alg, String jcaName,
+                                     AlgorithmParameterSpec parameters, PublicKey key) {
+        if (restriction != null && !restriction.equals(alg)) {
+            return;
+        }
+        SignatureVerifier verifier = new SignatureVerifier(jcaName, parameters, key);
+        // Falha aqui (algoritmo ausente na JVM, chave incompatível), e não na primeira requisição.
+        verifier.release(verifier.newSignature());
+        verifiers.put(alg, verifier);
+    }
+
+    private record HmacVerifier(Mac prototype) implements Verifier {
+
+        @Override
+        public boolean verify(byte[] signingInput, byte[] signature) {
+            try {
+                Mac mac = (Mac) prototype.clone();
+                return MessageDigest.isEqual(mac.doFinal(signingInput), signature);
+            } catch (CloneNotSupportedException e) {
+                throw new IllegalStateException("Provedor HMAC não suporta clone()", e);
+            }
+        }
+    }
+
+    private static final class SignatureVerifier implements Verifier {
+
+        private final String jcaName;
+        private final AlgorithmParameterSpec parameters;
+        private final PublicKey key;
+        // ArrayBlockingQueue: offer/poll com um ReentrantLock de seção curta, sem prender threads virtuais.
+        private final ArrayBlockingQueue<Signature> idle = new ArrayBlockingQueue<>(POOL_SIZE);
+
+        private SignatureVerifier(String jcaName, AlgorithmParameterSpec parameters, PublicKey key) {
+            this.jcaName = jcaName;
+            this.parameters = parameters;
+            this.key = key;
+        }
+
+        @Override
+        public boolean verify(byte[] signingInput, byte[] signature) {
+            Signature verifier = idle.poll();
+            if (verifier == null) {
+                verifier = newSignature();
+            }
+            boolean valid;
+            try {
+                verifier.update(signingInput);
+                valid = verifier.verify(signature);
+            } catch (SignatureException e) {
+                // Assinatura com tamanho ou codificação inválidos. O estado do Signature fica indefinido: descarta.
+                return false;
+            }
+            // verify() devolve o Signature ao estado inicial, pronto para o próximo token.
+            release(verifier);
+            return valid;
+        }
+
+        private Signature newSignature() {
+            try {
+                Signature verifier = Signature.getInstance(jcaName);
+                if (parameters != null) {
+                    verifier.setParameter(parameters);
+                }
+                verifier.initVerify(key);
+                return verifier;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Algoritmo " + jcaName + " indisponível para a chave " + key.getAlgorithm(), e);
+            }
+        }
+
+        private void release(Signature verifier) {
+            idle.offer(verifier);
+        }
+    }
+}
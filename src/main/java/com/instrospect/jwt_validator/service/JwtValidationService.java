@@ -1,15 +1,15 @@
 package com.instrospect.jwt_validator.service;
 
-import com.instrospect.jwt_validator.util.PrimeUtil;
+import com.instrospect.jwt_validator.service.ValidationMetrics.Stage;
+import com.instrospect.jwt_validator.util.DigitUtil;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.JwtException;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Set;
 
@@ -17,17 +17,63 @@ import java.util.Set;
  * Serviço responsável pela validação de tokens JWT.
  */
 @Service
-@Slf4j
 public class JwtValidationService {
 
-    // Assumindo que o segredo para validar a assinatura é fornecido via application.properties
-    // Para os testes fornecidos, o segredo não é explicitamente mencionado.
-    // Vamos usar um segredo padrão, mas torná-lo configurável.
-    @Value("${jwt.secret}")
-    private String secret;
+    // A chave e o parser são construídos uma única vez pelo verificador, a partir do
+    // segredo configurado em application.properties (jwt.secret).
+    @Autowired
+    private JwtVerifier jwtVerifier;
+
+    // Chaves do JWKS do emissor; um kid desconhecido espera uma única busca compartilhada.
+    @Autowired
+    private JwksRefresher jwksRefresher;
+
+    // Tokens revogados por jti ou hash (jwt.revocation.*): filtro de Bloom na frente de uma tabela exata.
+    @Autowired
+    private RevocationList revocationList;
+
+    // Tokens de uso único (jwt.replay.*): o segundo uso de um jti é rejeitado.
+    @Autowired
+    private ReplayGuard replayGuard;
+
+    // Triagem estrutural barata que descarta lixo antes de qualquer criptografia.
+    @Autowired
+    private TokenPreScreener tokenPreScreener;
+
+    // Cache opcional (jwt.cache.enabled) dos resultados de tokens já verificados.
+    @Autowired
+    private ValidationResultCache validationResultCache;
+
+    // Crivo para Seeds pequenas e Miller–Rabin determinístico para as demais.
+    @Autowired
+    private PrimalityChecker primalityChecker;
+
+    // Vereditos de primalidade já calculados, por valor textual da Seed.
+    @Autowired
+    private SeedPrimalityCache seedPrimalityCache;
+
+    // Log amostrado dos resultados e contadores por motivo (jwt.logging.*).
+    @Autowired
+    private ValidationLogger validationLogger;
+
+    // Timers por etapa e contadores de rejeição por motivo (jwt.metrics.*).
+    @Autowired
+    private ValidationMetrics validationMetrics;
+
+    // JSON das claims escrito com o JsonGenerator do Jackson, direto na resposta.
+    @Autowired
+    private ClaimsJsonWriter claimsJsonWriter;
+
+    // payload: /extract-claims devolve o payload verificado como está; claims: serializa o mapa de claims.
+    @Value("${jwt.extract.mode:payload}")
+    private ExtractMode extractMode = ExtractMode.PAYLOAD;
 
     private static final Set<String> VALID_ROLES = Set.of("Admin", "Member", "External");
     private static final int MAX_NAME_LENGTH = 256;
+    // Instância própria, distinta da rejeição compartilhada: marca as falhas inesperadas, que não são contadas.
+    private static final ValidationResult FAILED = ValidationResult.rejected(RejectionReason.INTERNAL_ERROR, null);
+    private static final byte[] INVALID_TOKEN_JSON = "{\"error\":\"Token JWT inválido\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] INTERNAL_ERROR_JSON = "{\"error\":\"Erro interno do servidor\"}".getBytes(StandardCharsets.UTF_8);
 
     /**
      * Valida um token JWT.
@@ -36,31 +82,155 @@ public class JwtValidationService {
      * @return true se o token for válido, false caso contrário
      */
     public boolean validateToken(String token) {
-        try {
-            SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        return validate(token).isValid();
+    }
 
-            // 1. Valida a estrutura e assinatura do JWT.
-            // Se for inválido (estrutura, assinatura, expiração), lança uma JwtException.
-            Claims claims = Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+    /**
+     * Valida um token JWT e informa o motivo da rejeição, sem lançar exceções nos casos comuns de falha.
+     *
+     * @param token o token JWT a ser validado
+     * @return o resultado da validação
+     */
+    public ValidationResult validate(String token) {
+        ValidationEvent event = ValidationEvent.start();
+        long start = validationMetrics.start();
+        return complete(event, start, evaluateSafely(token));
+    }
 
-            log.info("JWT decodificado com sucesso. Claims: {}", claims);
+    /**
+     * Primeira parte de {@link #validate(String)}, para quem valida em paralelo e precisa de vereditos de uso único
+     * na ordem da entrada: tudo menos o registro do {@code jti} em {@link ReplayGuard}, que fica para
+     * {@link #finish(Validation)}.
+     *
+     * @param token o token JWT a ser validado
+     * @return a validação pendente, a ser concluída por {@link #finish(Validation)}
+     */
+    Validation begin(String token) {
+        ValidationEvent event = ValidationEvent.start();
+        long start = validationMetrics.start();
+        ValidationResult result = evaluateSafely(token);
+        // A espera até finish não entra na duração do evento nem no timer.
+        event.stop();
+        return new Validation(event, start, System.nanoTime(), result);
+    }
 
-            // 2. Valida as regras de negócio sobre as claims.
-            return areClaimsValid(claims);
+    /**
+     * Conclui uma validação iniciada por {@link #begin(String)}: registra o uso do {@code jti}, conta e registra o
+     * resultado. Chamadas sucessivas decidem o primeiro uso de um {@code jti} na ordem em que são feitas.
+     *
+     * @param validation a validação pendente
+     * @return o resultado da validação
+     */
+    ValidationResult finish(Validation validation) {
+        long start = validation.start();
+        if (start != ValidationMetrics.NOT_SAMPLED) {
+            start += System.nanoTime() - validation.evaluatedAt();
+        }
+        return complete(validation.event(), start, validation.result());
+    }
 
-        } catch (JwtException e) {
-            log.error("JWT inválido: {}", e.getMessage());
-            return false;
+    // evaluate sem exceções: uma falha inesperada já sai registrada no log, como FAILED.
+    private ValidationResult evaluateSafely(String token) {
+        try {
+            return evaluate(token);
         } catch (Exception e) {
-            log.error("Erro inesperado durante a validação do JWT.", e);
-            return false;
+            validationLogger.failed("Erro inesperado durante a validação do JWT.", e);
+            return FAILED;
         }
     }
 
+    private ValidationResult complete(ValidationEvent event, long start, ValidationResult result) {
+        if (result != FAILED) {
+            try {
+                if (result.isValid() && replayGuard.isEnabled()) {
+                    result = checkReplay(result);
+                }
+                validationMetrics.completed(result, start);
+                if (result.isValid()) {
+                    validationLogger.accepted(result.getClaims());
+                } else {
+                    validationLogger.rejected(result.getReason(), result.getClaims());
+                }
+
+            } catch (Exception e) {
+                validationLogger.failed("Erro inesperado durante a validação do JWT.", e);
+                result = FAILED;
+            }
+        }
+        event.commit(result);
+        return result;
+    }
+
+    /**
+     * Validação iniciada por {@link #begin(String)} e ainda sem o registro de uso único.
+     *
+     * @param event       o evento JFR da validação, já com a duração fechada
+     * @param start       o instante devolvido por {@link ValidationMetrics#start()}
+     * @param evaluatedAt o fim da primeira parte, descontado da medição em {@link #finish(Validation)}
+     * @param result      o resultado antes do registro de uso único
+     */
+    record Validation(ValidationEvent event, long start, long evaluatedAt, ValidationResult result) {
+    }
+
+    private ValidationResult evaluate(String token) {
+        long start = validationMetrics.start();
+        ValidationStageEvent event = ValidationStageEvent.start();
+        RejectionReason screened = tokenPreScreener.screen(token);
+        validationMetrics.lap(Stage.PRESCREEN, start);
+        event.commit(Stage.PRESCREEN);
+        if (screened != null) {
+            return ValidationResult.rejected(screened);
+        }
+
+        ValidationResultCache.CacheKey cacheKey = validationResultCache.keyFor(token);
+        ValidationResult cached = validationResultCache.getResult(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        // 1. Valida a estrutura, a assinatura e a expiração do JWT.
+        start = validationMetrics.start();
+        event = ValidationStageEvent.start();
+        ValidationResult verified = jwtVerifier.verify(token);
+        if (verified.getReason() == RejectionReason.UNKNOWN_KEY && jwksRefresher.resolveUnknownKey(jwtVerifier.keyId(token))) {
+            verified = jwtVerifier.verify(token);
+        }
+        validationMetrics.lap(Stage.SIGNATURE, start);
+        event.commit(Stage.SIGNATURE);
+        if (!verified.isValid()) {
+            return verified;
+        }
+
+        // 2. Descarta tokens revogados.
+        Claims claims = verified.getClaims();
+        start = validationMetrics.start();
+        event = ValidationStageEvent.start();
+        boolean revoked = revocationList.isRevoked(token, claims.getId());
+        validationMetrics.lap(Stage.REVOCATION, start);
+        event.commit(Stage.REVOCATION);
+        if (revoked) {
+            ValidationResult result = ValidationResult.rejected(RejectionReason.REVOKED, claims);
+            validationResultCache.putResult(cacheKey, result);
+            return result;
+        }
+
+        // 3. Valida as regras de negócio sobre as claims.
+        RejectionReason reason = checkClaims(claims);
+        ValidationResult result = reason == null ? verified : ValidationResult.rejected(reason, claims);
+        validationResultCache.putResult(cacheKey, result);
+        return result;
+    }
+
+    // Registra o jti do token aceito; fora de evaluate, para valer também para os resultados do cache.
+    private ValidationResult checkReplay(ValidationResult result) {
+        long start = validationMetrics.start();
+        ValidationStageEvent event = ValidationStageEvent.start();
+        RejectionReason reason = replayGuard.use(result.getClaims());
+        validationMetrics.lap(Stage.REPLAY, start);
+        event.commit(Stage.REPLAY);
+        return reason == null ? result : ValidationResult.rejected(reason, result.getClaims());
+    }
+
     /**
      * Extrai informações do token JWT.
      *
@@ -68,96 +238,265 @@ public class JwtValidationService {
      * @return as informações extraídas do token em formato JSON
      */
     public String extractClaims(String token) {
+        return new String(extractClaimsJson(token), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Extrai informações do token JWT como JSON em UTF-8, para quem escreve os bytes direto na resposta.
+     *
+     * @param token o token JWT
+     * @return as claims do token, ou o objeto de erro, em JSON
+     */
+    public byte[] extractClaimsJson(String token) {
+        return extractClaimsJson(token, null);
+    }
+
+    /**
+     * Extrai só as claims pedidas do token JWT, como JSON em UTF-8.
+     *
+     * @param token      o token JWT
+     * @param projection as claims pedidas, ou null para todas
+     * @return as claims pedidas, ou o objeto de erro, em JSON
+     */
+    public byte[] extractClaimsJson(String token, ClaimProjection projection) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
         try {
-            // Verifica se o token é nulo ou vazio
-            if (token == null || token.trim().isEmpty()) {
-                log.error("Token JWT é nulo ou vazio");
-                return "{\"error\":\"Token JWT inválido\"}";
-            }
+            writeClaims(token, projection, out);
+        } catch (IOException e) {
+            // ByteArrayOutputStream não lança IOException.
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
 
-            SecretKey secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    /**
+     * Extrai informações do token JWT e as escreve como JSON em {@code out}, sem montar uma String intermediária.
+     * Tokens inválidos produzem o mesmo objeto de erro de {@link #extractClaims(String)}.
+     *
+     * @param token o token JWT
+     * @param out   o destino do JSON (o corpo da resposta); não é fechado
+     * @throws IOException se a escrita no destino falhar
+     */
+    public void writeClaims(String token, OutputStream out) throws IOException {
+        writeClaims(token, null, out);
+    }
 
-            // Parse o JWT e extrai as claims
-            Claims claims = Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+    /**
+     * Extrai só as claims pedidas do token JWT e as escreve como JSON em {@code out}. No modo {@code payload}, as
+     * claims pedidas são copiadas do payload verificado, que deixa de ser lido quando todas foram encontradas.
+     *
+     * @param token      o token JWT
+     * @param projection as claims pedidas, ou null para todas
+     * @param out        o destino do JSON (o corpo da resposta); não é fechado
+     * @throws IOException se a escrita no destino falhar
+     */
+    public void writeClaims(String token, ClaimProjection projection, OutputStream out) throws IOException {
+        byte[] body;
+        try {
+            body = extract(token, projection, out);
+        } catch (IOException e) {
+            // Falha ao escrever na resposta (cliente desconectado): não há a quem responder.
+            throw e;
+        } catch (Exception e) {
+            validationLogger.failed("Erro inesperado ao extrair claims do JWT.", e);
+            body = INTERNAL_ERROR_JSON;
+        }
+        if (body != null) {
+            out.write(body);
+        }
+    }
 
-            log.info("Claims extraídas com sucesso do JWT");
+    // Devolve o corpo pronto (erro ou JSON guardado no cache), ou null depois de escrever as claims em out.
+    private byte[] extract(String token, ClaimProjection projection, OutputStream out) throws IOException {
+        // Verifica se o token é nulo ou vazio
+        if (token == null || token.trim().isEmpty()) {
+            validationLogger.rejected(RejectionReason.MALFORMED, null);
+            return INVALID_TOKEN_JSON;
+        }
+        long start = validationMetrics.start();
+        ValidationStageEvent event = ValidationStageEvent.start();
+        RejectionReason screened = tokenPreScreener.screen(token);
+        validationMetrics.lap(Stage.PRESCREEN, start);
+        event.commit(Stage.PRESCREEN);
+        if (screened != null) {
+            validationLogger.rejected(screened, null);
+            return INVALID_TOKEN_JSON;
+        }
 
-            // Converte as claims para formato JSON
-            StringBuilder jsonBuilder = new StringBuilder();
-            jsonBuilder.append("{");
+        ValidationResultCache.CacheKey cacheKey = validationResultCache.keyFor(token);
+        byte[] cachedJson = validationResultCache.getClaimsJson(cacheKey);
+        if (cachedJson != null) {
+            validationLogger.extracted();
+            return project(cachedJson, projection, out);
+        }
 
-            boolean first = true;
-            for (String key : claims.keySet()) {
-                if (!first) {
-                    jsonBuilder.append(",");
-                }
-                jsonBuilder.append("\"").append(key).append("\":\"").append(claims.get(key)).append("\"");
-                first = false;
-            }
+        // Verifica o JWT e extrai as claims
+        start = validationMetrics.start();
+        event = ValidationStageEvent.start();
+        VerifiedPayload verified = verifyPayload(token);
+        if (verified.getReason() == RejectionReason.UNKNOWN_KEY && jwksRefresher.resolveUnknownKey(jwtVerifier.keyId(token))) {
+            verified = verifyPayload(token);
+        }
+        start = validationMetrics.lap(Stage.SIGNATURE, start);
+        event = event.next(Stage.SIGNATURE);
+        if (!verified.isValid()) {
+            validationLogger.rejected(verified.getReason(), null);
+            return INVALID_TOKEN_JSON;
+        }
+        boolean revoked = revocationList.isRevoked(token, verified.getJwtId());
+        start = validationMetrics.lap(Stage.REVOCATION, start);
+        event = event.next(Stage.REVOCATION);
+        if (revoked) {
+            validationLogger.rejected(RejectionReason.REVOKED, null);
+            return INVALID_TOKEN_JSON;
+        }
+        validationLogger.extracted();
 
-            jsonBuilder.append("}");
-            return jsonBuilder.toString();
+        // O payload verificado já é o JSON das claims: vai para a resposta (e para o cache) sem conversão.
+        byte[] payload = verified.getJson();
+        if (payload != null) {
+            validationResultCache.putClaimsJson(cacheKey, verified.getExpiresAtMillis(), payload);
+            return project(payload, projection, out);
+        }
 
-        } catch (JwtException e) {
-            log.error("Erro ao extrair claims do JWT: {}", e.getMessage());
-            return "{\"error\":\"Token JWT inválido\"}";
-        } catch (Exception e) {
-            log.error("Erro inesperado ao extrair claims do JWT.", e);
-            return "{\"error\":\"Erro interno do servidor\"}";
+        // Com o cache habilitado, o JSON completo precisa ser guardado; sem ele, vai direto para a resposta.
+        Claims claims = verified.getClaims();
+        if (cacheKey != null) {
+            byte[] json = claimsJsonWriter.toBytes(claims);
+            validationResultCache.putClaimsJson(cacheKey, claims, json);
+            byte[] body = project(json, projection, out);
+            validationMetrics.lap(Stage.CLAIMS_JSON, start);
+            event.commit(Stage.CLAIMS_JSON);
+            return body;
         }
+        if (projection == null) {
+            claimsJsonWriter.write(claims, out);
+        } else {
+            claimsJsonWriter.write(claims, projection, out);
+        }
+        validationMetrics.lap(Stage.CLAIMS_JSON, start);
+        event.commit(Stage.CLAIMS_JSON);
+        return null;
+    }
+
+    private VerifiedPayload verifyPayload(String token) {
+        return extractMode == ExtractMode.PAYLOAD
+                ? jwtVerifier.verifyPayload(token)
+                : VerifiedPayload.of(jwtVerifier.verify(token));
+    }
+
+    // O JSON completo vai como está; com projeção, só as claims pedidas são copiadas para out.
+    private byte[] project(byte[] json, ClaimProjection projection, OutputStream out) throws IOException {
+        if (projection == null) {
+            return json;
+        }
+        claimsJsonWriter.project(json, projection, out);
+        return null;
+    }
+
+    /**
+     * Forma de montar a resposta de {@code /extract-claims} ({@code jwt.extract.mode}).
+     */
+    public enum ExtractMode {
+
+        /**
+         * O payload decodificado do token, sem montar o mapa de claims ({@link JwtVerifier#verifyPayload(String)}).
+         */
+        PAYLOAD,
+
+        /**
+         * As claims verificadas, serializadas pelo {@link ClaimsJsonWriter}.
+         */
+        CLAIMS
     }
 
-    private boolean areClaimsValid(Claims claims) {
-        return hasExactlyThreeClaims(claims) &&
-                isNameClaimValid(claims) &&
-                isRoleClaimValid(claims) &&
-                isSeedClaimValid(claims);
+    // Aplica as regras na ordem abaixo; devolve o motivo da primeira regra violada, ou null.
+    // Cada regra é medida como uma etapa (ValidationMetrics.Stage) e emitida como evento do JFR.
+    private RejectionReason checkClaims(Claims claims) {
+        long start = validationMetrics.start();
+        ValidationStageEvent event = ValidationStageEvent.start();
+        boolean valid = hasExactlyThreeClaims(claims);
+        start = validationMetrics.lap(Stage.CLAIM_COUNT, start);
+        if (!valid) {
+            event.commit(Stage.CLAIM_COUNT);
+            return RejectionReason.CLAIM_COUNT;
+        }
+        event = event.next(Stage.CLAIM_COUNT);
+        valid = isNameClaimValid(claims);
+        start = validationMetrics.lap(Stage.NAME, start);
+        if (!valid) {
+            event.commit(Stage.NAME);
+            return RejectionReason.NAME_INVALID;
+        }
+        event = event.next(Stage.NAME);
+        valid = isRoleClaimValid(claims);
+        start = validationMetrics.lap(Stage.ROLE, start);
+        if (!valid) {
+            event.commit(Stage.ROLE);
+            return RejectionReason.ROLE_INVALID;
+        }
+        event = event.next(Stage.ROLE);
+        RejectionReason seed = checkSeedClaim(claims);
+        validationMetrics.lap(Stage.SEED, start);
+        event.commit(Stage.SEED);
+        return seed;
     }
 
     // Regra: Deve conter apenas 3 claims (Name, Role e Seed)
+    // Com a guarda de uso único ligada, jti e exp acompanham as três claims sem contar entre elas.
     private boolean hasExactlyThreeClaims(Claims claims) {
-        boolean valid = claims.size() == 3 &&
+        int registered = 0;
+        if (replayGuard.isEnabled()) {
+            registered += claims.containsKey(Claims.ID) ? 1 : 0;
+            registered += claims.containsKey(Claims.EXPIRATION) ? 1 : 0;
+        }
+        return claims.size() - registered == 3 &&
                 claims.containsKey("Name") &&
                 claims.containsKey("Role") &&
                 claims.containsKey("Seed");
-        if (!valid) log.warn("Validação falhou: O JWT não contém exatamente as 3 claims esperadas.");
-        return valid;
     }
 
     // Regra: A claim Name não pode ter carácter de números e tem tamanho máximo de 256.
+    // Números são as categorias Unicode Nd, Nl e No (ver DigitUtil), não apenas 0-9.
     private boolean isNameClaimValid(Claims claims) {
-        String name = claims.get("Name", String.class);
-        if (name == null || name.length() > MAX_NAME_LENGTH || name.matches(".*\\d.*")) {
-            log.warn("Validação falhou: Claim 'Name' é inválida. Valor: {}", name);
-            return false;
-        }
-        return true;
+        return claims.get("Name") instanceof String name
+                && name.length() <= MAX_NAME_LENGTH && !DigitUtil.containsNumeric(name);
     }
 
     // Regra: A claim Role deve conter apenas 1 dos três valores (Admin, Member e External)
     private boolean isRoleClaimValid(Claims claims) {
-        String role = claims.get("Role", String.class);
-        if (role == null || !VALID_ROLES.contains(role)) {
-            log.warn("Validação falhou: Claim 'Role' é inválida. Valor: {}", role);
-            return false;
-        }
-        return true;
+        return claims.get("Role") instanceof String role && VALID_ROLES.contains(role);
     }
 
     // Regra: A claim Seed deve ser um número primo.
-    private boolean isSeedClaimValid(Claims claims) {
-        try {
-            int seed = Integer.parseInt(claims.get("Seed", String.class));
-            boolean isPrime = PrimeUtil.isPrime(seed);
-            if (!isPrime) log.warn("Validação falhou: Claim 'Seed' não é um número primo. Valor: {}", seed);
-            return isPrime;
-        } catch (NumberFormatException e) {
-            log.warn("Validação falhou: Claim 'Seed' não é um número válido.");
+    private RejectionReason checkSeedClaim(Claims claims) {
+        if (!(claims.get("Seed") instanceof String value) || !isInteger(value)) {
+            return RejectionReason.SEED_NOT_NUMERIC;
+        }
+        Boolean isPrime = seedPrimalityCache.get(value);
+        if (isPrime == null) {
+            try {
+                isPrime = primalityChecker.isPrime(Integer.parseInt(value));
+            } catch (NumberFormatException e) {
+                // Fora do intervalo de int.
+                return RejectionReason.SEED_NOT_NUMERIC;
+            }
+            seedPrimalityCache.put(value, isPrime);
+        }
+        return isPrime ? null : RejectionReason.SEED_NOT_PRIME;
+    }
+
+    // Mesma sintaxe aceita por Integer.parseInt: sinal opcional seguido de dígitos decimais.
+    private static boolean isInteger(String value) {
+        int start = !value.isEmpty() && (value.charAt(0) == '-' || value.charAt(0) == '+') ? 1 : 0;
+        if (start == value.length()) {
             return false;
         }
+        for (int i = start; i < value.length(); i++) {
+            if (Character.digit(value.charAt(i), 10) < 0) {
+                return false;
+            }
+        }
+        return true;
     }
 }
@@ -0,0 +1,537 @@
+package com.instrospect.jwt_validator.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.instrospect.jwt_validator.util.Base64Url;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.PrematureJwtException;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.PrivateJwk;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Componente responsável pela verificação da assinatura de tokens JWT.
+ * <p>
+ * As chaves, seus verificadores de assinatura e o {@link JwtParser} são construídos uma única vez na inicialização
+ * (e novamente quando o segredo ou o chaveiro mudam) e compartilhados por todas as requisições.
+ * Ambos são imutáveis e thread-safe, portanto não há sincronização no caminho de validação.
+ * <p>
+ * A chave é escolhida pelo {@code kid} do header, com uma consulta a um mapa: tokens com {@code kid} usam a chave
+ * correspondente do chaveiro ({@link #updateKeys(String, Collection)}), e tokens sem {@code kid} usam
+ * {@code jwt.secret}. O chaveiro aceita chaves HMAC e chaves públicas RSA, EC e Ed25519/Ed448 ({@link JwsVerifiers}).
+ * Várias chaves podem estar ativas ao mesmo tempo durante uma rotação. Cada troca publica um novo estado completo
+ * (os verificadores de todas as chaves já inicializados) com uma única escrita volátil.
+ * <p>
+ * {@link #verify(String)} verifica tokens HMAC, RSA, ECDSA e EdDSA sem lançar exceções nos casos comuns de falha
+ * (estrutura inválida, algoritmo incompatível, assinatura incorreta, token expirado).
+ * Tokens com headers pouco usuais ({@code crit}, {@code zip}, {@code b64}) são delegados ao jjwt.
+ */
+@Component
+@Slf4j
+public class JwtVerifier {
+
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .enable(StreamReadFeature.STRICT_DUPLICATE_DETECTION)
+            .build();
+    private static final ObjectReader CLAIMS_READER = new ObjectMapper(JSON_FACTORY).readerFor(Map.class);
+
+    private volatile VerifierState state;
+
+    // Serializa as trocas de segredo e de chaveiro. ReentrantLock em vez de synchronized: uma thread virtual que bloqueia
+    // dentro de um monitor prende a thread portadora (JDK 21), e as trocas poderão envolver I/O.
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    public JwtVerifier(@Value("${jwt.secret}") String secret) {
+        this.state = VerifierState.of(KeyState.secret(secret), Map.of(), 0);
+    }
+
+    /**
+     * Verifica a estrutura, a assinatura e a expiração do token e devolve suas claims.
+     *
+     * @param token o token JWT a ser verificado
+     * @return as claims contidas no token
+     * @throws JwtException se o token for malformado, tiver assinatura inválida ou estiver expirado
+     */
+    public Claims parseClaims(String token) {
+        return state.parser().parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * Verifica a estrutura, a assinatura e a janela de validade ({@code exp}/{@code nbf}) do token
+     * sem lançar exceções nos casos comuns de falha.
+     * <p>
+     * O resultado é válido quando o token é autêntico; as regras de negócio sobre as claims
+     * são responsabilidade de {@link JwtValidationService}.
+     *
+     * @param token o token JWT a ser verificado
+     * @return as claims do token, ou a rejeição com o motivo
+     */
+    public ValidationResult verify(String token) {
+        VerifierState current = state;
+        int headerEnd = token == null ? -1 : token.indexOf('.');
+        int payloadEnd = payloadEnd(token, headerEnd);
+        if (payloadEnd < 0) {
+            return ValidationResult.rejected(RejectionReason.MALFORMED);
+        }
+        HeaderInfo headerInfo = readHeader(token, headerEnd, payloadEnd);
+        if (headerInfo == null) {
+            return ValidationResult.rejected(RejectionReason.MALFORMED);
+        }
+        KeyState key = current.keyFor(headerInfo.keyId());
+        if (key == null) {
+            return ValidationResult.rejected(RejectionReason.UNKNOWN_KEY);
+        }
+        JwsVerifiers.Verifier verifier = key.verifiers().get(headerInfo.algorithm());
+        if (verifier == null) {
+            return ValidationResult.rejected(RejectionReason.UNSUPPORTED_ALGORITHM);
+        }
+        if (headerInfo.requiresFullParser()) {
+            return verifyWithParser(current, token);
+        }
+        RejectionReason rejection = checkSignature(verifier, token, payloadEnd);
+        if (rejection != null) {
+            return ValidationResult.rejected(rejection);
+        }
+
+        Claims claims = readClaims(Base64Url.decode(token, headerEnd + 1, payloadEnd));
+        if (claims == null) {
+            return ValidationResult.rejected(RejectionReason.MALFORMED);
+        }
+        return checkValidityWindow(claims);
+    }
+
+    /**
+     * Como {@link #verify(String)}, mas devolve o payload decodificado do base64url (o JSON assinado, byte a byte)
+     * em vez de montar as claims: a janela de validade é conferida lendo só {@code exp} e {@code nbf} com o parser
+     * de streaming, que percorre o documento inteiro e rejeita JSON inválido como a leitura das claims.
+     *
+     * @param token o token JWT a ser verificado
+     * @return o payload do token, ou a rejeição com o motivo
+     */
+    public VerifiedPayload verifyPayload(String token) {
+        VerifierState current = state;
+        int headerEnd = token == null ? -1 : token.indexOf('.');
+        int payloadEnd = payloadEnd(token, headerEnd);
+        if (payloadEnd < 0) {
+            return VerifiedPayload.rejected(RejectionReason.MALFORMED);
+        }
+        HeaderInfo headerInfo = readHeader(token, headerEnd, payloadEnd);
+        if (headerInfo == null) {
+            return VerifiedPayload.rejected(RejectionReason.MALFORMED);
+        }
+        KeyState key = current.keyFor(headerInfo.keyId());
+        if (key == null) {
+            return VerifiedPayload.rejected(RejectionReason.UNKNOWN_KEY);
+        }
+        JwsVerifiers.Verifier verifier = key.verifiers().get(headerInfo.algorithm());
+        if (verifier == null) {
+            return VerifiedPayload.rejected(RejectionReason.UNSUPPORTED_ALGORITHM);
+        }
+        if (headerInfo.requiresFullParser()) {
+            return VerifiedPayload.of(verifyWithParser(current, token));
+        }
+        RejectionReason rejection = checkSignature(verifier, token, payloadEnd);
+        if (rejection != null) {
+            return VerifiedPayload.rejected(rejection);
+        }
+
+        byte[] payload = Base64Url.decode(token, headerEnd + 1, payloadEnd);
+        VerifiedPayload scanned = scanValidityWindow(payload);
+        if (scanned != null) {
+            return scanned;
+        }
+        // Claims registradas com tipo inesperado: o jjwt decide, como em verify.
+        Claims claims = readClaims(payload);
+        return claims == null
+                ? VerifiedPayload.rejected(RejectionReason.MALFORMED)
+                : VerifiedPayload.of(checkValidityWindow(claims));
+    }
+
+    /**
+     * Substitui o segredo usado na verificação de tokens sem {@code kid}. O novo estado é construído por completo
+     * antes de ser publicado, de modo que validações em andamento continuam usando o anterior.
+     *
+     * @param secret o novo segredo HMAC
+     */
+    public void updateSecret(String secret) {
+        KeyState defaultKey = KeyState.secret(secret);
+        updateLock.lock();
+        try {
+            VerifierState current = state;
+            this.state = VerifierState.of(defaultKey, current.sources(), current.generation() + 1);
+        } finally {
+            updateLock.unlock();
+        }
+        log.info("Segredo de verificação do JWT atualizado.");
+    }
+
+    /**
+     * Substitui as chaves de uma fonte do chaveiro (o arquivo de {@link KeyRingWatcher}, o JWKS de
+     * {@link JwksRefresher}): as chaves usadas na verificação de tokens com {@code kid}. Como em
+     * {@link #updateSecret(String)}, o estado é construído por completo antes de ser publicado; validações em
+     * andamento terminam com o chaveiro anterior, sem esperar.
+     * <p>
+     * Chaves iguais às que a fonte já tinha (mesmo {@code kid} e mesmos parâmetros) são reaproveitadas com os
+     * verificadores já montados, sem converter a chave de novo. Chaves de cifragem ({@code "use":"enc"}) são ignoradas.
+     *
+     * @param source o nome da fonte; as chaves das demais fontes são mantidas
+     * @param jwks   as chaves, cada uma com {@code kid}; o {@code alg} da chave, se presente, restringe o algoritmo
+     * @throws IllegalArgumentException se uma chave não tiver {@code kid}, repetir um {@code kid} (nesta ou em outra
+     *                                  fonte), for uma chave privada ou não servir para nenhum algoritmo
+     */
+    public void updateKeys(String source, Collection<? extends Jwk<?>> jwks) {
+        updateLock.lock();
+        try {
+            VerifierState current = state;
+            Map<String, KeyState> previous = current.sources().getOrDefault(source, Map.of());
+            Map<String, KeyState> keys = new HashMap<>();
+            for (Jwk<?> jwk : jwks) {
+                if ("enc".equals(jwk.get("use"))) {
+                    continue;
+                }
+                String kid = jwk.getId();
+                if (kid == null || kid.isEmpty()) {
+                    throw new IllegalArgumentException("Chave sem kid no chaveiro");
+                }
+                KeyState cached = previous.get(kid);
+                KeyState key = cached != null && jwk.equals(cached.jwk()) ? cached : KeyState.of(jwk);
+                if (keys.put(kid, key) != null) {
+                    throw new IllegalArgumentException("kid repetido no chaveiro: " + kid);
+                }
+            }
+            Map<String, Map<String, KeyState>> sources = new HashMap<>(current.sources());
+            sources.put(source, keys);
+            this.state = VerifierState.of(current.defaultKey(), sources, current.generation() + 1);
+            log.info("Chaveiro de verificação do JWT atualizado ({}): {} chave(s) {}.", source, keys.size(), keys.keySet());
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Algoritmos ({@code alg}) aceitos por alguma das chaves atuais.
+     *
+     * @return lista imutável com os identificadores JWA aceitos
+     */
+    public List<String> algorithms() {
+        return state.algorithms();
+    }
+
+    /**
+     * Geração do estado de verificação, incrementada a cada troca de segredo ou de chaveiro.
+     * Permite que resultados guardados em cache sejam descartados após uma rotação.
+     *
+     * @return a geração atual
+     */
+    public long generation() {
+        return state.generation();
+    }
+
+    /**
+     * Lê o {@code kid} do header, sem verificar o token; usado quando a verificação devolve
+     * {@link RejectionReason#UNKNOWN_KEY}.
+     *
+     * @param token o token JWT
+     * @return o {@code kid}, ou null se o token for malformado ou não tiver {@code kid}
+     */
+    public String keyId(String token) {
+        int headerEnd = token == null ? -1 : token.indexOf('.');
+        int payloadEnd = payloadEnd(token, headerEnd);
+        HeaderInfo headerInfo = payloadEnd < 0 ? null : readHeader(token, headerEnd, payloadEnd);
+        return headerInfo == null ? null : headerInfo.keyId();
+    }
+
+    /**
+     * @param keyId um {@code kid}
+     * @return true se o chaveiro tiver uma chave com o {@code kid}
+     */
+    public boolean hasKey(String keyId) {
+        return state.keys().containsKey(keyId);
+    }
+
+    // Fim do segmento do payload se o token tiver exatamente três segmentos não vazios (a assinatura é conferida
+    // depois), ou -1.
+    private static int payloadEnd(String token, int headerEnd) {
+        int payloadEnd = headerEnd < 0 ? -1 : token.indexOf('.', headerEnd + 1);
+        if (headerEnd <= 0 || payloadEnd <= headerEnd + 1 || token.indexOf('.', payloadEnd + 1) >= 0) {
+            return -1;
+        }
+        return payloadEnd;
+    }
+
+    // Devolve o motivo da rejeição, ou null se a assinatura conferir.
+    private static RejectionReason checkSignature(JwsVerifiers.Verifier verifier, String token, int payloadEnd) {
+        byte[] signature = Base64Url.decode(token, payloadEnd + 1, token.length());
+        if (signature == null || signature.length == 0) {
+            return RejectionReason.MALFORMED;
+        }
+        byte[] signingInput = new byte[payloadEnd];
+        for (int i = 0; i < payloadEnd; i++) {
+            // Os segmentos já foram validados como base64url, portanto são ASCII.
+            signingInput[i] = (byte) token.charAt(i);
+        }
+        if (!verifier.verify(signingInput, signature)) {
+            return RejectionReason.BAD_SIGNATURE;
+        }
+        return null;
+    }
+
+    // Decodifica e lê o header; null se o header (inclusive um kid que não seja texto) ou o alfabeto do payload
+    // forem inválidos.
+    private static HeaderInfo readHeader(String token, int headerEnd, int payloadEnd) {
+        byte[] header = Base64Url.decode(token, 0, headerEnd);
+        if (header == null || !Base64Url.isValid(token, headerEnd + 1, payloadEnd)) {
+            return null;
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(header)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            String algorithm = null;
+            String keyId = null;
+            boolean requiresFullParser = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "alg" -> {
+                        if (value != JsonToken.VALUE_STRING) {
+                            return null;
+                        }
+                        algorithm = parser.getText();
+                    }
+                    case "kid" -> {
+                        if (value != JsonToken.VALUE_STRING) {
+                            return null;
+                        }
+                        keyId = parser.getText();
+                    }
+                    case "crit", "zip", "b64" -> requiresFullParser = true;
+                    default -> parser.skipChildren();
+                }
+            }
+            if (parser.currentToken() != JsonToken.END_OBJECT || parser.nextToken() != null || algorithm == null) {
+                return null;
+            }
+            return new HeaderInfo(algorithm, keyId, requiresFullParser);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static Claims readClaims(byte[] payload) {
+        try {
+            Map<String, ?> map = CLAIMS_READER.readValue(payload);
+            return Jwts.claims().add(map).build();
+        } catch (IOException | RuntimeException e) {
+            // Só alcançável com payloads assinados pela própria chave: não é um caminho quente.
+            return null;
+        }
+    }
+
+    /**
+     * Lê {@code exp} e {@code nbf} do payload sem montar o mapa de claims.
+     *
+     * @return o payload válido, a rejeição, ou null se alguma claim registrada tiver tipo diferente do usual
+     * (datas numéricas; {@code iss}, {@code sub}, {@code jti} e {@code aud} texto)
+     */
+    private static VerifiedPayload scanValidityWindow(byte[] payload) {
+        long expiresAt = Long.MAX_VALUE;
+        long notBefore = Long.MIN_VALUE;
+        String jwtId = null;
+        try (JsonParser parser = JSON_FACTORY.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return VerifiedPayload.rejected(RejectionReason.MALFORMED);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    // Como o jjwt: NumericDate em segundos inteiros.
+                    case "exp" -> {
+                        if (!value.isNumeric()) {
+                            return null;
+                        }
+                        expiresAt = secondsToMillis(parser.getValueAsLong());
+                    }
+                    case "nbf" -> {
+                        if (!value.isNumeric()) {
+                            return null;
+                        }
+                        notBefore = secondsToMillis(parser.getValueAsLong());
+                    }
+                    case "iat" -> {
+                        if (!value.isNumeric()) {
+                            return null;
+                        }
+                    }
+                    case "jti" -> {
+                        if (value != JsonToken.VALUE_STRING) {
+                            return null;
+                        }
+                        jwtId = parser.getText();
+                    }
+                    case "iss", "sub", "aud" -> {
+                        if (value != JsonToken.VALUE_STRING) {
+                            return null;
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+            if (parser.currentToken() != JsonToken.END_OBJECT || parser.nextToken() != null) {
+                return VerifiedPayload.rejected(RejectionReason.MALFORMED);
+            }
+        } catch (IOException e) {
+            return VerifiedPayload.rejected(RejectionReason.MALFORMED);
+        }
+
+        long now = System.currentTimeMillis();
+        if (now > expiresAt) {
+            return VerifiedPayload.rejected(RejectionReason.EXPIRED);
+        }
+        if (now < notBefore) {
+            return VerifiedPayload.rejected(RejectionReason.NOT_YET_VALID);
+        }
+        return VerifiedPayload.of(payload, expiresAt, jwtId);
+    }
+
+    // Satura em vez de dar a volta: um exp enorme não pode virar uma data passada, nem um nbf enorme uma data
+    // passada que dispense a espera.
+    private static long secondsToMillis(long seconds) {
+        if (seconds > Long.MAX_VALUE / 1000) {
+            return Long.MAX_VALUE;
+        }
+        if (seconds < Long.MIN_VALUE / 1000) {
+            return Long.MIN_VALUE;
+        }
+        return seconds * 1000;
+    }
+
+    private static ValidationResult checkValidityWindow(Claims claims) {
+        long now = System.currentTimeMillis();
+        Date expiration = claims.getExpiration();
+        if (expiration != null && now > expiration.getTime()) {
+            return ValidationResult.rejected(RejectionReason.EXPIRED);
+        }
+        Date notBefore = claims.getNotBefore();
+        if (notBefore != null && now < notBefore.getTime()) {
+            return ValidationResult.rejected(RejectionReason.NOT_YET_VALID);
+        }
+        return ValidationResult.valid(claims);
+    }
+
+    private static ValidationResult verifyWithParser(VerifierState current, String token) {
+        try {
+            return ValidationResult.valid(current.parser().parseSignedClaims(token).getPayload());
+        } catch (ExpiredJwtException e) {
+            return ValidationResult.rejected(RejectionReason.EXPIRED);
+        } catch (PrematureJwtException e) {
+            return ValidationResult.rejected(RejectionReason.NOT_YET_VALID);
+        } catch (SignatureException e) {
+            return ValidationResult.rejected(RejectionReason.BAD_SIGNATURE);
+        } catch (UnsupportedJwtException e) {
+            return ValidationResult.rejected(RejectionReason.UNSUPPORTED_ALGORITHM);
+        } catch (JwtException e) {
+            return ValidationResult.rejected(RejectionReason.MALFORMED);
+        }
+    }
+
+    private record HeaderInfo(String algorithm, String keyId, boolean requiresFullParser) {
+    }
+
+    /**
+     * Estado imutável de verificação: a chave de {@code jwt.secret}, as chaves do chaveiro por fonte e por
+     * {@code kid}, o parser do jjwt (que escolhe a chave pelo mesmo critério) e a união dos algoritmos aceitos.
+     */
+    private record VerifierState(KeyState defaultKey, Map<String, Map<String, KeyState>> sources,
+                                 Map<String, KeyState> keys, JwtParser parser, List<String> algorithms,
+                                 long generation) {
+
+        static VerifierState of(KeyState defaultKey, Map<String, Map<String, KeyState>> sources, long generation) {
+            Map<String, KeyState> byKid = new HashMap<>();
+            Map<String, Map<String, KeyState>> bySource = new HashMap<>();
+            sources.forEach((source, keys) -> {
+                bySource.put(source, Map.copyOf(keys));
+                keys.forEach((kid, key) -> {
+                    if (byKid.put(kid, key) != null) {
+                        throw new IllegalArgumentException("kid " + kid + " presente em mais de uma fonte do chaveiro");
+                    }
+                });
+            });
+            Set<String> algorithms = new LinkedHashSet<>(defaultKey.verifiers().keySet());
+            byKid.values().forEach(key -> algorithms.addAll(key.verifiers().keySet()));
+            Map<String, KeyState> keys = Map.copyOf(byKid);
+            JwtParser parser = Jwts.parser()
+                    .keyLocator(header -> {
+                        KeyState key = header instanceof ProtectedHeader protectedHeader
+                                ? (protectedHeader.getKeyId() == null ? defaultKey : keys.get(protectedHeader.getKeyId()))
+                                : null;
+                        return key == null ? null : key.key();
+                    })
+                    .build();
+            return new VerifierState(defaultKey, Map.copyOf(bySource), keys, parser, List.copyOf(algorithms), generation);
+        }
+
+        // Chave do token: a do kid, ou a de jwt.secret se o header não tiver kid; null se o kid for desconhecido.
+        KeyState keyFor(String keyId) {
+            return keyId == null ? defaultKey : keys.get(keyId);
+        }
+    }
+
+    /**
+     * Uma chave do chaveiro, a JWK de onde veio (null para {@code jwt.secret}) e os verificadores por algoritmo
+     * compatível com ela.
+     */
+    private record KeyState(Key key, Jwk<?> jwk, Map<String, JwsVerifiers.Verifier> verifiers) {
+
+        static KeyState secret(String secret) {
+            SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+            return new KeyState(key, null, JwsVerifiers.forKey(key, null));
+        }
+
+        static KeyState of(Jwk<?> jwk) {
+            if (jwk instanceof PrivateJwk<?, ?, ?>) {
+                throw new IllegalArgumentException("Chave privada no chaveiro (kid " + jwk.getId() + "): publique só a chave pública");
+            }
+            Key key = jwk.toKey();
+            if (key instanceof SecretKey secretKey) {
+                // Mesmo mínimo de Keys.hmacShaKeyFor: 256 bits.
+                key = Keys.hmacShaKeyFor(secretKey.getEncoded());
+            }
+            Map<String, JwsVerifiers.Verifier> verifiers = JwsVerifiers.forKey(key, jwk.getAlgorithm());
+            if (verifiers.isEmpty()) {
+                throw new IllegalArgumentException("Chave " + jwk.getType() + " (kid " + jwk.getId()
+                        + ") incompatível com os algoritmos suportados" + (jwk.getAlgorithm() == null ? "" : " ou com " + jwk.getAlgorithm()));
+            }
+            return new KeyState(key, jwk, verifiers);
+        }
+    }
+}
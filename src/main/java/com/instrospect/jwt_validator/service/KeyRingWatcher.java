@@ -0,0 +1,164 @@
+package com.instrospect.jwt_validator.service;
+
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Carrega o chaveiro de {@link JwtVerifier} (as chaves escolhidas pelo {@code kid} do token) de {@code jwt.keys.path}
+ * e o recarrega quando o arquivo ou o diretório muda, sem reiniciar a aplicação.
+ * <p>
+ * O caminho é um JWK Set ({@code {"keys":[{"kty":"oct","kid":"2026-10","k":"<base64url>"}]}}) ou um diretório
+ * cujos arquivos {@code .json} são JWK Sets, unidos em um único chaveiro (um arquivo por chave facilita a rotação:
+ * publica-se a nova, e a antiga é removida quando os tokens assinados com ela expiram). Diretórios montados a partir
+ * de Secrets do Kubernetes funcionam: a troca atômica do link {@code ..data} gera os eventos observados aqui.
+ * <p>
+ * Na inicialização, um chaveiro inválido impede a aplicação de subir. Numa recarga, o erro (arquivo pela metade,
+ * {@code kid} repetido) é registrado e o chaveiro anterior continua em uso; um conteúdo igual ao atual não gera
+ * troca, para não invalidar o cache de resultados à toa.
+ */
+@Component
+@Slf4j
+public class KeyRingWatcher {
+
+    // Editores e o kubelet geram vários eventos por gravação: espera a rajada terminar antes de recarregar.
+    private static final long SETTLE_MILLIS = 100;
+    // Fonte destas chaves no chaveiro de JwtVerifier, ao lado das do JWKS remoto.
+    static final String SOURCE = "file";
+
+    private final JwtVerifier jwtVerifier;
+    private final Path path;
+    private final WatchService watchService;
+    // Serializa as recargas (o observador e chamadas diretas) e protege current. ReentrantLock, como em JwtVerifier.
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private Map<String, Jwk<?>> current;
+
+    public KeyRingWatcher(
+            JwtVerifier jwtVerifier,
+            @Value("${jwt.keys.path:}") String path,
+            @Value("${jwt.keys.watch:true}") boolean watch) throws IOException {
+        this.jwtVerifier = jwtVerifier;
+        if (path.isBlank()) {
+            this.path = null;
+            this.watchService = null;
+            return;
+        }
+        this.path = Path.of(path).toAbsolutePath();
+        this.current = load(this.path);
+        jwtVerifier.updateKeys(SOURCE, current.values());
+
+        if (watch) {
+            Path directory = Files.isDirectory(this.path) ? this.path : this.path.getParent();
+            watchService = directory.getFileSystem().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            Thread thread = new Thread(this::watch, "jwt-key-ring-watcher");
+            thread.setDaemon(true);
+            thread.start();
+        } else {
+            watchService = null;
+        }
+    }
+
+    /**
+     * Lê o chaveiro de novo e o publica se tiver mudado. Chamado pelo observador a cada mudança no caminho.
+     *
+     * @return true se o chaveiro foi trocado
+     */
+    public boolean reload() {
+        if (path == null) {
+            return false;
+        }
+        Map<String, Jwk<?>> loaded;
+        try {
+            loaded = load(path);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Chaveiro em {} não foi recarregado; as chaves anteriores continuam em uso: {}", path, e.toString());
+            return false;
+        }
+        reloadLock.lock();
+        try {
+            if (loaded.equals(current)) {
+                return false;
+            }
+            jwtVerifier.updateKeys(SOURCE, loaded.values());
+            current = loaded;
+            return true;
+        } catch (IllegalArgumentException e) {
+            log.warn("Chaveiro em {} rejeitado; as chaves anteriores continuam em uso: {}", path, e.getMessage());
+            return false;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Thread.sleep(SETTLE_MILLIS);
+                key.pollEvents();
+                boolean valid = key.reset();
+                reload();
+                if (!valid) {
+                    log.warn("Diretório do chaveiro {} deixou de existir; as mudanças não serão mais observadas.", path);
+                    return;
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // Encerramento da aplicação.
+        }
+    }
+
+    // Um arquivo: o JWK Set. Um diretório: a união dos JWK Sets dos arquivos .json, em ordem de nome.
+    private static Map<String, Jwk<?>> load(Path path) throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (Files.isDirectory(path)) {
+            try (Stream<Path> entries = Files.list(path)) {
+                entries.filter(file -> file.getFileName().toString().endsWith(".json"))
+                        .filter(Files::isRegularFile)
+                        .sorted()
+                        .forEach(files::add);
+            }
+        } else {
+            files.add(path);
+        }
+
+        Map<String, Jwk<?>> keys = new LinkedHashMap<>();
+        for (Path file : files) {
+            JwkSet jwkSet = Jwks.setParser().build().parse(Files.readString(file, StandardCharsets.UTF_8));
+            for (Jwk<?> jwk : jwkSet.getKeys()) {
+                if (keys.put(jwk.getId(), jwk) != null) {
+                    throw new IllegalArgumentException("kid repetido no chaveiro: " + jwk.getId() + " (" + file + ")");
+                }
+            }
+        }
+        return keys;
+    }
+
+    @PreDestroy
+    void shutdown() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+}
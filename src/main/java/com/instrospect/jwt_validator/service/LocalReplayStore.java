@@ -0,0 +1,254 @@
+package com.instrospect.jwt_validator.service;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link ReplayStore} na memória do nó: uma roda de tempo de {@code buckets + 1} fatias, cada uma com os {@code jti}s
+ * cujo {@code exp} cai num intervalo de {@code tempo de vida máximo / buckets}.
+ * <p>
+ * Quando o relógio passa do fim de uma fatia, ela é descartada inteira (troca de referência, O(1)), sem percorrer os
+ * {@code jti}s: todos os tokens daquela fatia já expiraram e seriam rejeitados antes de chegar aqui. Um {@code jti} é
+ * lembrado até o fim da fatia do seu {@code exp}, no máximo uma fatia a mais que o necessário; sem {@code exp}, ou
+ * com um {@code exp} além do tempo de vida máximo, vai para a última fatia da roda.
+ * <p>
+ * Um token repetido tem o mesmo {@code exp} e cai na mesma fatia: a consulta procura o {@code jti} só na fatia do seu
+ * {@code exp} e nas fatias que ainda guardam {@code jti}s levados para a última fatia, sem percorrer a roda inteira.
+ * Com tokens dentro do tempo de vida máximo, o custo da consulta não depende do número de fatias.
+ * <p>
+ * Cada fatia guarda impressões de 64 bits dos {@code jti}s num array de primitivos com endereçamento aberto (8 bytes
+ * por posição, sem um objeto por {@code jti}), para que os {@code jti}s lembrados por minutos não pesem na coleta de
+ * lixo. Um {@code jti} novo só é tomado por repetido se a sua impressão colidir com a de outro ainda lembrado
+ * (probabilidade da ordem de n/2^64).
+ * <p>
+ * Os {@code jti}s são distribuídos pela impressão entre {@code shards} rodas independentes, cada uma com o seu
+ * {@link ReentrantLock}: validações simultâneas em núcleos diferentes quase nunca disputam o mesmo lock.
+ */
+public final class LocalReplayStore implements ReplayStore {
+
+    private final long bucketSeconds;
+    private final int buckets;
+    private final Shard[] shards;
+    private final int shardMask;
+
+    /**
+     * @param maxTokenLifetime o maior tempo de vida de um token de uso único ({@code exp - iat}); no mínimo 1 segundo
+     * @param buckets          o número de fatias do tempo de vida; no mínimo 1
+     * @param shards           o número de rodas independentes, arredondado para uma potência de dois; no mínimo 1
+     * @throws IllegalArgumentException se algum valor estiver abaixo do mínimo
+     */
+    public LocalReplayStore(Duration maxTokenLifetime, int buckets, int shards) {
+        if (maxTokenLifetime.getSeconds() < 1 || buckets < 1 || shards < 1) {
+            throw new IllegalArgumentException("Tempo de vida (mínimo 1s), fatias e shards devem ser positivos");
+        }
+        this.bucketSeconds = Math.ceilDiv(maxTokenLifetime.getSeconds(), buckets);
+        this.buckets = buckets;
+        int count = Integer.highestOneBit(Math.min(shards, 1 << 16) * 2 - 1);
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            this.shards[i] = new Shard(buckets + 1);
+        }
+        this.shardMask = count - 1;
+    }
+
+    @Override
+    public boolean markUsed(String jwtId, long expiresAtSeconds) {
+        return markUsed(jwtId, expiresAtSeconds, System.currentTimeMillis() / 1000);
+    }
+
+    /**
+     * Verifica se o {@code jti} já foi registrado, sem registrá-lo.
+     *
+     * @param jwtId            o {@code jti} do token
+     * @param expiresAtSeconds o {@code exp} do token, em segundos
+     * @return true se o {@code jti} ainda é lembrado
+     */
+    public boolean isUsed(String jwtId, long expiresAtSeconds) {
+        return access(jwtId, expiresAtSeconds, System.currentTimeMillis() / 1000, false);
+    }
+
+    // Com o relógio explícito, para os testes.
+    boolean markUsed(String jwtId, long expiresAtSeconds, long nowSeconds) {
+        return !access(jwtId, expiresAtSeconds, nowSeconds, true);
+    }
+
+    // Devolve se o jti já era lembrado; com record, registra-o quando não era.
+    private boolean access(String jwtId, long expiresAtSeconds, long nowSeconds, boolean record) {
+        long current = nowSeconds / bucketSeconds;
+        long bucket = Math.max(expiresAtSeconds / bucketSeconds, current);
+        boolean clamped = bucket > current + buckets;
+        if (clamped) {
+            bucket = current + buckets;
+        }
+        long key = fingerprint(jwtId);
+        Shard shard = shards[(int) (key >>> 48) & shardMask];
+        shard.lock.lock();
+        try {
+            shard.advance(current);
+            if (shard.contains(bucket, key)) {
+                return true;
+            }
+            if (record) {
+                shard.add(bucket, key, clamped);
+            }
+            return false;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * @return o número de {@code jti}s lembrados, inclusive os das fatias que ainda não foram descartadas
+     */
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                size += shard.size;
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return o número de rodas independentes
+     */
+    public int shards() {
+        return shards.length;
+    }
+
+    // FNV-1a de 64 bits sobre os caracteres, com a finalização do MurmurHash3 para espalhar os bits; 0 marca posição
+    // vazia nas fatias.
+    private static long fingerprint(String jwtId) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < jwtId.length(); i++) {
+            h = (h ^ jwtId.charAt(i)) * 0x100000001b3L;
+        }
+        h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+        h = (h ^ (h >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h == 0 ? 1 : h;
+    }
+
+    /**
+     * Uma roda: a posição {@code fatia % wheel.length} guarda a fatia {@code fatia}, de {@code current} até
+     * {@code current + buckets}. Só é lida e escrita com {@code lock}.
+     */
+    private static final class Shard {
+
+        final ReentrantLock lock = new ReentrantLock();
+        final Bucket[] wheel;
+        long current = Long.MIN_VALUE;
+        int size;
+        // jtis levados para a última fatia da roda (sem exp ou além do tempo de vida), ainda não descartados.
+        int clamped;
+
+        Shard(int slots) {
+            this.wheel = new Bucket[slots];
+        }
+
+        // Descarta as fatias que terminaram antes de now: no máximo uma troca de referência por posição da roda.
+        void advance(long now) {
+            if (now <= current) {
+                return;
+            }
+            if (current != Long.MIN_VALUE) {
+                long dropped = Math.min(now - current, wheel.length);
+                for (long i = 0; i < dropped; i++) {
+                    int slot = slot(current + i);
+                    if (wheel[slot] != null) {
+                        size -= wheel[slot].size;
+                        clamped -= wheel[slot].clamped;
+                        wheel[slot] = null;
+                    }
+                }
+            }
+            current = now;
+        }
+
+        // A fatia do exp e, se houver jtis levados para a última fatia, as fatias que os guardam.
+        boolean contains(long bucket, long key) {
+            Bucket own = wheel[slot(bucket)];
+            if (own != null && own.contains(key)) {
+                return true;
+            }
+            if (clamped == 0) {
+                return false;
+            }
+            for (Bucket other : wheel) {
+                if (other != null && other != own && other.clamped > 0 && other.contains(key)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void add(long bucket, long key, boolean clampedKey) {
+            int slot = slot(bucket);
+            if (wheel[slot] == null) {
+                wheel[slot] = new Bucket();
+            }
+            wheel[slot].add(key);
+            size++;
+            if (clampedKey) {
+                wheel[slot].clamped++;
+                clamped++;
+            }
+        }
+
+        private int slot(long bucket) {
+            return (int) Math.floorMod(bucket, (long) wheel.length);
+        }
+    }
+
+    /**
+     * Conjunto de impressões com sondagem linear, dobrado ao passar de 3/4 de ocupação.
+     */
+    private static final class Bucket {
+
+        private static final int MIN_CAPACITY = 16;
+
+        long[] keys = new long[MIN_CAPACITY];
+        int size;
+        int clamped;
+
+        boolean contains(long key) {
+            int mask = keys.length - 1;
+            for (int i = (int) key & mask; ; i = (i + 1) & mask) {
+                long stored = keys[i];
+                if (stored == key) {
+                    return true;
+                }
+                if (stored == 0) {
+                    return false;
+                }
+            }
+        }
+
+        void add(long key) {
+            if (size >= keys.length / 4 * 3) {
+                long[] previous = keys;
+                keys = new long[previous.length * 2];
+                for (long stored : previous) {
+                    if (stored != 0) {
+                        insert(keys, stored);
+                    }
+                }
+            }
+            insert(keys, key);
+            size++;
+        }
+
+        private static void insert(long[] keys, long key) {
+            int mask = keys.length - 1;
+            int i = (int) key & mask;
+            while (keys[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+        }
+    }
+}
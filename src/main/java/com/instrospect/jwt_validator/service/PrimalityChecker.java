@@ -0,0 +1,37 @@
+package com.instrospect.jwt_validator.service;
+
+import com.instrospect.jwt_validator.util.PrimeSieve;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Componente responsável pelo teste de primalidade da claim Seed.
+ * <p>
+ * Seeds pequenas, a maior parte do tráfego, são respondidas por um {@link PrimeSieve} construído na
+ * inicialização dentro do orçamento {@code jwt.seed.sieve-memory}; as demais usam Miller–Rabin determinístico.
+ */
+@Component
+@Slf4j
+public class PrimalityChecker {
+
+    private final PrimeSieve sieve;
+
+    public PrimalityChecker(@Value("${jwt.seed.sieve-memory:1MB}") DataSize sieveMemory) {
+        long start = System.nanoTime();
+        this.sieve = new PrimeSieve(sieveMemory.toBytes());
+        log.info("Crivo de primos construído: {} bytes, cobre números abaixo de {} ({} ms).",
+                sieve.memoryBytes(), sieve.limit(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Verifica se um número é primo.
+     *
+     * @param number o número a ser verificado
+     * @return true se o número for primo, false caso contrário
+     */
+    public boolean isPrime(long number) {
+        return sieve.isPrime(number);
+    }
+}
@@ -0,0 +1,88 @@
+package com.instrospect.jwt_validator.service;
+
+/**
+ * Motivos pelos quais um token JWT pode ser rejeitado.
+ */
+public enum RejectionReason {
+
+    /**
+     * Estrutura inválida: número de segmentos, base64url ou JSON do header/payload.
+     */
+    MALFORMED,
+
+    /**
+     * O token excede o tamanho máximo configurado (jwt.prescreen.max-token-length).
+     */
+    TOKEN_TOO_LARGE,
+
+    /**
+     * Algoritmo do header ausente, {@code none} ou incompatível com a chave configurada.
+     */
+    UNSUPPORTED_ALGORITHM,
+
+    /**
+     * O {@code kid} do header não corresponde a nenhuma chave do chaveiro.
+     */
+    UNKNOWN_KEY,
+
+    /**
+     * A assinatura não confere com a chave configurada.
+     */
+    BAD_SIGNATURE,
+
+    /**
+     * A claim {@code exp} já passou.
+     */
+    EXPIRED,
+
+    /**
+     * A claim {@code nbf} ainda não foi atingida.
+     */
+    NOT_YET_VALID,
+
+    /**
+     * O {@code jti} ou o hash do token está na lista de revogação.
+     */
+    REVOKED,
+
+    /**
+     * O token não contém exatamente as claims Name, Role e Seed.
+     */
+    CLAIM_COUNT,
+
+    /**
+     * A claim Name contém dígitos ou excede o tamanho máximo.
+     */
+    NAME_INVALID,
+
+    /**
+     * A claim Role não é Admin, Member ou External.
+     */
+    ROLE_INVALID,
+
+    /**
+     * A claim Seed não é um número inteiro.
+     */
+    SEED_NOT_NUMERIC,
+
+    /**
+     * A claim Seed não é um número primo.
+     */
+    SEED_NOT_PRIME,
+
+    /**
+     * Token de uso único sem {@code exp}, ou com um {@code exp} além de {@code jwt.replay.max-token-lifetime}: o
+     * {@code jti} não seria lembrado por todo o tempo em que o token vale.
+     */
+    LIFETIME_EXCEEDED,
+
+    /**
+     * O {@code jti} do token de uso único já foi usado ({@code jwt.replay.enabled}).
+     */
+    REPLAYED,
+
+    /**
+     * Erro inesperado durante a validação.
+     */
+    INTERNAL_ERROR
+}
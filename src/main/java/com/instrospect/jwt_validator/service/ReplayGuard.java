@@ -0,0 +1,95 @@
+package com.instrospect.jwt_validator.service;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * Recusa a segunda apresentação de um token de uso único: com {@code jwt.replay.enabled}, cada token aceito por
+ * {@link JwtValidationService#validate(String)} que traz um {@code jti} tem o uso registrado, e o mesmo {@code jti}
+ * é rejeitado como {@link RejectionReason#REPLAYED} até o {@code exp} do token. Tokens sem {@code jti} não são
+ * afetados. Em {@link StreamValidationService}, o uso é registrado na ordem das linhas, depois da verificação em
+ * paralelo.
+ * <p>
+ * Um {@code jti} só é lembrado por {@code jwt.replay.max-token-lifetime}: um token com {@code jti} e sem {@code exp},
+ * ou com um {@code exp} mais distante, continuaria válido depois de esquecido, e é rejeitado como
+ * {@link RejectionReason#LIFETIME_EXCEEDED}.
+ * <p>
+ * O registro fica em um {@link LocalReplayStore} dimensionado por {@code jwt.replay.max-token-lifetime} e
+ * {@code jwt.replay.buckets}, dividido em {@code jwt.replay.shards} partes. Se houver um bean {@link ReplayStore}, ele
+ * é o registro compartilhado entre os nós e decide o primeiro uso: o registro local só descarta sem consultá-lo os
+ * {@code jti}s que este nó já viu, e só registra um {@code jti} depois da resposta do compartilhado. Se o registro
+ * compartilhado falhar, o token é rejeitado (erro interno) em vez de aceito sem a garantia de uso único, e uma nova
+ * tentativa volta a consultá-lo.
+ */
+@Component
+public class ReplayGuard {
+
+    private final boolean enabled;
+    private final long maxTokenLifetimeSeconds;
+    private final LocalReplayStore local;
+    private final ReplayStore shared;
+
+    public ReplayGuard(
+            ObjectProvider<ReplayStore> shared,
+            @Value("${jwt.replay.enabled:false}") boolean enabled,
+            @Value("${jwt.replay.max-token-lifetime:1h}") Duration maxTokenLifetime,
+            @Value("${jwt.replay.buckets:16}") int buckets,
+            @Value("${jwt.replay.shards:0}") int shards) {
+        this.enabled = enabled;
+        this.maxTokenLifetimeSeconds = maxTokenLifetime.getSeconds();
+        this.local = enabled ? new LocalReplayStore(maxTokenLifetime, buckets,
+                shards > 0 ? shards : 4 * Runtime.getRuntime().availableProcessors()) : null;
+        this.shared = enabled ? shared.getIfAvailable() : null;
+    }
+
+    /**
+     * @return true se {@code jwt.replay.enabled}
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Registra o uso do token, se ele tiver {@code jti}.
+     *
+     * @param claims as claims do token já aceito
+     * @return null se o token pode ser usado (sem {@code jti}, com a guarda desligada ou no primeiro uso do
+     * {@code jti}); {@link RejectionReason#REPLAYED} se o {@code jti} já foi usado;
+     * {@link RejectionReason#LIFETIME_EXCEEDED} se o token vale por mais tempo do que o {@code jti} seria lembrado
+     * @throws UncheckedIOException se o registro compartilhado não puder ser consultado
+     */
+    public RejectionReason use(Claims claims) {
+        String jwtId = claims.getId();
+        if (!enabled || jwtId == null) {
+            return null;
+        }
+        Date expiration = claims.getExpiration();
+        long nowSeconds = System.currentTimeMillis() / 1000;
+        if (expiration == null || expiration.getTime() / 1000 > nowSeconds + maxTokenLifetimeSeconds) {
+            return RejectionReason.LIFETIME_EXCEEDED;
+        }
+        long expiresAt = expiration.getTime() / 1000;
+        if (shared == null) {
+            return local.markUsed(jwtId, expiresAt) ? null : RejectionReason.REPLAYED;
+        }
+        if (local.isUsed(jwtId, expiresAt)) {
+            return RejectionReason.REPLAYED;
+        }
+        boolean firstUse;
+        try {
+            firstUse = shared.markUsed(jwtId, expiresAt);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Registro compartilhado de jti indisponível: " + shared, e);
+        }
+        // Usado aqui ou em outro nó: as próximas apresentações neste nó são recusadas sem consultar o compartilhado.
+        local.markUsed(jwtId, expiresAt);
+        return firstUse ? null : RejectionReason.REPLAYED;
+    }
+}
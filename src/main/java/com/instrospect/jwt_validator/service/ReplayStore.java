@@ -0,0 +1,27 @@
+package com.instrospect.jwt_validator.service;
+
+import java.io.IOException;
+
+/**
+ * Registro dos {@code jti}s já usados, consultado por {@link ReplayGuard} para recusar um token de uso único
+ * apresentado pela segunda vez.
+ * <p>
+ * {@link LocalReplayStore} guarda os {@code jti}s na memória do próprio nó. Para que vários nós cooperem, declare um
+ * bean desta interface com um registro compartilhado (Redis, banco de dados): ele decide o primeiro uso, e o registro
+ * local só recusa, sem consultá-lo, os {@code jti}s que o nó já viu. A operação precisa ser atômica no registro compartilhado (por exemplo,
+ * {@code SET jti 1 NX EXAT exp} no Redis): entre dois nós que apresentam o mesmo {@code jti} ao mesmo tempo, só um
+ * pode receber true.
+ */
+public interface ReplayStore {
+
+    /**
+     * Registra o uso do {@code jti}, se ele ainda não foi usado.
+     *
+     * @param jwtId            o {@code jti} do token
+     * @param expiresAtSeconds até quando o registro precisa ser lembrado, em segundos desde a época: o {@code exp} do
+     *                         token, nunca além do tempo de vida máximo configurado
+     * @return true se é o primeiro uso; false se o {@code jti} já foi usado
+     * @throws IOException se o registro não puder ser consultado
+     */
+    boolean markUsed(String jwtId, long expiresAtSeconds) throws IOException;
+}
@@ -0,0 +1,242 @@
+package com.instrospect.jwt_validator.service;
+
+import com.instrospect.jwt_validator.service.RevocationList.Revocation;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Carrega a {@link RevocationList} de {@code jwt.revocation.path} e aplica as linhas acrescentadas ao arquivo sem
+ * relê-lo desde o início.
+ * <p>
+ * Uma entrada por linha: {@code jti <jti> [exp]} ou {@code sha256 <hash do token em hexadecimal> [exp]}, com o
+ * {@code exp} do token em segundos (sem ele, a entrada nunca expira); linhas vazias e iniciadas por {@code #} são
+ * ignoradas. O arquivo é tratado como um log só de acréscimos: a posição lida é guardada, e cada mudança aplica apenas
+ * as linhas completas novas (uma linha sem quebra final espera a próxima gravação). Se o arquivo for substituído
+ * (outro inode) ou truncado, ele é relido por inteiro e a lista é trocada de uma vez, o que também desfaz revogações.
+ * <p>
+ * Uma linha inválida é registrada e ignorada, sem impedir as demais. Cada inclusão muda a versão da lista, que faz
+ * parte da chave do cache de resultados: os resultados gravados antes ficam inacessíveis, inclusive os de validações
+ * em andamento, e o cache é esvaziado só para liberar a memória. A mesma thread compacta a lista a cada
+ * {@code jwt.revocation.compact-interval}, removendo as entradas cujo {@code exp} passou.
+ */
+@Component
+@Slf4j
+public class RevocationFeed {
+
+    // Editores e ferramentas de deploy geram vários eventos por gravação: espera a rajada terminar antes de ler.
+    private static final long SETTLE_MILLIS = 100;
+
+    private final RevocationList revocationList;
+    private final ValidationResultCache validationResultCache;
+    private final Path path;
+    private final long compactIntervalMillis;
+    private final WatchService watchService;
+    private final Thread thread;
+    // Serializa as leituras (a thread do feed e chamadas diretas) e protege a posição e a identidade do arquivo.
+    private final ReentrantLock readLock = new ReentrantLock();
+    private Object fileKey;
+    private long position;
+
+    public RevocationFeed(
+            RevocationList revocationList,
+            ValidationResultCache validationResultCache,
+            @Value("${jwt.revocation.path:}") String path,
+            @Value("${jwt.revocation.watch:true}") boolean watch,
+            @Value("${jwt.revocation.compact-interval:1m}") Duration compactInterval) throws IOException {
+        this.revocationList = revocationList;
+        this.validationResultCache = validationResultCache;
+        this.compactIntervalMillis = compactInterval.toMillis();
+        if (path.isBlank()) {
+            this.path = null;
+            this.watchService = null;
+            this.thread = null;
+            return;
+        }
+        this.path = Path.of(path).toAbsolutePath();
+        if (!Files.isRegularFile(this.path)) {
+            throw new NoSuchFileException(this.path.toString(), null, "lista de revogação (jwt.revocation.path) não encontrada");
+        }
+        update();
+
+        if (watch) {
+            watchService = this.path.getFileSystem().newWatchService();
+            this.path.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } else {
+            watchService = null;
+        }
+        if (watch || compactIntervalMillis > 0) {
+            thread = new Thread(this::run, "jwt-revocation-feed");
+            thread.setDaemon(true);
+            thread.start();
+        } else {
+            thread = null;
+        }
+    }
+
+    /**
+     * Aplica o que mudou no arquivo desde a última leitura: as linhas acrescentadas, ou o arquivo inteiro se ele
+     * foi substituído ou truncado. Chamado pela thread do feed a cada mudança.
+     *
+     * @return o número de entradas novas, ou -1 se a lista foi substituída
+     * @throws IOException se o arquivo não puder ser lido
+     */
+    public int update() throws IOException {
+        if (path == null) {
+            return 0;
+        }
+        readLock.lock();
+        try {
+            BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            } catch (NoSuchFileException e) {
+                // Removido (ou no meio de uma troca): mantém a lista até o arquivo voltar.
+                return 0;
+            }
+            boolean replaced = !Objects.equals(attributes.fileKey(), fileKey) || attributes.size() < position;
+            List<Revocation> revocations = new ArrayList<>();
+            long start = replaced ? 0 : position;
+            long end = read(start, revocations);
+            fileKey = attributes.fileKey();
+            position = end;
+            if (replaced) {
+                revocationList.replaceAll(revocations);
+                validationResultCache.invalidateAll();
+                log.info("Lista de revogação carregada de {}: {} entrada(s).", path, revocationList.size());
+                return -1;
+            }
+            int added = revocationList.add(revocations);
+            if (added > 0) {
+                validationResultCache.invalidateAll();
+                log.info("Lista de revogação atualizada: {} entrada(s) nova(s), {} no total.", added, revocationList.size());
+            }
+            return added;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    // Lê as linhas completas a partir de start; devolve a posição logo depois da última quebra de linha lida.
+    private long read(long start, List<Revocation> revocations) throws IOException {
+        long end = start;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             InputStream in = new BufferedInputStream(Channels.newInputStream(channel.position(start)))) {
+            ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+            int b;
+            while ((b = in.read()) >= 0) {
+                if (b != '\n') {
+                    line.write(b);
+                    continue;
+                }
+                parse(line.toString(StandardCharsets.UTF_8), end, revocations);
+                end += line.size() + 1;
+                line.reset();
+            }
+        }
+        return end;
+    }
+
+    private void parse(String line, long offset, List<Revocation> revocations) {
+        String entry = line.strip();
+        if (entry.isEmpty() || entry.startsWith("#")) {
+            return;
+        }
+        String[] fields = entry.split("\\s+");
+        try {
+            if (fields.length < 2 || fields.length > 3) {
+                throw new IllegalArgumentException("esperado <jti|sha256> <valor> [exp]");
+            }
+            long expiresAt = fields.length == 3 ? Long.parseLong(fields[2]) : RevocationList.NEVER_EXPIRES;
+            if (expiresAt < 0 || expiresAt > RevocationList.NEVER_EXPIRES) {
+                throw new IllegalArgumentException("exp fora do intervalo: " + fields[2]);
+            }
+            switch (fields[0]) {
+                case "jti" -> revocations.add(Revocation.ofJwtId(fields[1], expiresAt));
+                case "sha256" -> revocations.add(Revocation.ofTokenHash(fields[1], expiresAt));
+                default -> throw new IllegalArgumentException("tipo desconhecido: " + fields[0]);
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("Linha da lista de revogação na posição {} ignorada: {}", offset, e.getMessage());
+        }
+    }
+
+    // Observa o arquivo e compacta a lista nos intervalos; sem compactação, só espera eventos.
+    private void run() {
+        boolean compacting = compactIntervalMillis > 0;
+        long nextCompaction = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(compactIntervalMillis);
+        try {
+            while (true) {
+                long waitMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(nextCompaction - System.nanoTime()));
+                if (watchService == null) {
+                    Thread.sleep(waitMillis);
+                } else {
+                    WatchKey key = compacting ? watchService.poll(waitMillis, TimeUnit.MILLISECONDS) : watchService.take();
+                    if (key != null) {
+                        Thread.sleep(SETTLE_MILLIS);
+                        key.pollEvents();
+                        boolean valid = key.reset();
+                        safeUpdate();
+                        if (!valid) {
+                            log.warn("Diretório da lista de revogação {} deixou de existir; as mudanças não serão mais observadas.", path);
+                            watchService.close();
+                            return;
+                        }
+                    }
+                }
+                if (compacting && System.nanoTime() - nextCompaction >= 0) {
+                    int removed = revocationList.compact();
+                    if (removed > 0) {
+                        log.info("Lista de revogação compactada: {} entrada(s) expirada(s) removida(s).", removed);
+                    }
+                    nextCompaction = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(compactIntervalMillis);
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException | IOException e) {
+            // Encerramento da aplicação.
+        }
+    }
+
+    private void safeUpdate() {
+        try {
+            update();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Lista de revogação em {} não foi atualizada; as entradas anteriores continuam em uso: {}", path, e.toString());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws IOException {
+        if (thread != null) {
+            thread.interrupt();
+        }
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package com.instrospect.jwt_validator.service;
+
+import com.instrospect.jwt_validator.util.Base64Url;
+import com.instrospect.jwt_validator.util.BloomFilter;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tokens revogados, por {@code jti} ou pelo SHA-256 do token compacto, consultados por {@link JwtValidationService}
+ * depois da verificação da assinatura. As entradas vêm de {@link RevocationFeed}.
+ * <p>
+ * O hash é calculado sobre a forma canônica do token: o último caractere da assinatura com os bits que sobram do
+ * base64url zerados, como um emissor os gera. A verificação ignora esses bits, e sem a forma canônica um token
+ * revogado por hash voltaria a ser aceito trocando um caractere.
+ * <p>
+ * Cada entrada é guardada como uma impressão de 64 bits (os primeiros bytes do SHA-256, com o último bit indicando
+ * se é um {@code jti} ou um token) e o {@code exp} do token em segundos, em arrays de primitivos com endereçamento
+ * aberto: 12 bytes por posição, com ocupação entre 3/8 e 3/4, sem um objeto por entrada. Na frente da tabela fica um
+ * {@link BloomFilter} de ~1% de falsos positivos, que responde "não revogado" para quase todos os tokens sem tocar a
+ * tabela. Um token não revogado só é rejeitado se a sua impressão colidir com a de uma entrada (probabilidade da
+ * ordem de n/2^63).
+ * <p>
+ * As consultas não usam locks: uma única thread de escrita (protegida por um {@link ReentrantLock}) grava o
+ * {@code exp} e depois a impressão com semântica de release, e inclui a chave no filtro por último; uma consulta vê a
+ * entrada inteira ou não a vê. Quando a tabela enche, ou na compactação, uma tabela nova é montada e publicada com uma
+ * escrita volátil.
+ * <p>
+ * Entradas cujo {@code exp} já passou deixam de revogar na hora (o token já seria rejeitado como expirado) e são
+ * removidas fisicamente por {@link #compact()}.
+ */
+@Component
+public class RevocationList {
+
+    /**
+     * {@code exp} das entradas que nunca expiram (tokens sem {@code exp}): o maior valor de 32 bits sem sinal.
+     */
+    public static final long NEVER_EXPIRES = 0xFFFF_FFFFL;
+
+    private static final VarHandle KEYS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle EXPIRIES = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_CAPACITY = 16;
+    private static final long JWT_ID_BIT = 1L;
+    private static final MessageDigest SHA_256 = sha256();
+
+    // Serializa as escritas; as consultas leem a tabela publicada sem lock.
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private volatile Table table = new Table(MIN_CAPACITY);
+    // Incrementada depois de cada inclusão ou substituição publicada; só a thread de escrita a altera.
+    private volatile long version;
+
+    /**
+     * Uma entrada da lista.
+     *
+     * @param key              a impressão de 64 bits do {@code jti} ou do token
+     * @param expiresAtSeconds o {@code exp} do token, em segundos, ou {@link #NEVER_EXPIRES}
+     */
+    public record Revocation(long key, long expiresAtSeconds) {
+
+        /**
+         * @param jwtId            o {@code jti} revogado
+         * @param expiresAtSeconds o {@code exp} do token, ou {@link #NEVER_EXPIRES}
+         * @return a entrada
+         */
+        public static Revocation ofJwtId(String jwtId, long expiresAtSeconds) {
+            return new Revocation(jwtIdKey(jwtId), expiresAtSeconds);
+        }
+
+        /**
+         * @param sha256Hex        o SHA-256 do token compacto como emitido, em hexadecimal (64 caracteres)
+         * @param expiresAtSeconds o {@code exp} do token, ou {@link #NEVER_EXPIRES}
+         * @return a entrada
+         * @throws IllegalArgumentException se o hash não tiver 64 dígitos hexadecimais
+         */
+        public static Revocation ofTokenHash(String sha256Hex, long expiresAtSeconds) {
+            if (sha256Hex.length() != 64) {
+                throw new IllegalArgumentException("SHA-256 deve ter 64 dígitos hexadecimais: " + sha256Hex);
+            }
+            byte[] digest = HexFormat.of().parseHex(sha256Hex);
+            return new Revocation(fingerprint(digest, false), expiresAtSeconds);
+        }
+
+        /**
+         * @param token            o token compacto revogado
+         * @param expiresAtSeconds o {@code exp} do token, ou {@link #NEVER_EXPIRES}
+         * @return a entrada
+         */
+        public static Revocation ofToken(String token, long expiresAtSeconds) {
+            return new Revocation(tokenKey(token), expiresAtSeconds);
+        }
+    }
+
+    /**
+     * Verifica se o token foi revogado. Sem entradas, custa uma leitura volátil; o SHA-256 do token só é calculado se
+     * houver tokens revogados por hash, e o do {@code jti} só se houver {@code jti}s revogados.
+     *
+     * @param token o token compacto, já verificado
+     * @param jwtId o {@code jti} do token, ou null
+     * @return true se o token ou o seu {@code jti} estiverem na lista e o {@code exp} da entrada não tiver passado
+     */
+    public boolean isRevoked(String token, String jwtId) {
+        Table current = table;
+        if (current.size == 0) {
+            return false;
+        }
+        long nowSeconds = System.currentTimeMillis() / 1000;
+        if (jwtId != null && current.jwtIds > 0 && current.contains(jwtIdKey(jwtId), nowSeconds)) {
+            return true;
+        }
+        return token != null && current.tokenHashes > 0 && current.contains(tokenKey(token), nowSeconds);
+    }
+
+    /**
+     * Inclui entradas; entradas já expiradas são ignoradas, e uma entrada repetida fica com o maior {@code exp}.
+     *
+     * @param revocations as entradas
+     * @return o número de entradas novas
+     */
+    public int add(Collection<Revocation> revocations) {
+        long nowSeconds = System.currentTimeMillis() / 1000;
+        updateLock.lock();
+        try {
+            Table current = table;
+            int added = 0;
+            for (Revocation revocation : revocations) {
+                if (revocation.expiresAtSeconds() < nowSeconds) {
+                    continue;
+                }
+                int result = current.put(revocation.key(), revocation.expiresAtSeconds());
+                if (result < 0) {
+                    // Cheia: remonta sem as expiradas e com espaço para o dobro, para não remontar a cada inclusão.
+                    current = rebuild(current, nowSeconds, current.size);
+                    table = current;
+                    result = current.put(revocation.key(), revocation.expiresAtSeconds());
+                }
+                added += result;
+            }
+            if (!revocations.isEmpty()) {
+                version++;
+            }
+            return added;
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Substitui todas as entradas, de uma vez: as consultas veem a lista anterior ou a nova.
+     *
+     * @param revocations as entradas
+     */
+    public void replaceAll(Collection<Revocation> revocations) {
+        long nowSeconds = System.currentTimeMillis() / 1000;
+        Table replacement = new Table(capacityFor(revocations.size()));
+        for (Revocation revocation : revocations) {
+            if (revocation.expiresAtSeconds() >= nowSeconds) {
+                replacement.put(revocation.key(), revocation.expiresAtSeconds());
+            }
+        }
+        updateLock.lock();
+        try {
+            table = replacement;
+            version++;
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Remove as entradas expiradas, montando uma tabela e um filtro novos com as demais.
+     *
+     * @return o número de entradas removidas
+     */
+    public int compact() {
+        long nowSeconds = System.currentTimeMillis() / 1000;
+        updateLock.lock();
+        try {
+            Table current = table;
+            int live = current.live(nowSeconds);
+            int expired = current.size - live;
+            if (expired > 0) {
+                table = rebuild(current, nowSeconds, 0);
+            }
+            return expired;
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Versão da lista, incrementada depois que uma inclusão ou substituição fica visível às consultas. Quem lê a
+     * versão antes de {@link #isRevoked} sabe que nenhuma revogação feita até aquela versão escapou da consulta; a
+     * compactação só remove entradas expiradas e não muda a versão.
+     *
+     * @return a versão atual
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * @return o número de entradas guardadas, inclusive as expiradas ainda não compactadas
+     */
+    public int size() {
+        return table.size;
+    }
+
+    /**
+     * @return a memória ocupada pela tabela e pelo filtro, em bytes
+     */
+    public long memoryBytes() {
+        Table current = table;
+        return (long) current.keys.length * Long.BYTES + (long) current.expiries.length * Integer.BYTES
+                + current.bloom.memoryBytes();
+    }
+
+    // Copia as entradas vivas para uma tabela com folga para mais extra entradas.
+    private static Table rebuild(Table from, long nowSeconds, int extra) {
+        Table to = new Table(capacityFor(from.live(nowSeconds) + extra));
+        for (int i = 0; i < from.keys.length; i++) {
+            long key = from.keys[i];
+            long expiresAt = Integer.toUnsignedLong(from.expiries[i]);
+            if (key != 0 && expiresAt >= nowSeconds) {
+                to.put(key, expiresAt);
+            }
+        }
+        return to;
+    }
+
+    // Menor potência de dois que guarda entries entradas com ocupação de até 3/4.
+    private static int capacityFor(int entries) {
+        long needed = Math.max(MIN_CAPACITY, ((long) entries * 4 + 2) / 3);
+        if (needed > 1 << 30) {
+            throw new IllegalStateException("Lista de revogação grande demais: " + entries + " entradas");
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    private static long jwtIdKey(String jwtId) {
+        return fingerprint(digest(jwtId), true);
+    }
+
+    private static long tokenKey(String token) {
+        return fingerprint(digest(canonicalToken(token)), false);
+    }
+
+    // O token com o último caractere da assinatura canônico; o próprio token, sem alocar, se ele já for.
+    static String canonicalToken(String token) {
+        int signatureLength = token.length() - token.lastIndexOf('.') - 1;
+        if (signatureLength == 0 || signatureLength > token.length() - 1) {
+            return token;
+        }
+        char last = token.charAt(token.length() - 1);
+        char canonical = Base64Url.canonicalLastChar(last, signatureLength);
+        return canonical == last ? token : token.substring(0, token.length() - 1) + canonical;
+    }
+
+    // Os primeiros 8 bytes do SHA-256, com o último bit para o tipo; 0 marca posição vazia na tabela.
+    private static long fingerprint(byte[] digest, boolean jwtId) {
+        long key = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            key = (key << 8) | (digest[i] & 0xFF);
+        }
+        key = jwtId ? key | JWT_ID_BIT : key & ~JWT_ID_BIT;
+        return key == 0 ? 2 : key;
+    }
+
+    private static byte[] digest(String value) {
+        try {
+            MessageDigest md = (MessageDigest) SHA_256.clone();
+            return md.digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (CloneNotSupportedException e) {
+            return sha256().digest(value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 não está disponível nesta JVM", e);
+        }
+    }
+
+    /**
+     * Tabela de endereçamento aberto (sondagem linear) de impressões e {@code exp}, com o filtro de Bloom na frente.
+     * Os campos de contagem só são escritos pela thread que detém {@code updateLock}.
+     */
+    private static final class Table {
+
+        final long[] keys;
+        final int[] expiries;
+        final int mask;
+        final int maxSize;
+        final BloomFilter bloom;
+        volatile int size;
+        volatile int jwtIds;
+        volatile int tokenHashes;
+
+        Table(int capacity) {
+            this.keys = new long[capacity];
+            this.expiries = new int[capacity];
+            this.mask = capacity - 1;
+            this.maxSize = capacity / 4 * 3;
+            this.bloom = BloomFilter.create(maxSize, BLOOM_FALSE_POSITIVE_RATE);
+        }
+
+        boolean contains(long key, long nowSeconds) {
+            if (!bloom.mightContain(bloomKey(key))) {
+                return false;
+            }
+            for (int i = index(key); ; i = (i + 1) & mask) {
+                long stored = (long) KEYS.getAcquire(keys, i);
+                if (stored == 0) {
+                    return false;
+                }
+                if (stored == key) {
+                    return Integer.toUnsignedLong((int) EXPIRIES.getAcquire(expiries, i)) >= nowSeconds;
+                }
+            }
+        }
+
+        // 1 se a entrada é nova, 0 se já existia, -1 se a tabela está cheia.
+        int put(long key, long expiresAtSeconds) {
+            for (int i = index(key); ; i = (i + 1) & mask) {
+                long stored = keys[i];
+                if (stored == key) {
+                    if (expiresAtSeconds > Integer.toUnsignedLong(expiries[i])) {
+                        EXPIRIES.setRelease(expiries, i, (int) expiresAtSeconds);
+                    }
+                    return 0;
+                }
+                if (stored == 0) {
+                    if (size >= maxSize) {
+                        return -1;
+                    }
+                    // O exp antes da chave: quem encontra a chave já encontra o exp.
+                    EXPIRIES.setRelease(expiries, i, (int) expiresAtSeconds);
+                    KEYS.setRelease(keys, i, key);
+                    bloom.add(bloomKey(key));
+                    if ((key & JWT_ID_BIT) != 0) {
+                        jwtIds++;
+                    } else {
+                        tokenHashes++;
+                    }
+                    size++;
+                    return 1;
+                }
+            }
+        }
+
+        int live(long nowSeconds) {
+            int live = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != 0 && Integer.toUnsignedLong(expiries[i]) >= nowSeconds) {
+                    live++;
+                }
+            }
+            return live;
+        }
+
+        // Metade alta da impressão para a posição; o filtro usa a impressão inteira (o bit do tipo vai para o topo).
+        private int index(long key) {
+            return (int) (key >>> 32) & mask;
+        }
+
+        private static long bloomKey(long key) {
+            return Long.rotateRight(key, 1);
+        }
+    }
+}
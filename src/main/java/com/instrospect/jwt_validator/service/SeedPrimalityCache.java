@@ -0,0 +1,75 @@
+package com.instrospect.jwt_validator.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache limitado dos vereditos de primalidade por valor textual da claim Seed.
+ * <p>
+ * O tráfego real reutiliza poucos valores de Seed; com o cache, esses valores deixam de ser
+ * convertidos com {@link Integer#parseInt(String)} e testados a cada requisição. As leituras do
+ * Caffeine não usam locks e a remoção por tamanho usa o W-TinyLFU, que preserva os valores frequentes.
+ * Como o veredito de uma Seed nunca muda, entradas não expiram por tempo.
+ * <p>
+ * Acertos, falhas e remoções são publicados no Actuator como {@code cache.gets{cache="seedPrimality"}},
+ * {@code cache.evictions} etc., de onde se obtém a taxa de acerto.
+ */
+@Component
+@Slf4j
+public class SeedPrimalityCache implements MeterBinder {
+
+    static final String CACHE_NAME = "seedPrimality";
+
+    private final Cache<String, Boolean> cache;
+
+    public SeedPrimalityCache(
+            @Value("${jwt.seed.cache.enabled:true}") boolean enabled,
+            @Value("${jwt.seed.cache.maximum-size:4096}") long maximumSize) {
+        this.cache = enabled ? Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build() : null;
+        if (enabled) {
+            log.info("Cache de primalidade da Seed habilitado (tamanho máximo: {}).", maximumSize);
+        }
+    }
+
+    /**
+     * @param seed o valor textual da claim Seed
+     * @return o veredito guardado, ou null se ausente ou se o cache estiver desabilitado
+     */
+    public Boolean get(String seed) {
+        return cache == null ? null : cache.getIfPresent(seed);
+    }
+
+    /**
+     * @param seed  o valor textual da claim Seed, já validado como inteiro
+     * @param prime o veredito de primalidade
+     */
+    public void put(String seed, boolean prime) {
+        if (cache != null) {
+            cache.put(seed, prime);
+        }
+    }
+
+    /**
+     * @return contadores de acertos, falhas e remoções (vazios se o cache estiver desabilitado)
+     */
+    public CacheStats stats() {
+        return cache == null ? CacheStats.empty() : cache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (cache != null) {
+            CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+        }
+    }
+}
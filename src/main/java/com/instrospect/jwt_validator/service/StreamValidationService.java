@@ -0,0 +1,225 @@
+package com.instrospect.jwt_validator.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.instrospect.jwt_validator.config.ValidationExecutorConfig;
+import com.instrospect.jwt_validator.dto.JwtRequest;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Serviço responsável pela validação de fluxos NDJSON de tokens JWT.
+ * <p>
+ * Cada linha da entrada tem o formato de {@link JwtRequest} ({@code {"jwt": "..."}}) e produz uma
+ * linha de veredito na saída, na mesma ordem: {@code {"line": 1, "valid": true}}.
+ * <p>
+ * A verificação é feita em pipeline: a linha é lida e despachada para o executor de validação,
+ * com no máximo {@code jwt.stream.window} tokens em andamento. Com a janela cheia, a leitura para
+ * até que o veredito mais antigo seja escrito, o que limita a memória e propaga a contrapressão
+ * para quem envia a requisição. Linhas acima de {@code jwt.stream.max-line-length} bytes são
+ * descartadas sem serem armazenadas.
+ * <p>
+ * Só a verificação roda no executor: o registro de uso único ({@code jwt.replay.*}) é feito na thread que
+ * escreve os vereditos, na ordem das linhas. Com o mesmo {@code jti} em mais de uma linha, a primeira linha
+ * da entrada é a aceita e as seguintes são {@link RejectionReason#REPLAYED}, qualquer que seja a ordem em que
+ * as verificações terminam.
+ */
+@Service
+public class StreamValidationService {
+
+    private final JwtValidationService jwtValidationService;
+    private final ExecutorService executor;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader requestReader;
+    private final int window;
+    private final int maxLineLength;
+    private final boolean exposeReason;
+
+    public StreamValidationService(
+            JwtValidationService jwtValidationService,
+            @Qualifier(ValidationExecutorConfig.VALIDATION_EXECUTOR) ExecutorService executor,
+            ObjectMapper objectMapper,
+            @Value("${jwt.stream.window:256}") int window,
+            @Value("${jwt.stream.max-line-length:16384}") int maxLineLength,
+            @Value("${jwt.validation.expose-reason:false}") boolean exposeReason) {
+        this.jwtValidationService = jwtValidationService;
+        this.executor = executor;
+        this.objectMapper = objectMapper;
+        this.requestReader = objectMapper.readerFor(JwtRequest.class);
+        this.window = window;
+        this.maxLineLength = maxLineLength;
+        this.exposeReason = exposeReason;
+    }
+
+    /**
+     * Valida cada linha da entrada e escreve os vereditos na saída à medida que ficam prontos.
+     * Linhas em branco são ignoradas, mas contam na numeração.
+     *
+     * @param in  a entrada NDJSON
+     * @param out a saída NDJSON; não é fechada por este método
+     * @throws IOException se a leitura ou a escrita falharem
+     */
+    public void validateStream(InputStream in, OutputStream out) throws IOException {
+        LineReader lines = new LineReader(in, maxLineLength);
+        Deque<Pending> inFlight = new ArrayDeque<>(window);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Os vereditos são separados por '\n', escrito por writeVerdict, e não pelo espaço padrão.
+            generator.setRootValueSeparator(null);
+            long lineNumber = 0;
+            while (lines.next()) {
+                lineNumber++;
+                if (lines.isBlank()) {
+                    continue;
+                }
+                if (inFlight.size() >= window) {
+                    writeVerdict(generator, inFlight.poll());
+                }
+                inFlight.add(submit(lineNumber, lines));
+            }
+            while (!inFlight.isEmpty()) {
+                writeVerdict(generator, inFlight.poll());
+            }
+        } finally {
+            for (Pending pending : inFlight) {
+                if (pending.validation() != null) {
+                    pending.validation().cancel(false);
+                }
+            }
+        }
+    }
+
+    private Pending submit(long line, LineReader lines) {
+        if (lines.isTruncated()) {
+            return new Pending(line, ValidationResult.rejected(RejectionReason.TOKEN_TOO_LARGE), null);
+        }
+        String token;
+        try {
+            JwtRequest request = requestReader.readValue(lines.buffer(), 0, lines.length());
+            token = request == null ? null : request.getJwt();
+        } catch (IOException e) {
+            return new Pending(line, ValidationResult.rejected(RejectionReason.MALFORMED), null);
+        }
+        return new Pending(line, null, executor.submit(() -> jwtValidationService.begin(token)));
+    }
+
+    private void writeVerdict(JsonGenerator generator, Pending pending) throws IOException {
+        ValidationResult result = pending.rejected();
+        if (result == null) {
+            result = finish(generator, pending.validation());
+        }
+
+        generator.writeStartObject();
+        generator.writeNumberField("line", pending.line());
+        generator.writeBooleanField("valid", result.isValid());
+        if (exposeReason && !result.isValid()) {
+            generator.writeStringField("reason", result.getReason().name());
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    // Conclui a validação na ordem das linhas, depois da verificação feita no executor.
+    private ValidationResult finish(JsonGenerator generator, Future<JwtValidationService.Validation> validation)
+            throws IOException {
+        if (!validation.isDone()) {
+            // Entrega os vereditos já prontos antes de esperar pelo próximo.
+            generator.flush();
+        }
+        try {
+            return jwtValidationService.finish(validation.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Validação do fluxo interrompida");
+        } catch (ExecutionException e) {
+            return ValidationResult.rejected(RejectionReason.INTERNAL_ERROR);
+        }
+    }
+
+    // Uma linha rejeitada antes da validação (truncada ou malformada) ou uma validação em andamento.
+    private record Pending(long line, ValidationResult rejected, Future<JwtValidationService.Validation> validation) {
+    }
+
+    /**
+     * Leitor de linhas sobre bytes com buffer de tamanho fixo. O conteúdo de uma linha
+     * maior que o buffer é descartado e a linha é marcada como truncada.
+     */
+    private static final class LineReader {
+
+        private final InputStream in;
+        private final byte[] chunk = new byte[8192];
+        private final byte[] line;
+        private int chunkPosition;
+        private int chunkLimit;
+        private int length;
+        private boolean truncated;
+
+        LineReader(InputStream in, int maxLineLength) {
+            this.in = in;
+            this.line = new byte[maxLineLength];
+        }
+
+        boolean next() throws IOException {
+            length = 0;
+            truncated = false;
+            boolean read = false;
+            while (true) {
+                if (chunkPosition == chunkLimit) {
+                    int count = in.read(chunk);
+                    if (count <= 0) {
+                        return read;
+                    }
+                    chunkPosition = 0;
+                    chunkLimit = count;
+                }
+                read = true;
+                byte b = chunk[chunkPosition++];
+                if (b == '\n') {
+                    return true;
+                }
+                if (length < line.length) {
+                    line[length++] = b;
+                } else {
+                    truncated = true;
+                }
+            }
+        }
+
+        boolean isBlank() {
+            if (truncated) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                byte b = line[i];
+                if (b != ' ' && b != '\t' && b != '\r') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean isTruncated() {
+            return truncated;
+        }
+
+        byte[] buffer() {
+            return line;
+        }
+
+        int length() {
+            return length;
+        }
+    }
+}
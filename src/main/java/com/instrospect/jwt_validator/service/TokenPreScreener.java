@@ -0,0 +1,164 @@
+package com.instrospect.jwt_validator.service;
+
+import com.instrospect.jwt_validator.util.Base64Url;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Triagem estrutural barata, executada antes de qualquer criptografia ou parsing de JSON.
+ * <p>
+ * Percorre os caracteres do token uma única vez, sem alocar, e rejeita tokens grandes demais,
+ * com número de segmentos incorreto, com caracteres fora do alfabeto base64url ou cujo header
+ * não declara um algoritmo aceito pelas chaves carregadas. Só os tokens que passam por aqui
+ * seguem para a verificação da assinatura em {@link JwtVerifier}.
+ * <p>
+ * Com um {@link JwksProvider} configurado, todos os algoritmos assimétricos passam, mesmo sem chave carregada
+ * para eles: as chaves do JWKS podem ainda não ter chegado (busca falhou na inicialização) ou o emissor pode
+ * publicar um novo tipo de chave. O token segue para {@link JwtVerifier}, que o rejeita com
+ * {@link RejectionReason#UNKNOWN_KEY}, e {@link JwksRefresher#resolveUnknownKey(String)} busca a chave.
+ * <p>
+ * A leitura do {@code alg} é propositalmente simples (procura a chave {@code "alg"} no header
+ * decodificado); headers exóticos, como um {@code alg} com escapes unicode, são rejeitados.
+ */
+@Component
+public class TokenPreScreener {
+
+    private final JwtVerifier jwtVerifier;
+    // Algoritmos aceitos além dos das chaves carregadas: os assimétricos, se houver JWKS; vazio sem JWKS.
+    private final List<String> jwksAlgorithms;
+    private final boolean enabled;
+    private final int maxTokenLength;
+
+    public TokenPreScreener(
+            JwtVerifier jwtVerifier,
+            ObjectProvider<JwksProvider> jwksProvider,
+            @Value("${jwt.prescreen.enabled:true}") boolean enabled,
+            @Value("${jwt.prescreen.max-token-length:8192}") int maxTokenLength) {
+        this.jwtVerifier = jwtVerifier;
+        this.jwksAlgorithms = jwksProvider.getIfAvailable() != null ? JwsVerifiers.ASYMMETRIC_ALGORITHMS : List.of();
+        this.enabled = enabled;
+        this.maxTokenLength = maxTokenLength;
+    }
+
+    /**
+     * Aplica a triagem estrutural.
+     *
+     * @param token o token JWT
+     * @return o motivo da rejeição, ou null se o token puder seguir para a verificação
+     */
+    public RejectionReason screen(String token) {
+        if (!enabled) {
+            return null;
+        }
+        if (token == null) {
+            return RejectionReason.MALFORMED;
+        }
+        int length = token.length();
+        if (length > maxTokenLength) {
+            return RejectionReason.TOKEN_TOO_LARGE;
+        }
+
+        int headerEnd = -1;
+        int payloadEnd = -1;
+        for (int i = 0; i < length; i++) {
+            char c = token.charAt(i);
+            if (c == '.') {
+                if (headerEnd < 0) {
+                    headerEnd = i;
+                } else if (payloadEnd < 0) {
+                    payloadEnd = i;
+                } else {
+                    return RejectionReason.MALFORMED;
+                }
+            } else if (!Base64Url.isBase64UrlChar(c)) {
+                return RejectionReason.MALFORMED;
+            }
+        }
+        if (headerEnd <= 0 || payloadEnd <= headerEnd + 1
+                || headerEnd % 4 == 1 || (payloadEnd - headerEnd - 1) % 4 == 1 || (length - payloadEnd - 1) % 4 == 1) {
+            return RejectionReason.MALFORMED;
+        }
+
+        RejectionReason algorithmCheck = checkAlgorithm(token, headerEnd);
+        if (algorithmCheck != null) {
+            return algorithmCheck;
+        }
+        return payloadEnd == length - 1 ? RejectionReason.MALFORMED : null;
+    }
+
+    private RejectionReason checkAlgorithm(String token, int headerEnd) {
+        int size = Base64Url.decodedLength(headerEnd);
+        int start = skipWhitespace(token, size, 0);
+        if (start >= size || byteAt(token, start) != '{') {
+            return RejectionReason.MALFORMED;
+        }
+        for (int i = start + 1; i + 4 < size; i++) {
+            if (byteAt(token, i) == '"' && byteAt(token, i + 1) == 'a' && byteAt(token, i + 2) == 'l'
+                    && byteAt(token, i + 3) == 'g' && byteAt(token, i + 4) == '"' && isKeyPosition(token, i)) {
+                int colon = skipWhitespace(token, size, i + 5);
+                if (colon >= size || byteAt(token, colon) != ':') {
+                    return RejectionReason.MALFORMED;
+                }
+                int quote = skipWhitespace(token, size, colon + 1);
+                if (quote >= size || byteAt(token, quote) != '"') {
+                    return RejectionReason.UNSUPPORTED_ALGORITHM;
+                }
+                return isAccepted(token, size, quote + 1) ? null : RejectionReason.UNSUPPORTED_ALGORITHM;
+            }
+        }
+        return RejectionReason.UNSUPPORTED_ALGORITHM;
+    }
+
+    // Uma chave de objeto vem logo depois de '{' ou ',' (ignorando espaços).
+    private static boolean isKeyPosition(String token, int quote) {
+        for (int i = quote - 1; i >= 0; i--) {
+            int b = byteAt(token, i);
+            if (!isWhitespace(b)) {
+                return b == '{' || b == ',';
+            }
+        }
+        return false;
+    }
+
+    private boolean isAccepted(String token, int size, int valueStart) {
+        return matchesAny(token, size, valueStart, jwtVerifier.algorithms())
+                || matchesAny(token, size, valueStart, jwksAlgorithms);
+    }
+
+    private static boolean matchesAny(String token, int size, int valueStart, List<String> algorithms) {
+        for (int a = 0; a < algorithms.size(); a++) {
+            String algorithm = algorithms.get(a);
+            int end = valueStart + algorithm.length();
+            if (end >= size || byteAt(token, end) != '"') {
+                continue;
+            }
+            boolean matches = true;
+            for (int i = 0; i < algorithm.length() && matches; i++) {
+                matches = byteAt(token, valueStart + i) == algorithm.charAt(i);
+            }
+            if (matches) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int skipWhitespace(String token, int size, int from) {
+        int i = from;
+        while (i < size && isWhitespace(byteAt(token, i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isWhitespace(int b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    private static int byteAt(String token, int index) {
+        return Base64Url.decodedByteAt(token, 0, index);
+    }
+}
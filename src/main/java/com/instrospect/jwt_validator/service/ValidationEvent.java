@@ -0,0 +1,75 @@
+package com.instrospect.jwt_validator.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Evento do Java Flight Recorder emitido por {@link JwtValidationService#validate(String)}: a duração
+ * da validação, o resultado e o motivo da rejeição. Gravado junto com os eventos da JVM (GC, safepoints),
+ * permite correlacionar picos de latência com pausas.
+ * <p>
+ * Sem gravação em andamento ({@link JfrRecordingState}), nenhum evento é criado. Por padrão só validações
+ * acima de 1 ms são gravadas; src/main/jfr/jwt-validator.jfc reduz o limite.
+ */
+@Name(ValidationEvent.NAME)
+@Label("JWT Validation")
+@Category("JWT Validator")
+@Description("Validação de um token JWT")
+@StackTrace(false)
+@Threshold("1 ms")
+final class ValidationEvent extends Event {
+
+    static final String NAME = "com.instrospect.jwt.Validation";
+
+    @Label("Valid")
+    boolean valid;
+
+    @Label("Reason")
+    @Description("Motivo da rejeição, ausente quando o token é válido")
+    String reason;
+
+    // Duração já fechada por stop(); transient para não virar um campo do evento.
+    private transient boolean stopped;
+
+    // Devolvido por start() quando não há gravação: nunca é iniciado nem gravado.
+    private static final ValidationEvent DISABLED = new ValidationEvent();
+
+    static ValidationEvent start() {
+        if (!JfrRecordingState.isRecording()) {
+            return DISABLED;
+        }
+        ValidationEvent event = new ValidationEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Fecha a duração antes do commit, quando o resultado só é conhecido mais tarde
+     * ({@link JwtValidationService#begin(String)}).
+     */
+    void stop() {
+        if (this != DISABLED && !stopped) {
+            end();
+            stopped = true;
+        }
+    }
+
+    void commit(ValidationResult result) {
+        if (this == DISABLED) {
+            return;
+        }
+        if (!stopped) {
+            end();
+        }
+        if (shouldCommit()) {
+            valid = result.isValid();
+            reason = result.isValid() ? null : result.getReason().name();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.instrospect.jwt_validator.service;
+
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Política de log do caminho quente da validação.
+ * <p>
+ * Em {@link Mode#SAMPLED} (padrão), apenas uma fração configurável dos resultados gera uma linha de log
+ * ({@code jwt.logging.sample-rate.valid} e {@code jwt.logging.sample-rate.rejected}); todos os resultados
+ * são contados e um resumo por motivo é registrado a cada {@code jwt.logging.summary-interval}.
+ * Em {@link Mode#PER_REQUEST}, cada resultado gera uma linha, como antes. Erros inesperados são sempre registrados.
+ * <p>
+ * Os valores das claims são mascarados por padrão ({@code jwt.logging.redact-claims}); apenas os nomes aparecem.
+ * Quando uma linha não é amostrada, nada é formatado nem alocado.
+ */
+@Component
+@Slf4j
+public class ValidationLogger {
+
+    /**
+     * Modos de log do caminho quente.
+     */
+    public enum Mode {
+        /**
+         * Uma linha por resultado.
+         */
+        PER_REQUEST,
+
+        /**
+         * Linhas amostradas por resultado e resumos periódicos com os contadores.
+         */
+        SAMPLED
+    }
+
+    private static final RejectionReason[] REASONS = RejectionReason.values();
+
+    private final Mode mode;
+    private final double validSampleRate;
+    private final double rejectedSampleRate;
+    private final boolean redactClaims;
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder[] rejected = new LongAdder[REASONS.length];
+    private final ScheduledExecutorService summaryScheduler;
+
+    public ValidationLogger(
+            @Value("${jwt.logging.mode:sampled}") Mode mode,
+            @Value("${jwt.logging.sample-rate.valid:0.001}") double validSampleRate,
+            @Value("${jwt.logging.sample-rate.rejected:0.01}") double rejectedSampleRate,
+            @Value("${jwt.logging.redact-claims:true}") boolean redactClaims,
+            @Value("${jwt.logging.summary-interval:60s}") Duration summaryInterval) {
+        this.mode = mode;
+        this.validSampleRate = validSampleRate;
+        this.rejectedSampleRate = rejectedSampleRate;
+        this.redactClaims = redactClaims;
+        for (int i = 0; i < rejected.length; i++) {
+            rejected[i] = new LongAdder();
+        }
+        if (mode == Mode.SAMPLED && summaryInterval.isPositive()) {
+            summaryScheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "jwt-validation-log-summary");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long period = summaryInterval.toMillis();
+            summaryScheduler.scheduleAtFixedRate(this::logSummary, period, period, TimeUnit.MILLISECONDS);
+        } else {
+            summaryScheduler = null;
+        }
+    }
+
+    /**
+     * Registra um token aceito por {@code /validate}.
+     *
+     * @param claims as claims do token
+     */
+    public void accepted(Claims claims) {
+        accepted.increment();
+        if (log.isInfoEnabled() && sampled(validSampleRate)) {
+            log.info("JWT decodificado com sucesso. Claims: {}", describe(claims));
+        }
+    }
+
+    /**
+     * Registra um token cujas claims foram extraídas por {@code /extract-claims}.
+     */
+    public void extracted() {
+        accepted.increment();
+        if (log.isInfoEnabled() && sampled(validSampleRate)) {
+            log.info("Claims extraídas com sucesso do JWT");
+        }
+    }
+
+    /**
+     * Registra um token rejeitado.
+     *
+     * @param reason o motivo da rejeição
+     * @param claims as claims do token, ou null se a rejeição ocorreu antes da verificação da assinatura
+     */
+    public void rejected(RejectionReason reason, Claims claims) {
+        rejected[reason.ordinal()].increment();
+        if (log.isWarnEnabled() && sampled(rejectedSampleRate)) {
+            if (claims == null) {
+                log.warn("Validação falhou: {}", reason);
+            } else {
+                log.warn("Validação falhou: {}. Claims: {}", reason, describe(claims));
+            }
+        }
+    }
+
+    /**
+     * Registra um erro inesperado. Erros nunca são amostrados.
+     *
+     * @param message a mensagem do log
+     * @param e       a exceção
+     */
+    public void failed(String message, Exception e) {
+        rejected[RejectionReason.INTERNAL_ERROR.ordinal()].increment();
+        log.error(message, e);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (summaryScheduler != null) {
+            summaryScheduler.shutdownNow();
+            logSummary();
+        }
+    }
+
+    /**
+     * Registra o resumo dos contadores desde o último resumo e os zera.
+     */
+    void logSummary() {
+        long acceptedCount = accepted.sumThenReset();
+        long rejectedCount = 0;
+        StringBuilder reasons = new StringBuilder();
+        for (int i = 0; i < rejected.length; i++) {
+            long count = rejected[i].sumThenReset();
+            if (count > 0) {
+                reasons.append(reasons.isEmpty() ? "" : ", ").append(REASONS[i]).append('=').append(count);
+                rejectedCount += count;
+            }
+        }
+        if (acceptedCount > 0 || rejectedCount > 0) {
+            log.info("Resumo da validação de JWT: {} aceitos, {} rejeitados [{}]", acceptedCount, rejectedCount, reasons);
+        }
+    }
+
+    private boolean sampled(double rate) {
+        return mode == Mode.PER_REQUEST || rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private Object describe(Claims claims) {
+        if (!redactClaims) {
+            return claims;
+        }
+        StringBuilder redacted = new StringBuilder("{");
+        for (Map.Entry<String, Object> claim : claims.entrySet()) {
+            redacted.append(redacted.length() > 1 ? ", " : "").append(claim.getKey()).append("=***");
+        }
+        return redacted.append('}');
+    }
+}
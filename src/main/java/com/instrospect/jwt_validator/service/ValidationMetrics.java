@@ -0,0 +1,192 @@
+package com.instrospect.jwt_validator.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas Micrometer da validação, publicadas no Actuator e em {@code /actuator/prometheus}:
+ * <ul>
+ *     <li>{@code jwt.validation{result}}: tempo total de {@link JwtValidationService#validate(String)},
+ *     por resultado ({@code valid} ou {@code rejected});</li>
+ *     <li>{@code jwt.validation.stage{stage}}: tempo de cada etapa ({@link Stage});</li>
+ *     <li>{@code jwt.validation.accepted}: tokens aceitos;</li>
+ *     <li>{@code jwt.validation.rejections{reason}}: tokens rejeitados por motivo, um contador por regra.</li>
+ * </ul>
+ * Os timers publicam histogramas de percentis ({@code jwt.metrics.percentile-histogram}), de onde o
+ * Prometheus calcula p50/p99 agregando instâncias.
+ * <p>
+ * Registrar uma duração custa duas leituras de relógio e a atualização do timer, o mesmo que a triagem
+ * inteira de um token malformado. Por isso os timers medem apenas uma amostra das validações
+ * ({@code jwt.metrics.timer-sample-rate}); a distribuição continua representativa, mas a contagem dos
+ * timers não é o total de requisições, que vem dos contadores, sempre atualizados. Todos os medidores
+ * são registrados na construção, sem busca por tags no caminho quente.
+ */
+@Component
+public class ValidationMetrics {
+
+    /**
+     * Etapas medidas da validação.
+     */
+    public enum Stage {
+        /**
+         * Triagem estrutural do token ({@link TokenPreScreener}).
+         */
+        PRESCREEN,
+
+        /**
+         * Decodificação, verificação da assinatura e leitura das claims ({@link JwtVerifier#verify(String)}).
+         */
+        SIGNATURE,
+
+        /**
+         * Consulta à lista de revogação ({@link RevocationList}).
+         */
+        REVOCATION,
+
+        /**
+         * Regra: exatamente as claims Name, Role e Seed.
+         */
+        CLAIM_COUNT,
+
+        /**
+         * Regra: claim Name.
+         */
+        NAME,
+
+        /**
+         * Regra: claim Role.
+         */
+        ROLE,
+
+        /**
+         * Regra: claim Seed.
+         */
+        SEED,
+
+        /**
+         * Registro do {@code jti} de um token de uso único ({@link ReplayGuard}).
+         */
+        REPLAY,
+
+        /**
+         * Serialização das claims em {@link JwtValidationService#writeClaims(String, java.io.OutputStream)}.
+         */
+        CLAIMS_JSON;
+
+        private final String tag = name().toLowerCase(Locale.ROOT).replace('_', '-');
+
+        /**
+         * @return o nome da etapa nas métricas e nos eventos do JFR, como {@code claim-count}
+         */
+        public String tag() {
+            return tag;
+        }
+    }
+
+    /**
+     * Devolvido por {@link #start()} quando a validação não foi sorteada para ser medida.
+     */
+    static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    private static final RejectionReason[] REASONS = RejectionReason.values();
+
+    private final boolean enabled;
+    private final double timerSampleRate;
+    private final Timer[] stageTimers = new Timer[Stage.values().length];
+    private final Timer validTimer;
+    private final Timer rejectedTimer;
+    private final Counter accepted;
+    private final Counter[] rejections = new Counter[REASONS.length];
+
+    public ValidationMetrics(
+            MeterRegistry registry,
+            @Value("${jwt.metrics.enabled:true}") boolean enabled,
+            @Value("${jwt.metrics.percentile-histogram:true}") boolean percentileHistogram,
+            @Value("${jwt.metrics.timer-sample-rate:0.01}") double timerSampleRate) {
+        this.enabled = enabled;
+        this.timerSampleRate = timerSampleRate;
+        for (Stage stage : Stage.values()) {
+            stageTimers[stage.ordinal()] = timer("jwt.validation.stage", "Tempo de cada etapa da validação do JWT",
+                    percentileHistogram).tag("stage", stage.tag).register(registry);
+        }
+        validTimer = timer("jwt.validation", "Tempo total da validação do JWT", percentileHistogram)
+                .tag("result", "valid").register(registry);
+        rejectedTimer = timer("jwt.validation", "Tempo total da validação do JWT", percentileHistogram)
+                .tag("result", "rejected").register(registry);
+        accepted = Counter.builder("jwt.validation.accepted")
+                .description("Tokens JWT aceitos")
+                .register(registry);
+        for (RejectionReason reason : REASONS) {
+            rejections[reason.ordinal()] = Counter.builder("jwt.validation.rejections")
+                    .description("Tokens JWT rejeitados, por motivo")
+                    .tag("reason", reason.name())
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Inicia uma medição, se a chamada for sorteada pela taxa de amostragem dos timers.
+     *
+     * @return o instante inicial, ou {@link #NOT_SAMPLED}
+     */
+    public long start() {
+        if (enabled && (timerSampleRate >= 1.0
+                || (timerSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < timerSampleRate))) {
+            return System.nanoTime();
+        }
+        return NOT_SAMPLED;
+    }
+
+    /**
+     * Registra a duração de uma etapa, se a medição foi sorteada.
+     *
+     * @param stage a etapa concluída
+     * @param start o instante devolvido por {@link #start()} ou pela etapa anterior
+     * @return o instante atual, para ser usado como início da etapa seguinte, ou {@link #NOT_SAMPLED}
+     */
+    public long lap(Stage stage, long start) {
+        if (start == NOT_SAMPLED) {
+            return NOT_SAMPLED;
+        }
+        long now = System.nanoTime();
+        stageTimers[stage.ordinal()].record(now - start, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    /**
+     * Conta o resultado de uma validação e, se a medição foi sorteada, registra o tempo total.
+     *
+     * @param result o resultado da validação
+     * @param start  o instante devolvido por {@link #start()} no início da validação
+     */
+    public void completed(ValidationResult result, long start) {
+        if (!enabled) {
+            return;
+        }
+        if (result.isValid()) {
+            accepted.increment();
+        } else {
+            rejections[result.getReason().ordinal()].increment();
+        }
+        if (start != NOT_SAMPLED) {
+            (result.isValid() ? validTimer : rejectedTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Limites dos buckets: as etapas levam de dezenas de nanossegundos a alguns microssegundos.
+    private static Timer.Builder timer(String name, String description, boolean percentileHistogram) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentileHistogram(percentileHistogram)
+                .minimumExpectedValue(Duration.ofNanos(100))
+                .maximumExpectedValue(Duration.ofMillis(100));
+    }
+}
@@ -0,0 +1,83 @@
+package com.instrospect.jwt_validator.service;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Resultado da validação de um token JWT: válido (com as claims) ou rejeitado com um {@link RejectionReason}.
+ * <p>
+ * Rejeições sem claims são instâncias compartilhadas, de modo que o caminho de tokens inválidos não aloca.
+ */
+public final class ValidationResult {
+
+    private static final Map<RejectionReason, ValidationResult> REJECTIONS = new EnumMap<>(RejectionReason.class);
+
+    static {
+        for (RejectionReason reason : RejectionReason.values()) {
+            REJECTIONS.put(reason, new ValidationResult(reason, null));
+        }
+    }
+
+    private final RejectionReason reason;
+    private final Claims claims;
+
+    private ValidationResult(RejectionReason reason, Claims claims) {
+        this.reason = reason;
+        this.claims = claims;
+    }
+
+    /**
+     * @param claims as claims verificadas
+     * @return um resultado válido
+     */
+    public static ValidationResult valid(Claims claims) {
+        return new ValidationResult(null, claims);
+    }
+
+    /**
+     * @param reason o motivo da rejeição
+     * @return a rejeição compartilhada para o motivo
+     */
+    public static ValidationResult rejected(RejectionReason reason) {
+        return REJECTIONS.get(reason);
+    }
+
+    /**
+     * Rejeição de um token com assinatura válida, mas que não atende às regras de negócio.
+     *
+     * @param reason o motivo da rejeição
+     * @param claims as claims verificadas
+     * @return o resultado rejeitado
+     */
+    public static ValidationResult rejected(RejectionReason reason, Claims claims) {
+        return new ValidationResult(reason, claims);
+    }
+
+    /**
+     * @return true se o token for válido
+     */
+    public boolean isValid() {
+        return reason == null;
+    }
+
+    /**
+     * @return o motivo da rejeição, ou null se o token for válido
+     */
+    public RejectionReason getReason() {
+        return reason;
+    }
+
+    /**
+     * @return as claims verificadas, ou null se a assinatura não pôde ser verificada
+     */
+    public Claims getClaims() {
+        return claims;
+    }
+
+    @Override
+    public String toString() {
+        return isValid() ? "ValidationResult[valid]" : "ValidationResult[rejected: " + reason + "]";
+    }
+}
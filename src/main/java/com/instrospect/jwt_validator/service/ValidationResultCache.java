@@ -0,0 +1,239 @@
+package com.instrospect.jwt_validator.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache opcional dos resultados de tokens cuja assinatura já foi verificada.
+ * <p>
+ * A chave é o SHA-256 do token (resistente a colisões, para que um token forjado nunca
+ * reaproveite o veredito de outro) junto com a geração do {@link JwtVerifier}, de modo que
+ * uma troca de segredo torna inacessíveis as entradas anteriores, e com a versão da
+ * {@link RevocationList}: a chave é calculada antes da consulta à lista, e um resultado gravado
+ * por uma validação que correu junto com uma revogação fica numa versão que ninguém mais
+ * procura. A remoção por tamanho usa
+ * o W-TinyLFU do Caffeine e nenhuma entrada sobrevive à claim {@code exp} do token.
+ * <p>
+ * Apenas tokens com assinatura válida são guardados: tokens malformados ou forjados
+ * não ocupam espaço no cache.
+ */
+@Component
+@Slf4j
+public class ValidationResultCache {
+
+    private static final MessageDigest SHA_256 = sha256();
+
+    private final JwtVerifier jwtVerifier;
+    private final RevocationList revocationList;
+    private final Cache<CacheKey, CachedToken> cache;
+
+    public ValidationResultCache(
+            JwtVerifier jwtVerifier,
+            RevocationList revocationList,
+            @Value("${jwt.cache.enabled:false}") boolean enabled,
+            @Value("${jwt.cache.maximum-size:10000}") long maximumSize,
+            @Value("${jwt.cache.max-ttl:5m}") Duration maxTtl) {
+        this.jwtVerifier = jwtVerifier;
+        this.revocationList = revocationList;
+        this.cache = enabled ? Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry(maxTtl))
+                .recordStats()
+                .build() : null;
+        if (enabled) {
+            log.info("Cache de validação de JWT habilitado (tamanho máximo: {}, TTL máximo: {}).", maximumSize, maxTtl);
+        }
+    }
+
+    /**
+     * @return true se o cache estiver habilitado
+     */
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Calcula a chave do token para a geração atual do verificador e a versão atual da lista de revogação. Deve ser
+     * chamado antes de {@link RevocationList#isRevoked}.
+     *
+     * @param token o token JWT
+     * @return a chave, ou null se o cache estiver desabilitado ou o token for nulo
+     */
+    public CacheKey keyFor(String token) {
+        if (cache == null || token == null) {
+            return null;
+        }
+        return CacheKey.of(jwtVerifier.generation(), revocationList.version(), digest(token));
+    }
+
+    /**
+     * @param key a chave obtida em {@link #keyFor(String)}
+     * @return o resultado guardado, ou null se ausente
+     */
+    public ValidationResult getResult(CacheKey key) {
+        CachedToken cached = get(key);
+        return cached == null ? null : cached.result();
+    }
+
+    /**
+     * @param key a chave obtida em {@link #keyFor(String)}
+     * @return o JSON das claims guardado, em UTF-8, ou null se ausente
+     */
+    public byte[] getClaimsJson(CacheKey key) {
+        CachedToken cached = get(key);
+        return cached == null ? null : cached.claimsJson();
+    }
+
+    /**
+     * Guarda o resultado de um token com assinatura válida.
+     *
+     * @param key    a chave obtida em {@link #keyFor(String)}
+     * @param result o resultado das regras de negócio; suas claims limitam a validade da entrada
+     */
+    public void putResult(CacheKey key, ValidationResult result) {
+        put(key, new CachedToken(result, null, expirationOf(result.getClaims())));
+    }
+
+    /**
+     * Guarda o JSON das claims de um token com assinatura válida.
+     *
+     * @param key        a chave obtida em {@link #keyFor(String)}
+     * @param claims     as claims verificadas do token, usadas para limitar a validade da entrada
+     * @param claimsJson o JSON devolvido por {@code /extract-claims}, em UTF-8; não deve ser alterado depois
+     */
+    public void putClaimsJson(CacheKey key, Claims claims, byte[] claimsJson) {
+        putClaimsJson(key, expirationOf(claims), claimsJson);
+    }
+
+    /**
+     * Guarda o JSON das claims de um token com assinatura válida, quando as claims não foram montadas.
+     *
+     * @param key             a chave obtida em {@link #keyFor(String)}
+     * @param expiresAtMillis o {@code exp} do token em milissegundos, ou {@link Long#MAX_VALUE} se ausente
+     * @param claimsJson      o JSON devolvido por {@code /extract-claims}, em UTF-8; não deve ser alterado depois
+     */
+    public void putClaimsJson(CacheKey key, long expiresAtMillis, byte[] claimsJson) {
+        put(key, new CachedToken(null, claimsJson, expiresAtMillis));
+    }
+
+    /**
+     * @return contadores de acertos, falhas e remoções (vazios se o cache estiver desabilitado)
+     */
+    public CacheStats stats() {
+        return cache == null ? CacheStats.empty() : cache.stats();
+    }
+
+    /**
+     * @return o número aproximado de entradas
+     */
+    public long size() {
+        return cache == null ? 0 : cache.estimatedSize();
+    }
+
+    /**
+     * Remove todas as entradas.
+     */
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    private CachedToken get(CacheKey key) {
+        return key == null ? null : cache.getIfPresent(key);
+    }
+
+    private void put(CacheKey key, CachedToken value) {
+        if (key != null && value.expiresAtMillis() > System.currentTimeMillis()) {
+            cache.asMap().merge(key, value, CachedToken::merge);
+        }
+    }
+
+    private static long expirationOf(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration == null ? Long.MAX_VALUE : expiration.getTime();
+    }
+
+    private static byte[] digest(String token) {
+        try {
+            MessageDigest md = (MessageDigest) SHA_256.clone();
+            return md.digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (CloneNotSupportedException e) {
+            return sha256().digest(token.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 não está disponível nesta JVM", e);
+        }
+    }
+
+    /**
+     * Chave compacta do cache: a geração do verificador, a versão da lista de revogação e os 256 bits do SHA-256 do
+     * token.
+     */
+    public record CacheKey(long generation, long revocations, long d0, long d1, long d2, long d3) {
+
+        static CacheKey of(long generation, long revocations, byte[] digest) {
+            ByteBuffer buffer = ByteBuffer.wrap(digest);
+            return new CacheKey(generation, revocations,
+                    buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+        }
+    }
+
+    /**
+     * Entrada do cache. O resultado e o JSON das claims são preenchidos de forma independente
+     * pelos endpoints {@code /validate} e {@code /extract-claims}.
+     */
+    record CachedToken(ValidationResult result, byte[] claimsJson, long expiresAtMillis) {
+
+        CachedToken merge(CachedToken other) {
+            return new CachedToken(
+                    other.result != null ? other.result : result,
+                    other.claimsJson != null ? other.claimsJson : claimsJson,
+                    Math.min(expiresAtMillis, other.expiresAtMillis));
+        }
+    }
+
+    /**
+     * Expira cada entrada no {@code exp} do token, limitado ao TTL máximo configurado.
+     */
+    private record TokenExpiry(Duration maxTtl) implements Expiry<CacheKey, CachedToken> {
+
+        @Override
+        public long expireAfterCreate(CacheKey key, CachedToken value, long currentTime) {
+            long remainingMillis = value.expiresAtMillis() - System.currentTimeMillis();
+            if (remainingMillis >= maxTtl.toMillis()) {
+                return maxTtl.toNanos();
+            }
+            return Math.max(0, TimeUnit.MILLISECONDS.toNanos(remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(CacheKey key, CachedToken value, long currentTime, long currentDuration) {
+            return Math.min(currentDuration, expireAfterCreate(key, value, currentTime));
+        }
+
+        @Override
+        public long expireAfterRead(CacheKey key, CachedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
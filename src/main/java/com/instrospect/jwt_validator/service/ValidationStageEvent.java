@@ -0,0 +1,62 @@
+package com.instrospect.jwt_validator.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Evento do Java Flight Recorder com a duração de uma etapa da validação: triagem estrutural,
+ * verificação HMAC, cada regra e a montagem do JSON de {@code /extract-claims}
+ * (as mesmas etapas de {@link ValidationMetrics.Stage}).
+ */
+@Name(ValidationStageEvent.NAME)
+@Label("JWT Validation Stage")
+@Category("JWT Validator")
+@Description("Etapa da validação de um token JWT")
+@StackTrace(false)
+@Threshold("1 ms")
+final class ValidationStageEvent extends Event {
+
+    static final String NAME = "com.instrospect.jwt.ValidationStage";
+
+    @Label("Stage")
+    String stage;
+
+    // Devolvido por start() quando não há gravação: nunca é iniciado nem gravado.
+    private static final ValidationStageEvent DISABLED = new ValidationStageEvent();
+
+    static ValidationStageEvent start() {
+        if (!JfrRecordingState.isRecording()) {
+            return DISABLED;
+        }
+        ValidationStageEvent event = new ValidationStageEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Encerra a etapa e inicia o evento da etapa seguinte.
+     *
+     * @param completed a etapa concluída
+     * @return o evento da próxima etapa, já iniciado
+     */
+    ValidationStageEvent next(ValidationMetrics.Stage completed) {
+        commit(completed);
+        return start();
+    }
+
+    void commit(ValidationMetrics.Stage completed) {
+        if (this == DISABLED) {
+            return;
+        }
+        end();
+        if (shouldCommit()) {
+            stage = completed.tag();
+            commit();
+        }
+    }
+}
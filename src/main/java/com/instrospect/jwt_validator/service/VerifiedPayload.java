@@ -0,0 +1,108 @@
+package com.instrospect.jwt_validator.service;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Resultado de {@link JwtVerifier#verifyPayload(String)}: o payload de um token autêntico como o JSON assinado,
+ * byte a byte, sem o mapa de {@link Claims}, ou a rejeição com o motivo.
+ * <p>
+ * Tokens que só o jjwt processa ({@code zip}, {@code b64}, {@code crit}) ou com claims registradas de tipo
+ * inesperado chegam com as claims em vez dos bytes ({@link #getJson()} nulo).
+ */
+public final class VerifiedPayload {
+
+    private static final Map<RejectionReason, VerifiedPayload> REJECTIONS = new EnumMap<>(RejectionReason.class);
+
+    static {
+        for (RejectionReason reason : RejectionReason.values()) {
+            REJECTIONS.put(reason, new VerifiedPayload(reason, null, null, 0, null));
+        }
+    }
+
+    private final RejectionReason reason;
+    private final byte[] json;
+    private final Claims claims;
+    private final long expiresAtMillis;
+    private final String jwtId;
+
+    private VerifiedPayload(RejectionReason reason, byte[] json, Claims claims, long expiresAtMillis, String jwtId) {
+        this.reason = reason;
+        this.json = json;
+        this.claims = claims;
+        this.expiresAtMillis = expiresAtMillis;
+        this.jwtId = jwtId;
+    }
+
+    /**
+     * @param json            o payload decodificado
+     * @param expiresAtMillis o {@code exp} em milissegundos, ou {@link Long#MAX_VALUE} se ausente
+     * @param jwtId           o {@code jti}, ou null se ausente
+     * @return um payload válido
+     */
+    static VerifiedPayload of(byte[] json, long expiresAtMillis, String jwtId) {
+        return new VerifiedPayload(null, json, null, expiresAtMillis, jwtId);
+    }
+
+    /**
+     * @param result o resultado da verificação completa
+     * @return o mesmo veredito, com as claims no lugar dos bytes
+     */
+    static VerifiedPayload of(ValidationResult result) {
+        return result.isValid()
+                ? new VerifiedPayload(null, null, result.getClaims(), 0, result.getClaims().getId())
+                : rejected(result.getReason());
+    }
+
+    /**
+     * @param reason o motivo da rejeição
+     * @return a rejeição compartilhada para o motivo
+     */
+    static VerifiedPayload rejected(RejectionReason reason) {
+        return REJECTIONS.get(reason);
+    }
+
+    /**
+     * @return true se o token for autêntico e estiver dentro da janela de validade
+     */
+    public boolean isValid() {
+        return reason == null;
+    }
+
+    /**
+     * @return o motivo da rejeição, ou null se o token for válido
+     */
+    public RejectionReason getReason() {
+        return reason;
+    }
+
+    /**
+     * @return o payload decodificado, ou null se o token foi rejeitado ou chegou como claims; não deve ser alterado
+     */
+    public byte[] getJson() {
+        return json;
+    }
+
+    /**
+     * @return as claims, quando o payload não pôde ser repassado como bytes; null nos demais casos
+     */
+    public Claims getClaims() {
+        return claims;
+    }
+
+    /**
+     * @return o {@code exp} em milissegundos, ou {@link Long#MAX_VALUE} se ausente (significativo só com {@link #getJson()})
+     */
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    /**
+     * @return o {@code jti} do token, ou null se ausente ou se o token foi rejeitado
+     */
+    public String getJwtId() {
+        return jwtId;
+    }
+}
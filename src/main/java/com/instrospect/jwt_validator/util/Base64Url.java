@@ -0,0 +1,160 @@
+package com.instrospect.jwt_validator.util;
+
+import java.util.Arrays;
+
+/**
+ * Decodificação base64url (RFC 4648, seção 5, sem padding) sobre trechos de uma string,
+ * sem alocar substrings e sem lançar exceções para entradas inválidas.
+ */
+public class Base64Url {
+
+    private static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+    private static final byte[] DECODE_TABLE = new byte[128];
+
+    static {
+        Arrays.fill(DECODE_TABLE, (byte) -1);
+        for (int i = 0; i < ALPHABET.length(); i++) {
+            DECODE_TABLE[ALPHABET.charAt(i)] = (byte) i;
+        }
+    }
+
+    /**
+     * Construtor privado para evitar instanciação da classe utilitária.
+     */
+    private Base64Url() {
+        throw new UnsupportedOperationException("Esta é uma classe utilitária e não deve ser instanciada");
+    }
+
+    /**
+     * Verifica se o caractere pertence ao alfabeto base64url.
+     *
+     * @param c o caractere
+     * @return true se for um caractere base64url válido
+     */
+    public static boolean isBase64UrlChar(char c) {
+        return c < 128 && DECODE_TABLE[c] >= 0;
+    }
+
+    /**
+     * Verifica se o trecho {@code [from, to)} é base64url válido e sem padding.
+     *
+     * @param s    a string de origem
+     * @param from índice inicial (inclusivo)
+     * @param to   índice final (exclusivo)
+     * @return true se o trecho puder ser decodificado
+     */
+    public static boolean isValid(CharSequence s, int from, int to) {
+        if ((to - from) % 4 == 1) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            if (!isBase64UrlChar(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Quantidade de bytes produzida pela decodificação de {@code length} caracteres.
+     *
+     * @param length a quantidade de caracteres base64url
+     * @return a quantidade de bytes decodificados
+     */
+    public static int decodedLength(int length) {
+        return length / 4 * 3 + Math.max(0, length % 4 - 1);
+    }
+
+    /**
+     * Devolve o último caractere de um trecho de {@code length} caracteres com zerados os bits que sobram da
+     * decodificação (os 4 últimos quando {@code length % 4 == 2}, os 2 últimos quando {@code length % 4 == 3}).
+     * A decodificação ignora esses bits: trechos que diferem só neles produzem os mesmos bytes.
+     *
+     * @param c      o último caractere do trecho
+     * @param length a quantidade de caracteres do trecho
+     * @return o caractere canônico, ou {@code c} se ele já for canônico ou não for base64url
+     */
+    public static char canonicalLastChar(char c, int length) {
+        if (!isBase64UrlChar(c)) {
+            return c;
+        }
+        int unused = switch (length % 4) {
+            case 2 -> 0x0F;
+            case 3 -> 0x03;
+            default -> 0;
+        };
+        return ALPHABET.charAt(DECODE_TABLE[c] & ~unused);
+    }
+
+    /**
+     * Devolve o byte {@code index} da decodificação do trecho que começa em {@code from}, sem decodificar
+     * o restante nem alocar. O trecho deve ter sido validado com {@link #isValid} e {@code index} deve ser
+     * menor que {@link #decodedLength(int)}.
+     *
+     * @param s     a string de origem
+     * @param from  índice inicial do trecho codificado
+     * @param index posição do byte decodificado
+     * @return o byte decodificado, entre 0 e 255
+     */
+    public static int decodedByteAt(CharSequence s, int from, int index) {
+        int base = from + index / 3 * 4;
+        return switch (index % 3) {
+            case 0 -> (DECODE_TABLE[s.charAt(base)] << 2 | DECODE_TABLE[s.charAt(base + 1)] >> 4) & 0xFF;
+            case 1 -> ((DECODE_TABLE[s.charAt(base + 1)] & 0x0F) << 4 | DECODE_TABLE[s.charAt(base + 2)] >> 2) & 0xFF;
+            default -> ((DECODE_TABLE[s.charAt(base + 2)] & 0x03) << 6 | DECODE_TABLE[s.charAt(base + 3)]) & 0xFF;
+        };
+    }
+
+    /**
+     * Decodifica o trecho {@code [from, to)}.
+     *
+     * @param s    a string de origem
+     * @param from índice inicial (inclusivo)
+     * @param to   índice final (exclusivo)
+     * @return os bytes decodificados, ou null se o trecho não for base64url válido
+     */
+    public static byte[] decode(CharSequence s, int from, int to) {
+        if (!isValid(s, from, to)) {
+            return null;
+        }
+        byte[] out = new byte[decodedLength(to - from)];
+        decodeInto(s, from, to, out, 0);
+        return out;
+    }
+
+    /**
+     * Decodifica o trecho {@code [from, to)}, previamente validado com {@link #isValid}, em {@code out}.
+     *
+     * @param s      a string de origem
+     * @param from   índice inicial (inclusivo)
+     * @param to     índice final (exclusivo)
+     * @param out    o buffer de destino, com pelo menos {@link #decodedLength(int)} bytes livres
+     * @param offset a posição inicial em {@code out}
+     * @return a quantidade de bytes escritos
+     */
+    public static int decodeInto(CharSequence s, int from, int to, byte[] out, int offset) {
+        int o = offset;
+        int i = from;
+        for (; i + 4 <= to; i += 4) {
+            int bits = DECODE_TABLE[s.charAt(i)] << 18
+                    | DECODE_TABLE[s.charAt(i + 1)] << 12
+                    | DECODE_TABLE[s.charAt(i + 2)] << 6
+                    | DECODE_TABLE[s.charAt(i + 3)];
+            out[o++] = (byte) (bits >> 16);
+            out[o++] = (byte) (bits >> 8);
+            out[o++] = (byte) bits;
+        }
+        int remaining = to - i;
+        if (remaining >= 2) {
+            int bits = DECODE_TABLE[s.charAt(i)] << 18 | DECODE_TABLE[s.charAt(i + 1)] << 12;
+            if (remaining == 3) {
+                bits |= DECODE_TABLE[s.charAt(i + 2)] << 6;
+            }
+            out[o++] = (byte) (bits >> 16);
+            if (remaining == 3) {
+                out[o++] = (byte) (bits >> 8);
+            }
+        }
+        return o - offset;
+    }
+}
@@ -0,0 +1,99 @@
+package com.instrospect.jwt_validator.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Filtro de Bloom compacto para chaves de 64 bits já espalhadas (por exemplo, os primeiros bytes de um SHA-256).
+ * <p>
+ * As posições dos bits vêm do hash duplo de Kirsch–Mitzenmacher sobre as duas metades da chave, sem recalcular
+ * hashes. O número de bits é uma potência de dois (a posição é uma máscara, não um resto). Inclusões e consultas não
+ * usam locks: a inclusão liga os bits com um {@code OR} atômico por palavra, e uma consulta concorrente vê a chave
+ * inteira ou responde que ela não está presente.
+ * <p>
+ * Não há remoção; quem precisa descartar chaves reconstrói o filtro.
+ */
+public final class BloomFilter {
+
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final double LN2_SQUARED = Math.log(2) * Math.log(2);
+
+    private final long[] words;
+    private final long bitMask;
+    private final int hashes;
+
+    private BloomFilter(long bits, int hashes) {
+        this.words = new long[(int) (bits / Long.SIZE)];
+        this.bitMask = bits - 1;
+        this.hashes = hashes;
+    }
+
+    /**
+     * Dimensiona o filtro para a taxa de falsos positivos esperada com o número de chaves informado.
+     *
+     * @param expectedEntries número de chaves previsto; no mínimo 1
+     * @param falsePositiveRate taxa de falsos positivos desejada, entre 0 e 1 (exclusivos)
+     * @return o filtro vazio
+     * @throws IllegalArgumentException se a taxa estiver fora do intervalo
+     */
+    public static BloomFilter create(long expectedEntries, double falsePositiveRate) {
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("Taxa de falsos positivos deve estar entre 0 e 1");
+        }
+        long entries = Math.max(1, expectedEntries);
+        double optimalBits = -entries * Math.log(falsePositiveRate) / LN2_SQUARED;
+        long bits = Math.max(Long.SIZE, Long.highestOneBit((long) Math.ceil(optimalBits) - 1) << 1);
+        if (bits > (long) Integer.MAX_VALUE * Long.SIZE / 2) {
+            throw new IllegalArgumentException("Filtro de Bloom grande demais para " + entries + " chaves");
+        }
+        // O arredondamento para potência de dois só acrescenta bits: o número de hashes segue a taxa pedida, não o tamanho,
+        // para que cada consulta toque o mínimo de palavras.
+        int hashes = (int) Math.max(1, Math.round(-Math.log(falsePositiveRate) / Math.log(2)));
+        return new BloomFilter(bits, hashes);
+    }
+
+    /**
+     * Inclui a chave. Pode ser chamado de várias threads ao mesmo tempo.
+     *
+     * @param key a chave, com bits bem distribuídos
+     */
+    public void add(long key) {
+        int h1 = (int) key;
+        int h2 = (int) (key >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = (h1 + (long) i * h2) & bitMask;
+            WORDS.getAndBitwiseOr(words, (int) (bit >>> 6), 1L << bit);
+        }
+    }
+
+    /**
+     * @param key a chave, com bits bem distribuídos
+     * @return false se a chave certamente não foi incluída; true se pode ter sido
+     */
+    public boolean mightContain(long key) {
+        int h1 = (int) key;
+        int h2 = (int) (key >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = (h1 + (long) i * h2) & bitMask;
+            long word = (long) WORDS.getAcquire(words, (int) (bit >>> 6));
+            if ((word & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return o número de posições de hash por chave
+     */
+    public int hashes() {
+        return hashes;
+    }
+
+    /**
+     * @return a memória ocupada pelos bits, em bytes
+     */
+    public long memoryBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+}
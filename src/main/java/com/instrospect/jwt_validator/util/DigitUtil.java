@@ -0,0 +1,67 @@
+package com.instrospect.jwt_validator.util;
+
+/**
+ * Classe utilitária para detecção de caracteres numéricos em texto.
+ * <p>
+ * <b>Política:</b> um caractere é considerado numérico quando sua categoria geral Unicode é
+ * uma das categorias de número:
+ * <ul>
+ *     <li>{@code Nd} (dígito decimal): {@code 0-9}, dígitos árabe-índicos ({@code ٣}), de largura total
+ *     ({@code ３}), matemáticos ({@code 𝟏}) etc.;</li>
+ *     <li>{@code Nl} (número em forma de letra): numerais romanos ({@code Ⅻ});</li>
+ *     <li>{@code No} (outros números): sobrescritos ({@code ²}), frações ({@code ½}), números circulados ({@code ①}).</li>
+ * </ul>
+ * Isso difere de {@code \d} (regex Java sem {@code UNICODE_CHARACTER_CLASS}), que só reconhece {@code 0-9}
+ * e deixava passar qualquer outro dígito. A análise é feita por code point, portanto dígitos fora do
+ * plano multilíngue básico (pares substitutos) também são reconhecidos.
+ */
+public class DigitUtil {
+
+    /**
+     * Construtor privado para evitar instanciação da classe utilitária.
+     */
+    private DigitUtil() {
+        throw new UnsupportedOperationException("Esta é uma classe utilitária e não deve ser instanciada");
+    }
+
+    /**
+     * Verifica, em uma única passada e sem alocar, se o texto contém algum caractere numérico.
+     *
+     * @param text o texto a ser verificado
+     * @return true se algum caractere pertencer às categorias Unicode {@code Nd}, {@code Nl} ou {@code No}
+     */
+    public static boolean containsNumeric(CharSequence text) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                // Caminho rápido: em ASCII, os únicos caracteres numéricos são 0-9.
+                if (c >= '0' && c <= '9') {
+                    return true;
+                }
+                continue;
+            }
+            int codePoint = c;
+            if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                codePoint = Character.toCodePoint(c, text.charAt(++i));
+            }
+            if (isNumeric(codePoint)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Verifica se o code point pertence a uma das categorias Unicode de número.
+     *
+     * @param codePoint o code point a ser verificado
+     * @return true se a categoria for {@code Nd}, {@code Nl} ou {@code No}
+     */
+    public static boolean isNumeric(int codePoint) {
+        int type = Character.getType(codePoint);
+        return type == Character.DECIMAL_DIGIT_NUMBER
+                || type == Character.LETTER_NUMBER
+                || type == Character.OTHER_NUMBER;
+    }
+}
@@ -0,0 +1,86 @@
+package com.instrospect.jwt_validator.util;
+
+/**
+ * Crivo de Eratóstenes compacto, construído uma única vez e imutável depois disso.
+ * <p>
+ * Guarda apenas os números ímpares, um bit por número (bit ligado = composto): cada byte de memória
+ * cobre 16 números. Consultas abaixo de {@link #limit()} custam um acesso ao array; acima dele,
+ * {@link #isPrime(long)} recorre ao Miller–Rabin de {@link PrimeUtil#isPrime(long)}.
+ */
+public final class PrimeSieve {
+
+    /**
+     * Maior memória aceita: 128 MB cobrem todos os números até 2^31.
+     */
+    public static final long MAX_MEMORY_BYTES = 128L * 1024 * 1024;
+
+    private final long[] composite;
+    private final long limit;
+
+    /**
+     * Constrói o crivo dentro do orçamento de memória.
+     *
+     * @param memoryBytes memória máxima do bitset, em bytes; zero desabilita o crivo
+     * @throws IllegalArgumentException se o orçamento for negativo ou maior que {@link #MAX_MEMORY_BYTES}
+     */
+    public PrimeSieve(long memoryBytes) {
+        if (memoryBytes < 0 || memoryBytes > MAX_MEMORY_BYTES) {
+            throw new IllegalArgumentException("Memória do crivo deve estar entre 0 e " + MAX_MEMORY_BYTES + " bytes");
+        }
+        int words = (int) (memoryBytes / Long.BYTES);
+        this.composite = new long[words];
+        this.limit = (long) words * Long.SIZE * 2;
+        build();
+    }
+
+    /**
+     * @return o primeiro número não coberto pelo crivo
+     */
+    public long limit() {
+        return limit;
+    }
+
+    /**
+     * @return a memória ocupada pelo bitset, em bytes
+     */
+    public long memoryBytes() {
+        return (long) composite.length * Long.BYTES;
+    }
+
+    /**
+     * Verifica se um número é primo, consultando o crivo quando ele cobre o número.
+     *
+     * @param number o número a ser verificado
+     * @return true se o número for primo, false caso contrário
+     */
+    public boolean isPrime(long number) {
+        if (number >= limit) {
+            return PrimeUtil.isPrime(number);
+        }
+        if (number < 3) {
+            return number == 2;
+        }
+        if ((number & 1) == 0) {
+            return false;
+        }
+        long bit = number >>> 1;
+        return (composite[(int) (bit >>> 6)] & (1L << bit)) == 0;
+    }
+
+    private void build() {
+        if (limit == 0) {
+            return;
+        }
+        composite[0] |= 1L; // 1 não é primo
+        // Apenas ímpares: o bit i representa 2i + 1, e os múltiplos ímpares de p distam p bits entre si.
+        for (long p = 3; p * p < limit; p += 2) {
+            long bit = p >>> 1;
+            if ((composite[(int) (bit >>> 6)] & (1L << bit)) != 0) {
+                continue;
+            }
+            for (long multiple = (p * p) >>> 1; multiple < limit >>> 1; multiple += p) {
+                composite[(int) (multiple >>> 6)] |= 1L << multiple;
+            }
+        }
+    }
+}
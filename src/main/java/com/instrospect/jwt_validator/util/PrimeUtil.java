@@ -2,9 +2,31 @@ package com.instrospect.jwt_validator.util;
 
 /**
  * Classe utilitária para operações relacionadas a números primos.
+ * <p>
+ * {@link #isPrime(int)} e {@link #isPrime(long)} usam Miller–Rabin determinístico: com as bases
+ * escolhidas o teste é exato (não probabilístico) em todo o intervalo do tipo. O custo é de algumas
+ * dezenas de multiplicações modulares, contra milhares de divisões da divisão por tentativa
+ * ({@link #isPrimeByTrialDivision(int)}) para primos próximos de {@link Integer#MAX_VALUE}.
  */
 public class PrimeUtil {
 
+    /**
+     * Primos usados na divisão por tentativa que antecede o Miller–Rabin: descartam rapidamente
+     * a maioria dos compostos.
+     */
+    private static final int[] SMALL_PRIMES = {2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37};
+
+    /**
+     * Bases suficientes para n < 4.759.123.141 (Jaeschke, 1993), o que cobre todo int.
+     */
+    private static final long[] INT_BASES = {2, 7, 61};
+
+    /**
+     * Os 12 primeiros primos como bases são suficientes para n < 318.665.857.834.031.151.167.461 (≈ 3,18 * 10^23;
+     * Sorenson e Webster, 2015), o que cobre todo long.
+     */
+    private static final long[] LONG_BASES = {2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37};
+
     /**
      * Construtor privado para evitar instanciação da classe utilitária.
      */
@@ -19,6 +41,48 @@ public class PrimeUtil {
      * @return true se o número for primo, false caso contrário
      */
     public static boolean isPrime(int number) {
+        if (number < 2) {
+            return false;
+        }
+        for (int p : SMALL_PRIMES) {
+            if (number % p == 0) {
+                return number == p;
+            }
+        }
+        if (number < 41 * 41) {
+            return true;
+        }
+
+        return passesMillerRabin(number, INT_BASES);
+    }
+
+    /**
+     * Verifica se um número de 64 bits é primo.
+     *
+     * @param number o número a ser verificado
+     * @return true se o número for primo, false caso contrário
+     */
+    public static boolean isPrime(long number) {
+        if (number <= Integer.MAX_VALUE) {
+            return number >= 2 && isPrime((int) number);
+        }
+        for (int p : SMALL_PRIMES) {
+            if (number % p == 0) {
+                return false;
+            }
+        }
+
+        return passesMillerRabin(number, LONG_BASES);
+    }
+
+    /**
+     * Verifica se um número é primo por divisão por tentativa (candidatos 6k ± 1 até a raiz quadrada).
+     * Implementação de referência, usada para conferir as demais.
+     *
+     * @param number o número a ser verificado
+     * @return true se o número for primo, false caso contrário
+     */
+    public static boolean isPrimeByTrialDivision(int number) {
         if (number <= 1) {
             return false;
         }
@@ -29,7 +93,8 @@ public class PrimeUtil {
             return false;
         }
 
-        for (int i = 5; i * i <= number; i += 6) {
+        // i <= number / i em vez de i * i <= number: i * i estoura int para números acima de 46341².
+        for (int i = 5; i <= number / i; i += 6) {
             if (number % i == 0 || number % (i + 2) == 0) {
                 return false;
             }
@@ -37,4 +102,89 @@ public class PrimeUtil {
 
         return true;
     }
+
+    // n ímpar, maior que todas as bases.
+    private static boolean passesMillerRabin(long n, long[] bases) {
+        Montgomery montgomery = new Montgomery(n);
+        // n - 1 = d * 2^s, com d ímpar
+        int s = Long.numberOfTrailingZeros(n - 1);
+        long d = (n - 1) >>> s;
+        for (long base : bases) {
+            if (!montgomery.passesRound(base, d, s)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Aritmética de Montgomery módulo um n ímpar de até 63 bits (R = 2^64): multiplicações modulares
+     * sem divisão, sem produtos de 128 bits explícitos e sem {@link java.math.BigInteger}.
+     */
+    private static final class Montgomery {
+
+        private final long n;
+        private final long nInverse; // -n^-1 mod 2^64
+        private final long one;      // R mod n
+        private final long minusOne; // (n - 1) * R mod n
+        private final long rSquared; // R^2 mod n
+
+        Montgomery(long n) {
+            this.n = n;
+            long inverse = n; // correto nos 3 bits inferiores, pois n * n ≡ 1 (mod 8)
+            for (int i = 0; i < 5; i++) {
+                inverse *= 2 - n * inverse; // Newton: dobra os bits corretos a cada passo
+            }
+            this.nInverse = -inverse;
+            this.one = Long.remainderUnsigned(-n, n);
+            long r2 = one;
+            for (int i = 0; i < 64; i++) {
+                r2 = addMod(r2, r2);
+            }
+            this.rSquared = r2;
+            this.minusOne = n - one;
+        }
+
+        boolean passesRound(long base, long d, int s) {
+            long x = pow(multiply(base % n, rSquared), d);
+            if (x == one || x == minusOne) {
+                return true;
+            }
+            for (int r = 1; r < s; r++) {
+                x = multiply(x, x);
+                if (x == minusOne) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private long pow(long base, long exponent) {
+            long result = one;
+            long b = base;
+            long e = exponent;
+            while (e > 0) {
+                if ((e & 1) != 0) {
+                    result = multiply(result, b);
+                }
+                b = multiply(b, b);
+                e >>>= 1;
+            }
+            return result;
+        }
+
+        // REDC(a * b): como n < 2^63, o resultado intermediário é menor que 2n e cabe em 64 bits sem sinal.
+        private long multiply(long a, long b) {
+            long low = a * b;
+            long high = Math.unsignedMultiplyHigh(a, b);
+            long m = low * nInverse;
+            long t = high + Math.unsignedMultiplyHigh(m, n) + (low != 0 ? 1 : 0);
+            return Long.compareUnsigned(t, n) >= 0 ? t - n : t;
+        }
+
+        private long addMod(long a, long b) {
+            long sum = a + b; // a, b < n < 2^63: não estoura 64 bits sem sinal
+            return Long.compareUnsigned(sum, n) >= 0 ? sum - n : sum;
+        }
+    }
 }
@@ -0,0 +1,75 @@
+package com.instrospect.jwt_validator;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.logging.LogFile;
+import org.springframework.boot.logging.LoggingInitializationContext;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para verificar se logback-spring.xml mantém o arquivo de log do Spring Boot e não descarta WARN nem ERROR.
+ * <p>
+ * O Spring Boot configura o logback uma vez por JVM, e os contextos seguintes dos testes reaproveitam essa
+ * configuração; por isso o teste reinicializa o {@link LoggingSystem} diretamente e restaura o padrão no fim.
+ */
+class LoggingConfigurationTest {
+
+    private final LoggingSystem loggingSystem = LoggingSystem.get(LoggingConfigurationTest.class.getClassLoader());
+
+    @TempDir
+    Path logDirectory;
+
+    private void initialize(MockEnvironment environment) {
+        loggingSystem.cleanUp();
+        System.clearProperty("LOG_FILE");
+        System.clearProperty("LOG_PATH");
+        loggingSystem.beforeInitialize();
+        loggingSystem.initialize(new LoggingInitializationContext(environment), null, LogFile.get(environment));
+    }
+
+    @AfterEach
+    void restoreDefaultLogging() {
+        initialize(new MockEnvironment());
+    }
+
+    @Test
+    void shouldWriteToTheConfiguredLogFile() throws Exception {
+        Path file = logDirectory.resolve("jwt-validator.log");
+        initialize(new MockEnvironment().withProperty("logging.file.name", file.toString()));
+
+        String marker = "logging-configuration-test " + UUID.randomUUID();
+        LoggerFactory.getLogger(LoggingConfigurationTest.class).error(marker);
+
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!(Files.exists(file) && Files.readString(file).contains(marker)) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(Files.exists(file) && Files.readString(file).contains(marker));
+    }
+
+    @Test
+    void shouldBlockInsteadOfDiscardingWarnAndError() {
+        initialize(new MockEnvironment().withProperty("jwt.logging.async-queue-size", "1000"));
+        Logger root = (Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+
+        for (String name : new String[]{"ASYNC_CONSOLE", "ASYNC_FILE"}) {
+            AsyncAppender async = (AsyncAppender) root.getAppender(name);
+            assertNotNull(async, name);
+            assertEquals(1000, async.getQueueSize(), name);
+            assertFalse(async.isNeverBlock(), name);
+            // Abaixo deste espaço livre só INFO e níveis menores são descartados; WARN e ERROR esperam.
+            assertEquals(200, async.getDiscardingThreshold(), name);
+        }
+    }
+}
@@ -53,6 +53,21 @@ public class OpenApiDocumentationTest {
                 .andExpect(jsonPath("$.paths['/api/jwt/extract-claims'].post").exists());
     }
 
+    @Test
+    public void shouldDocumentTheJsonContractForValidateAndExtractClaims() throws Exception {
+        // As variantes de token bruto (Authorization, text/plain) não substituem a operação JSON.
+        mockMvc.perform(get("/v3/api-docs"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.paths['/api/jwt/validate'].post.summary").value("Validar token JWT"))
+                .andExpect(jsonPath("$.paths['/api/jwt/validate'].post.parameters").doesNotExist())
+                .andExpect(jsonPath("$.paths['/api/jwt/validate'].post.requestBody.content['application/json']").exists())
+                .andExpect(jsonPath("$.paths['/api/jwt/validate'].post.requestBody.content['text/plain']").doesNotExist())
+                .andExpect(jsonPath("$.paths['/api/jwt/extract-claims'].post.summary").value("Extrair claims do token JWT"))
+                .andExpect(jsonPath("$.paths['/api/jwt/extract-claims'].post.parameters.length()").value(1))
+                .andExpect(jsonPath("$.paths['/api/jwt/extract-claims'].post.parameters[0].name").value("claims"))
+                .andExpect(jsonPath("$.paths['/api/jwt/extract-claims'].post.requestBody.content['text/plain']").doesNotExist());
+    }
+
     @Test
     public void shouldContainJwtRequestAndValidationResponseSchemas() throws Exception {
         mockMvc.perform(get("/v3/api-docs"))
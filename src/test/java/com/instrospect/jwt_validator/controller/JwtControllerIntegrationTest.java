@@ -5,20 +5,28 @@ import io.jsonwebtoken.security.Keys;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.test.json.JsonCompareMode;
 import org.springframework.test.web.servlet.MockMvc;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@SpringBootTest
+@SpringBootTest(properties = "jwt.metrics.timer-sample-rate=1.0")
 @AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
 class JwtControllerIntegrationTest {
 
     @Autowired
@@ -61,7 +69,8 @@ class JwtControllerIntegrationTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(createJsonPayload(invalidJwt)))
                 .andExpect(status().isOk())
-                .andExpect(content().json("{\"valid\": false}"));
+                .andExpect(content().json("{\"valid\": false}"))
+                .andExpect(jsonPath("$.reason").doesNotExist());
     }
 
     @Test
@@ -226,4 +235,226 @@ class JwtControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(content().json("{\"valid\": true}"));
     }
+
+    @Test
+    void shouldValidateTokenFromBearerHeader() throws Exception {
+        String jwt = Jwts.builder()
+                .claim("Role", "Admin")
+                .claim("Seed", "7841")
+                .claim("Name", "Toninho Araujo")
+                .signWith(secretKey)
+                .compact();
+
+        mockMvc.perform(post("/api/jwt/validate")
+                        .header("Authorization", "Bearer " + jwt))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{\"valid\": true}"));
+
+        mockMvc.perform(post("/api/jwt/validate")
+                        .header("Authorization", "Basic " + jwt))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"valid\": false}"));
+    }
+
+    @Test
+    void shouldValidateTokenFromPlainTextBody() throws Exception {
+        String jwt = Jwts.builder()
+                .claim("Role", "Admin")
+                .claim("Seed", "7840")
+                .claim("Name", "Toninho Araujo")
+                .signWith(secretKey)
+                .compact();
+
+        mockMvc.perform(post("/api/jwt/validate")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content(jwt + "\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"valid\": false}"));
+    }
+
+    @Test
+    void shouldPreferJsonBodyOverBearerHeader() throws Exception {
+        String jwt = Jwts.builder()
+                .claim("Role", "Admin")
+                .claim("Seed", "7841")
+                .claim("Name", "Toninho Araujo")
+                .signWith(secretKey)
+                .compact();
+
+        mockMvc.perform(post("/api/jwt/validate")
+                        .header("Authorization", "Bearer invalid")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(createJsonPayload(jwt)))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"valid\": true}"));
+    }
+
+    @Test
+    void shouldExtractClaimsFromBearerHeaderAndPlainTextBody() throws Exception {
+        String jwt = Jwts.builder()
+                .claim("Role", "Admin")
+                .claim("Seed", "7841")
+                .claim("Name", "Toninho Araujo")
+                .signWith(secretKey)
+                .compact();
+        String claims = "{\"Role\": \"Admin\", \"Seed\": \"7841\", \"Name\": \"Toninho Araujo\"}";
+
+        mockMvc.perform(post("/api/jwt/extract-claims")
+                        .header("Authorization", "bearer " + jwt))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json(claims));
+
+        mockMvc.perform(post("/api/jwt/extract-claims")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content(jwt))
+                .andExpect(status().isOk())
+                .andExpect(content().json(claims));
+    }
+
+    @Test
+    void shouldExtractOnlyRequestedClaims() throws Exception {
+        String jwt = Jwts.builder()
+                .claim("Role", "Admin")
+                .claim("Seed", "7841")
+                .claim("Name", "Toninho Araujo")
+                .signWith(secretKey)
+                .compact();
+
+        mockMvc.perform(post("/api/jwt/extract-claims")
+                        .param("claims", "Name,Role")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(createJsonPayload(jwt)))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"Role\": \"Admin\", \"Name\": \"Toninho Araujo\"}",
+                        JsonCompareMode.STRICT));
+
+        mockMvc.perform(post("/api/jwt/extract-claims")
+                        .param("claims", "Seed")
+                        .header("Authorization", "Bearer " + jwt))
+                .andExpect(status().isOk())
+                .andExpect(content().string("{\"Seed\":\"7841\"}"));
+    }
+
+    @Test
+    void shouldAnswerIntrospectionWithStatusAndClaimHeadersOnly() throws Exception {
+        String jwt = Jwts.builder()
+                .claim("Role", "Admin")
+                .claim("Seed", "7841")
+                .claim("Name", "Toninho Araújo")
+                .signWith(secretKey)
+                .compact();
+
+        mockMvc.perform(get("/api/jwt/introspect")
+                        .header("Authorization", "Bearer " + jwt))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("X-Auth-Name", "Toninho Ara%C3%BAjo"))
+                .andExpect(header().string("X-Auth-Role", "Admin"))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(post("/api/jwt/introspect")
+                        .header("Authorization", "Bearer " + jwt + "x"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string("WWW-Authenticate", "Bearer"))
+                .andExpect(header().doesNotExist("X-Auth-Name"))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/jwt/introspect"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void shouldValidateBatchInOrder() throws Exception {
+        String validJwt = Jwts.builder()
+                .claim("Role", "Admin")
+                .claim("Seed", "7841") // Prime number
+                .claim("Name", "Toninho Araujo")
+                .signWith(secretKey)
+                .compact();
+
+        mockMvc.perform(post("/api/jwt/validate/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("{\"jwts\": [\"%s\", \"invalid.jwt.token\", \"%s\"]}", validJwt, validJwt)))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"results\": [{\"valid\": true}, {\"valid\": false}, {\"valid\": true}]}"));
+    }
+
+    @Test
+    void shouldRejectBatchWithoutJwts() throws Exception {
+        mockMvc.perform(post("/api/jwt/validate/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldRejectBatchLargerThanLimit() throws Exception {
+        String tokens = String.join(",", Collections.nCopies(1001, "\"invalid.jwt.token\""));
+
+        mockMvc.perform(post("/api/jwt/validate/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"jwts\": [" + tokens + "]}"))
+                .andExpect(status().isPayloadTooLarge());
+    }
+
+    @Test
+    void shouldStopReadingTheBatchAtTheFirstTokenPastTheLimit() throws Exception {
+        String tokens = String.join(",", Collections.nCopies(1001, "\"invalid.jwt.token\""));
+
+        // O corpo é ilegível depois do token 1001: só chega a 413, e não a 400, se a leitura parar antes.
+        mockMvc.perform(post("/api/jwt/validate/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"jwts\": [" + tokens + ", {not json"))
+                .andExpect(status().isPayloadTooLarge());
+
+        mockMvc.perform(post("/api/jwt/validate/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"jwts\": [\"invalid.jwt.token\", {not json"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldValidateNdjsonStream() throws Exception {
+        String validJwt = Jwts.builder()
+                .claim("Role", "Admin")
+                .claim("Seed", "7841") // Prime number
+                .claim("Name", "Toninho Araujo")
+                .signWith(secretKey)
+                .compact();
+
+        mockMvc.perform(post("/api/jwt/validate/stream")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(createJsonPayload(validJwt) + "\n" + createJsonPayload("invalid.jwt.token") + "\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"line\":1,\"valid\":true}\n{\"line\":2,\"valid\":false}\n"));
+    }
+
+    @Test
+    void shouldExposeSeedPrimalityCacheMetrics() throws Exception {
+        mockMvc.perform(get("/actuator/metrics/cache.gets").param("tag", "cache:seedPrimality"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.availableTags[?(@.tag == 'result')]").exists());
+    }
+
+    @Test
+    void shouldExposeStageHistogramsAndRejectionCountersToPrometheus() throws Exception {
+        String jwt = Jwts.builder()
+                .claim("Role", "Admin")
+                .claim("Seed", "8")
+                .claim("Name", "Toninho Araujo")
+                .signWith(secretKey)
+                .compact();
+        mockMvc.perform(post("/api/jwt/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(createJsonPayload(jwt)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("jwt_validation_stage_seconds_bucket{")))
+                .andExpect(content().string(containsString("stage=\"seed\"")))
+                .andExpect(content().string(containsString("jwt_validation_rejections_total{reason=\"SEED_NOT_PRIME\"}")));
+    }
 }
@@ -0,0 +1,170 @@
+package com.instrospect.jwt_validator.controller;
+
+import com.instrospect.jwt_validator.config.ReactiveWebConfig;
+import com.instrospect.jwt_validator.dto.JwtRequest;
+import com.instrospect.jwt_validator.service.JwtValidationService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.scheduler.Scheduler;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// O servidor Netty e os clientes WebFlux dos outros contextos compartilham os recursos globais do Reactor Netty.
+// Fechado no fim da JVM, o desligamento gradual do servidor pode esperar por event loops que outro contexto já
+// descartou; fechar este contexto ao fim da classe evita essa espera.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+@DirtiesContext
+class ReactiveJwtControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveWebServerApplicationContext context;
+
+    @Autowired
+    private JwtValidationService jwtValidationService;
+
+    private SecretKey secretKey;
+
+    @BeforeEach
+    void setUp() {
+        String secret = "3Vq#mP9$kL2@nR5*jF8&hX4^wC7!tY6zB1";
+        secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String jwtWithSeed(String seed) {
+        return Jwts.builder()
+                .claim("Role", "Admin")
+                .claim("Seed", seed)
+                .claim("Name", "Toninho Araujo")
+                .signWith(secretKey)
+                .compact();
+    }
+
+    @Test
+    void shouldRunOnNetty() {
+        assertInstanceOf(NettyWebServer.class, context.getWebServer());
+    }
+
+    @Test
+    void shouldValidateWithTheSameRulesAsTheServletStack() {
+        webTestClient.post().uri("/api/jwt/validate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"jwt\": \"" + jwtWithSeed("7841") + "\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json("{\"valid\": true}");
+
+        webTestClient.post().uri("/api/jwt/validate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"jwt\": \"" + jwtWithSeed("7840") + "\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json("{\"valid\": false}");
+    }
+
+    @Test
+    void shouldExtractClaims() {
+        webTestClient.post().uri("/api/jwt/extract-claims")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"jwt\": \"" + jwtWithSeed("7841") + "\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json("{\"Role\": \"Admin\", \"Seed\": \"7841\", \"Name\": \"Toninho Araujo\"}");
+
+        webTestClient.post().uri("/api/jwt/extract-claims")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"jwt\": \"invalid\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json("{\"error\": \"Token JWT inválido\"}");
+
+        webTestClient.post().uri("/api/jwt/extract-claims?claims=Role")
+                .contentType(MediaType.TEXT_PLAIN)
+                .bodyValue(jwtWithSeed("7841"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("{\"Role\":\"Admin\"}");
+    }
+
+    @Test
+    void shouldValidateRawToken() {
+        webTestClient.post().uri("/api/jwt/validate")
+                .header("Authorization", "Bearer " + jwtWithSeed("7841"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json("{\"valid\": true}");
+
+        webTestClient.post().uri("/api/jwt/validate")
+                .contentType(MediaType.TEXT_PLAIN)
+                .bodyValue(jwtWithSeed("7840"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json("{\"valid\": false}");
+    }
+
+    @Test
+    void shouldAnswerIntrospectionWithStatusOnly() {
+        webTestClient.get().uri("/api/jwt/introspect")
+                .header("Authorization", "Bearer " + jwtWithSeed("7841"))
+                .exchange()
+                .expectStatus().isNoContent()
+                .expectHeader().valueEquals("X-Auth-Role", "Admin")
+                .expectBody().isEmpty();
+
+        webTestClient.get().uri("/api/jwt/introspect")
+                .header("Authorization", "Bearer " + jwtWithSeed("7840"))
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void shouldAnswer503InsteadOfValidatingOnTheCallerWhenTheQueueIsFull() {
+        Scheduler scheduler = new ReactiveWebConfig().validationScheduler(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // Uma tarefa ocupa a única thread do scheduler e outra ocupa a fila.
+            scheduler.schedule(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            scheduler.schedule(() -> { });
+            ReactiveJwtController controller = new ReactiveJwtController();
+            ReflectionTestUtils.setField(controller, "jwtValidationService", jwtValidationService);
+            ReflectionTestUtils.setField(controller, "validationScheduler", scheduler);
+            JwtRequest request = new JwtRequest();
+            request.setJwt(jwtWithSeed("7841"));
+
+            ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                    () -> controller.validateToken(request).block());
+
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+        } finally {
+            release.countDown();
+            scheduler.dispose();
+        }
+    }
+}
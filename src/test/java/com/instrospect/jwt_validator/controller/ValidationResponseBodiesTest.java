@@ -0,0 +1,38 @@
+package com.instrospect.jwt_validator.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.instrospect.jwt_validator.service.RejectionReason;
+import com.instrospect.jwt_validator.service.ValidationResult;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationResponseBodiesTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testOf_ShouldMatchJacksonSerializationForEveryVerdict() throws Exception {
+        ValidationResult valid = ValidationResult.valid(Jwts.claims().add("Name", "JohnDoe").build());
+        assertJacksonEquivalent(valid, false);
+        assertJacksonEquivalent(valid, true);
+
+        for (RejectionReason reason : RejectionReason.values()) {
+            assertJacksonEquivalent(ValidationResult.rejected(reason), false);
+            assertJacksonEquivalent(ValidationResult.rejected(reason), true);
+        }
+    }
+
+    @Test
+    void testOf_ShouldReuseTheSameBytes() {
+        ValidationResult result = ValidationResult.rejected(RejectionReason.BAD_SIGNATURE);
+
+        assertSame(ValidationResponseBodies.of(result, true), ValidationResponseBodies.of(result, true));
+    }
+
+    private void assertJacksonEquivalent(ValidationResult result, boolean exposeReason) throws Exception {
+        byte[] expected = objectMapper.writeValueAsBytes(JwtController.toResponse(result, exposeReason));
+        assertArrayEquals(expected, ValidationResponseBodies.of(result, exposeReason));
+    }
+}
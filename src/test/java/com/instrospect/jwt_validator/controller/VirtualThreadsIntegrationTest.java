@@ -0,0 +1,95 @@
+package com.instrospect.jwt_validator.controller;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Modo de threads virtuais ({@code spring.threads.virtual.enabled=true}): as requisições são atendidas em
+ * threads virtuais e nenhum código da aplicação prende a thread portadora (evento {@code jdk.VirtualThreadPinned}).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadsIntegrationTest {
+
+    private static final int CONCURRENT_REQUESTS = 64;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void shouldServeConcurrentRequestsOnVirtualThreadsWithoutPinning() throws Exception {
+        String secret = "3Vq#mP9$kL2@nR5*jF8&hX4^wC7!tY6zB1";
+        String jwt = Jwts.builder()
+                .claim("Role", "Admin")
+                .claim("Seed", "7841")
+                .claim("Name", "Toninho Araujo")
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        Path dump = Files.createTempFile("jwt-validator-virtual-threads", ".jfr");
+
+        try (Recording recording = new Recording();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            recording.enable("jdk.VirtualThreadStart");
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+
+            List<Future<HttpResponse<String>>> responses = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                boolean batch = i % 2 == 0;
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                                + (batch ? "/api/jwt/validate/batch" : "/api/jwt/validate")))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(batch
+                                ? "{\"jwts\": [\"" + jwt + "\", \"" + jwt + "\", \"invalid\"]}"
+                                : "{\"jwt\": \"" + jwt + "\"}"))
+                        .build();
+                responses.add(clients.submit(() -> client.send(request, HttpResponse.BodyHandlers.ofString())));
+            }
+            for (Future<HttpResponse<String>> response : responses) {
+                assertEquals(200, response.get().statusCode());
+            }
+
+            recording.stop();
+            recording.dump(dump);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+            assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("jdk.VirtualThreadStart")));
+            List<RecordedEvent> pinnedInApplication = events.stream()
+                    .filter(e -> e.getEventType().getName().equals("jdk.VirtualThreadPinned"))
+                    .filter(VirtualThreadsIntegrationTest::hasApplicationFrame)
+                    .toList();
+            assertEquals(List.of(), pinnedInApplication);
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    private static boolean hasApplicationFrame(RecordedEvent event) {
+        return event.getStackTrace() != null && event.getStackTrace().getFrames().stream()
+                .map(RecordedFrame::getMethod)
+                .anyMatch(m -> m.getType().getName().startsWith("com.instrospect."));
+    }
+}
@@ -0,0 +1,126 @@
+package com.instrospect.jwt_validator.service;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchValidationServiceTest {
+
+    private static final String SECRET = "3Vq#mP9$kL2@nR5*jF8&hX4^wC7!tY6zB1";
+
+    private ExecutorService executor;
+    private BatchValidationService batchValidationService;
+    private SecretKey key;
+
+    @BeforeEach
+    void setUp() {
+        JwtValidationService jwtValidationService = new JwtValidationService();
+        JwtVerifier jwtVerifier = new JwtVerifier(SECRET);
+        ReflectionTestUtils.setField(jwtValidationService, "jwtVerifier", jwtVerifier);
+        ReflectionTestUtils.setField(jwtValidationService, "tokenPreScreener", new TokenPreScreener(jwtVerifier,
+                new StaticListableBeanFactory().getBeanProvider(JwksProvider.class), true, 8192));
+        RevocationList revocationList = new RevocationList();
+        ReflectionTestUtils.setField(jwtValidationService, "validationResultCache",
+                new ValidationResultCache(jwtVerifier, revocationList, false, 0, Duration.ZERO));
+        ReflectionTestUtils.setField(jwtValidationService, "primalityChecker", new PrimalityChecker(DataSize.ofKilobytes(64)));
+        ReflectionTestUtils.setField(jwtValidationService, "seedPrimalityCache", new SeedPrimalityCache(true, 16));
+        ReflectionTestUtils.setField(jwtValidationService, "validationLogger",
+                new ValidationLogger(ValidationLogger.Mode.SAMPLED, 0, 0, true, Duration.ZERO));
+        ReflectionTestUtils.setField(jwtValidationService, "validationMetrics",
+                new ValidationMetrics(new SimpleMeterRegistry(), true, true, 1.0));
+        ReflectionTestUtils.setField(jwtValidationService, "claimsJsonWriter", new ClaimsJsonWriter());
+        ReflectionTestUtils.setField(jwtValidationService, "revocationList", revocationList);
+        ReflectionTestUtils.setField(jwtValidationService, "replayGuard", new ReplayGuard(
+                new StaticListableBeanFactory().getBeanProvider(ReplayStore.class), false, Duration.ofHours(1), 16, 0));
+        ReflectionTestUtils.setField(jwtValidationService, "jwksRefresher", new JwksRefresher(jwtVerifier,
+                new StaticListableBeanFactory().getBeanProvider(JwksProvider.class), Duration.ZERO, Duration.ZERO,
+                Duration.ZERO, Duration.ZERO));
+
+        executor = Executors.newFixedThreadPool(3);
+        batchValidationService = new BatchValidationService(jwtValidationService, executor, 4, 100);
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private String jwtWithSeed(String seed) {
+        return Jwts.builder()
+                .claim("Name", "JohnDoe")
+                .claim("Role", "Admin")
+                .claim("Seed", seed)
+                .signWith(key)
+                .compact();
+    }
+
+    @Test
+    void testValidateAll_ShouldPreserveOrder() {
+        // Seeds 2..99: primos são válidos, compostos não. Grande o bastante para usar todos os blocos.
+        List<String> tokens = new ArrayList<>();
+        for (int seed = 2; seed < 100; seed++) {
+            tokens.add(jwtWithSeed(Integer.toString(seed)));
+        }
+
+        List<ValidationResult> results = batchValidationService.validateAll(tokens);
+
+        assertEquals(tokens.size(), results.size());
+        for (int i = 0; i < results.size(); i++) {
+            int seed = i + 2;
+            ValidationResult result = results.get(i);
+            assertEquals(isPrime(seed), result.isValid(), "seed " + seed);
+            if (!result.isValid()) {
+                assertEquals(RejectionReason.SEED_NOT_PRIME, result.getReason());
+            }
+        }
+    }
+
+    @Test
+    void testValidateAll_SmallBatch_ShouldRunInline() {
+        List<ValidationResult> results = batchValidationService.validateAll(List.of(jwtWithSeed("7"), "invalid.jwt.token"));
+
+        assertTrue(results.get(0).isValid());
+        assertEquals(RejectionReason.MALFORMED, results.get(1).getReason());
+    }
+
+    @Test
+    void testValidateAll_EmptyBatch_ShouldReturnEmptyList() {
+        assertTrue(batchValidationService.validateAll(List.of()).isEmpty());
+    }
+
+    @Test
+    void testValidateAll_OversizedBatch_ShouldThrow() {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i <= batchValidationService.getMaxBatchSize(); i++) {
+            tokens.add("invalid.jwt.token");
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> batchValidationService.validateAll(tokens));
+    }
+
+    private static boolean isPrime(int n) {
+        for (int d = 2; d * d <= n; d++) {
+            if (n % d == 0) {
+                return false;
+            }
+        }
+        return n >= 2;
+    }
+}
@@ -0,0 +1,133 @@
+package com.instrospect.jwt_validator.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClaimsJsonWriterTest {
+
+    private final ClaimsJsonWriter writer = new ClaimsJsonWriter();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testWrite_ShouldPreserveTypes() throws IOException {
+        Claims claims = Jwts.claims()
+                .add("Name", "JohnDoe")
+                .add("Seed", 7841)
+                .add("Big", 9_007_199_254_740_993L)
+                .add("Ratio", 0.5)
+                .add("Admin", true)
+                .add("Groups", List.of("a", "b"))
+                .add("Address", Map.of("city", "Recife"))
+                .add("Nothing", null)
+                .build();
+
+        JsonNode json = objectMapper.readTree(writer.toBytes(claims));
+
+        assertTrue(json.get("Name").isTextual());
+        assertEquals(7841, json.get("Seed").intValue());
+        assertEquals(9_007_199_254_740_993L, json.get("Big").longValue());
+        assertEquals(0.5, json.get("Ratio").doubleValue());
+        assertTrue(json.get("Admin").booleanValue());
+        assertEquals("b", json.get("Groups").get(1).textValue());
+        assertEquals("Recife", json.get("Address").get("city").textValue());
+    }
+
+    @Test
+    void testWrite_ShouldWriteRegisteredDatesAsNumericDates() throws IOException {
+        Claims claims = Jwts.claims()
+                .expiration(new Date(1_700_000_000_000L))
+                .issuedAt(new Date(1_600_000_000_999L))
+                .build();
+
+        JsonNode json = objectMapper.readTree(writer.toBytes(claims));
+
+        assertEquals(1_700_000_000L, json.get("exp").longValue());
+        assertEquals(1_600_000_000L, json.get("iat").longValue());
+    }
+
+    @Test
+    void testWrite_ShouldEscapeQuotesBackslashesAndControlCharacters() throws IOException {
+        Claims claims = Jwts.claims().add("Name", "Jo\"hn\\Doe\n").add("quo\"ted", "Araújo").build();
+
+        byte[] bytes = writer.toBytes(claims);
+        JsonNode json = objectMapper.readTree(bytes);
+
+        assertEquals("Jo\"hn\\Doe\n", json.get("Name").textValue());
+        assertEquals("Araújo", json.get("quo\"ted").textValue());
+        assertTrue(new String(bytes, StandardCharsets.UTF_8).contains("\"Jo\\\"hn\\\\Doe\\n\""));
+    }
+
+    @Test
+    void testWrite_ShouldLeaveTargetOpen() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                fail("O destino não deve ser fechado");
+            }
+        };
+
+        writer.write(Jwts.claims().add("Role", "Admin").build(), out);
+        out.write('\n');
+
+        assertEquals("{\"Role\":\"Admin\"}\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testProject_ShouldCopyOnlyRequestedClaimsVerbatim() throws IOException {
+        byte[] json = ("{ \"Name\" : \"Jo\\u00e3o \\\"Doe\\\"\", \"Seed\":7,\"Ratio\":1.10,"
+                + "\"Address\":{\"city\":\"Recife\",\"zip\":[1,2]},\"Role\":\"Admin\",\"exp\":1700000000}")
+                .getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        writer.project(json, ClaimProjection.of(List.of("exp", "Ratio", "Address", "Name", "Missing")), out);
+
+        assertEquals("{\"Name\" : \"Jo\\u00e3o \\\"Doe\\\"\",\"Ratio\":1.10,"
+                + "\"Address\":{\"city\":\"Recife\",\"zip\":[1,2]},\"exp\":1700000000}", out.toString(StandardCharsets.UTF_8));
+        assertEquals("João \"Doe\"", objectMapper.readTree(out.toByteArray()).get("Name").textValue());
+    }
+
+    @Test
+    void testProject_ShouldStopReadingOnceRequestedClaimsAreFound() throws IOException {
+        // O que vem depois da última claim pedida não é lido.
+        byte[] json = "{\"Role\":\"Admin\",\"Name\":\"John\",\"rest\":".getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        writer.project(json, ClaimProjection.of(List.of("Name", "Role")), out);
+
+        assertEquals("{\"Role\":\"Admin\",\"Name\":\"John\"}", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testWrite_WithProjection_ShouldWriteOnlyRequestedClaims() throws IOException {
+        Claims claims = Jwts.claims()
+                .add("Name", "JohnDoe")
+                .add("Role", "Admin")
+                .add("Seed", "7")
+                .expiration(new Date(1_700_000_000_000L))
+                .build();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        writer.write(claims, ClaimProjection.of(List.of(" Role", "exp ", "Role", "")), out);
+
+        assertEquals("{\"Role\":\"Admin\",\"exp\":1700000000}", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testClaimProjection_WithoutNames_ShouldMeanAllClaims() {
+        assertNull(ClaimProjection.of(null));
+        assertNull(ClaimProjection.of(List.of(" ", "")));
+        assertEquals(1, ClaimProjection.of(List.of("Role", " Role ")).size());
+    }
+}
@@ -0,0 +1,54 @@
+package com.instrospect.jwt_validator.service;
+
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrRecordingStateTest {
+
+    // Uma cópia da classe num class loader próprio: o bloco estático roda de novo, na ordem escolhida pelo teste,
+    // independentemente de a classe já ter sido carregada por outros testes.
+    private static Method freshIsRecording(URLClassLoader loader) throws Exception {
+        Class<?> type = Class.forName(JfrRecordingState.class.getName(), true, loader);
+        Method isRecording = type.getDeclaredMethod("isRecording");
+        isRecording.setAccessible(true);
+        return isRecording;
+    }
+
+    private static URLClassLoader isolatedLoader() {
+        URL classes = JfrRecordingState.class.getProtectionDomain().getCodeSource().getLocation();
+        return new URLClassLoader(new URL[]{classes}, ClassLoader.getPlatformClassLoader());
+    }
+
+    @Test
+    void testIsRecording_RecordingStartedBeforeClassLoad_ShouldBeSeen() throws Exception {
+        try (Recording recording = new Recording(); URLClassLoader loader = isolatedLoader()) {
+            recording.start();
+
+            Method isRecording = freshIsRecording(loader);
+
+            assertTrue((boolean) isRecording.invoke(null));
+            recording.stop();
+            assertFalse((boolean) isRecording.invoke(null));
+        }
+    }
+
+    @Test
+    void testIsRecording_RecordingStartedAfterClassLoad_ShouldBeSeen() throws Exception {
+        try (URLClassLoader loader = isolatedLoader(); Recording recording = new Recording()) {
+            Method isRecording = freshIsRecording(loader);
+            assertFalse((boolean) isRecording.invoke(null));
+
+            recording.start();
+
+            assertTrue((boolean) isRecording.invoke(null));
+            recording.stop();
+            assertFalse((boolean) isRecording.invoke(null));
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.instrospect.jwt_validator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwksRefresherTest {
+
+    private static final String SECRET = "3Vq#mP9$kL2@nR5*jF8&hX4^wC7!tY6zB1";
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final KeyPair first = Jwts.SIG.ES256.keyPair().build();
+    private final KeyPair second = Jwts.SIG.RS256.keyPair().build();
+
+    private JwtVerifier jwtVerifier;
+    private JwksRefresher refresher;
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() {
+        jwtVerifier = new JwtVerifier(SECRET);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (refresher != null) {
+            refresher.shutdown();
+        }
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    private JwksRefresher refresher(JwksProvider provider, Duration minInterval) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("jwksProvider", provider);
+        return new JwksRefresher(jwtVerifier, beans.getBeanProvider(JwksProvider.class), Duration.ZERO, minInterval,
+                Duration.ofMinutes(1), Duration.ofSeconds(10));
+    }
+
+    // Servidor HTTP local no lugar do emissor: responde com o JWK Set de body, esperando gate antes de responder.
+    private HttpJwksProvider stubServer(AtomicReference<String> body, AtomicInteger requests,
+                                        AtomicReference<CountDownLatch> gate) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/.well-known/jwks.json", exchange -> {
+            requests.incrementAndGet();
+            try {
+                gate.get().await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] response = body.get().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/.well-known/jwks.json");
+        return new HttpJwksProvider(uri, Duration.ofSeconds(5));
+    }
+
+    private static Jwk<?> jwk(String kid, KeyPair pair) {
+        return Jwks.builder().key(pair.getPublic()).id(kid).build();
+    }
+
+    private static String signed(String kid, KeyPair pair) {
+        return Jwts.builder().header().keyId(kid).and().claim("Role", "Admin").signWith(pair.getPrivate()).compact();
+    }
+
+    @Test
+    void testStartup_ShouldLoadKeysFromProvider() {
+        refresher = refresher(() -> List.of(jwk("k1", first)), Duration.ZERO);
+
+        assertTrue(jwtVerifier.verify(signed("k1", first)).isValid());
+        assertTrue(jwtVerifier.verify(Jwts.builder().claim("Role", "Admin")
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact()).isValid());
+    }
+
+    @Test
+    void testRefresh_ShouldPublishRotatedKeysAndSkipUnchanged() {
+        AtomicReference<List<Jwk<?>>> published = new AtomicReference<>(List.of(jwk("k1", first)));
+        refresher = refresher(published::get, Duration.ZERO);
+
+        assertFalse(refresher.refresh().join());
+
+        published.set(List.of(jwk("k1", first), jwk("k2", second)));
+        assertTrue(refresher.refresh().join());
+        assertTrue(jwtVerifier.verify(signed("k2", second)).isValid());
+
+        published.set(List.of(jwk("k2", second)));
+        assertTrue(refresher.refresh().join());
+        assertEquals(RejectionReason.UNKNOWN_KEY, jwtVerifier.verify(signed("k1", first)).getReason());
+    }
+
+    @Test
+    void testRefresh_ConcurrentCalls_ShouldShareOneFetch() throws Exception {
+        AtomicInteger fetches = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean started = new AtomicBoolean();
+        refresher = refresher(() -> {
+            fetches.incrementAndGet();
+            // A primeira busca (na construção) passa direto; a seguinte espera as chamadas concorrentes.
+            if (started.getAndSet(true)) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+            return List.of(jwk("k1", first));
+        }, Duration.ZERO);
+
+        CompletableFuture<Boolean> a = refresher.refresh();
+        CompletableFuture<Boolean> b = refresher.refresh();
+        CompletableFuture<Boolean> c = refresher.refresh();
+        release.countDown();
+
+        assertSame(a, b);
+        assertSame(a, c);
+        assertFalse(a.get(10, TimeUnit.SECONDS));
+        assertEquals(2, fetches.get());
+    }
+
+    @Test
+    void testRefresh_WithinMinInterval_ShouldNotFetch() {
+        AtomicInteger fetches = new AtomicInteger();
+        refresher = refresher(() -> {
+            fetches.incrementAndGet();
+            return List.of(jwk("k1", first));
+        }, Duration.ofMinutes(1));
+
+        assertFalse(refresher.refresh().join());
+        assertFalse(refresher.refresh().join());
+        assertEquals(1, fetches.get());
+    }
+
+    @Test
+    void testRefresh_ProviderFailure_ShouldKeepPreviousKeys() {
+        AtomicBoolean failing = new AtomicBoolean();
+        refresher = refresher(() -> {
+            if (failing.get()) {
+                throw new IOException("indisponível");
+            }
+            return List.of(jwk("k1", first));
+        }, Duration.ZERO);
+
+        failing.set(true);
+        assertFalse(refresher.refresh().join());
+        assertTrue(jwtVerifier.verify(signed("k1", first)).isValid());
+    }
+
+    @Test
+    void testStartup_ProviderDown_ShouldStartWithoutKeys() {
+        refresher = refresher(() -> {
+            throw new IOException("indisponível");
+        }, Duration.ZERO);
+
+        assertEquals(RejectionReason.UNKNOWN_KEY, jwtVerifier.verify(signed("k1", first)).getReason());
+    }
+
+    @Test
+    void testHttpProvider_ShouldFetchFromStubServer() throws IOException {
+        AtomicReference<String> body = new AtomicReference<>(jwkSet(jwk("k1", first)));
+        HttpJwksProvider provider = stubServer(body, new AtomicInteger(), new AtomicReference<>(new CountDownLatch(0)));
+
+        Collection<? extends Jwk<?>> keys = provider.fetch();
+        assertEquals(List.of(jwk("k1", first)), List.copyOf(keys));
+
+        refresher = refresher(provider, Duration.ZERO);
+        assertTrue(jwtVerifier.verify(signed("k1", first)).isValid());
+
+        body.set("{\"keys\":[");
+        assertThrows(RuntimeException.class, provider::fetch);
+        assertFalse(refresher.refresh().join());
+        assertTrue(jwtVerifier.verify(signed("k1", first)).isValid());
+    }
+
+    @Test
+    void testResolveUnknownKey_ConcurrentMisses_ShouldShareOneFetchAndKeepServingKnownKeys() throws Exception {
+        AtomicReference<String> body = new AtomicReference<>(jwkSet(jwk("k1", first)));
+        AtomicInteger requests = new AtomicInteger();
+        AtomicReference<CountDownLatch> gate = new AtomicReference<>(new CountDownLatch(0));
+        refresher = refresher(stubServer(body, requests, gate), Duration.ZERO);
+
+        // O emissor publica k2; a próxima busca fica presa no servidor até todas as requisições estarem esperando.
+        body.set(jwkSet(jwk("k1", first), jwk("k2", second)));
+        CountDownLatch slowFetch = new CountDownLatch(1);
+        gate.set(slowFetch);
+        int threads = 16;
+        List<Thread> waiting = new ArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task);
+            waiting.add(thread);
+            return thread;
+        });
+        try {
+            List<Future<Boolean>> misses = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                misses.add(pool.submit(() -> refresher.resolveUnknownKey("k2")));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while ((waiting.size() < threads || !waiting.stream().allMatch(t -> t.getState() == Thread.State.TIMED_WAITING))
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            // Enquanto a busca não termina, k1 continua sendo aceita, sem esperar.
+            assertTrue(jwtVerifier.verify(signed("k1", first)).isValid());
+            assertEquals(RejectionReason.UNKNOWN_KEY, jwtVerifier.verify(signed("k2", second)).getReason());
+            slowFetch.countDown();
+            for (Future<Boolean> miss : misses) {
+                assertTrue(miss.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        // A busca da inicialização e uma única busca para as 16 requisições.
+        assertEquals(2, requests.get());
+        assertTrue(jwtVerifier.verify(signed("k2", second)).isValid());
+    }
+
+    @Test
+    void testResolveUnknownKey_RandomKids_ShouldNotCauseFetchStorm() {
+        AtomicInteger fetches = new AtomicInteger();
+        refresher = refresher(() -> {
+            fetches.incrementAndGet();
+            return List.of(jwk("k1", first));
+        }, Duration.ofMinutes(1));
+
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(refresher.resolveUnknownKey("random-" + i));
+        }
+        assertEquals(1, fetches.get());
+        assertFalse(refresher.resolveUnknownKey(null));
+    }
+
+    @Test
+    void testResolveUnknownKey_NegativeCache_ShouldSkipFetchForSameKid() {
+        AtomicInteger fetches = new AtomicInteger();
+        AtomicReference<List<Jwk<?>>> published = new AtomicReference<>(List.of(jwk("k1", first)));
+        refresher = refresher(() -> {
+            fetches.incrementAndGet();
+            return published.get();
+        }, Duration.ZERO);
+
+        assertFalse(refresher.resolveUnknownKey("k2"));
+        assertEquals(2, fetches.get());
+        assertFalse(refresher.resolveUnknownKey("k2"));
+        assertEquals(2, fetches.get());
+
+        // Uma busca periódica que traz o kid o tira do cache negativo.
+        published.set(List.of(jwk("k1", first), jwk("k2", second)));
+        assertTrue(refresher.refresh().join());
+        assertTrue(jwtVerifier.verify(signed("k2", second)).isValid());
+        assertTrue(refresher.resolveUnknownKey("k2"));
+    }
+
+    private static String jwkSet(Jwk<?>... jwks) throws IOException {
+        return JSON.writeValueAsString(Map.of("keys", List.of(jwks)));
+    }
+}
@@ -1,14 +1,37 @@
 package com.instrospect.jwt_validator.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.Jwks;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
 
 import javax.crypto.SecretKey;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -16,13 +39,34 @@ import static org.junit.jupiter.api.Assertions.*;
 class JwtValidationServiceTest {
 
     private JwtValidationService jwtValidationService;
+    private SeedPrimalityCache seedPrimalityCache;
     private SecretKey key;
 
     @BeforeEach
     void setUp() {
         jwtValidationService = new JwtValidationService();
         String secret = "3Vq#mP9$kL2@nR5*jF8&hX4^wC7!tY6zB1";
-        ReflectionTestUtils.setField(jwtValidationService, "secret", secret);
+        JwtVerifier jwtVerifier = new JwtVerifier(secret);
+        ReflectionTestUtils.setField(jwtValidationService, "jwtVerifier", jwtVerifier);
+        ReflectionTestUtils.setField(jwtValidationService, "tokenPreScreener", new TokenPreScreener(jwtVerifier,
+                new StaticListableBeanFactory().getBeanProvider(JwksProvider.class), true, 8192));
+        RevocationList revocationList = new RevocationList();
+        ReflectionTestUtils.setField(jwtValidationService, "validationResultCache",
+                new ValidationResultCache(jwtVerifier, revocationList, false, 0, Duration.ZERO));
+        ReflectionTestUtils.setField(jwtValidationService, "primalityChecker", new PrimalityChecker(DataSize.ofKilobytes(64)));
+        seedPrimalityCache = new SeedPrimalityCache(true, 16);
+        ReflectionTestUtils.setField(jwtValidationService, "seedPrimalityCache", seedPrimalityCache);
+        ReflectionTestUtils.setField(jwtValidationService, "validationLogger",
+                new ValidationLogger(ValidationLogger.Mode.SAMPLED, 0, 0, true, Duration.ZERO));
+        ReflectionTestUtils.setField(jwtValidationService, "validationMetrics",
+                new ValidationMetrics(new SimpleMeterRegistry(), true, true, 1.0));
+        ReflectionTestUtils.setField(jwtValidationService, "claimsJsonWriter", new ClaimsJsonWriter());
+        ReflectionTestUtils.setField(jwtValidationService, "revocationList", revocationList);
+        ReflectionTestUtils.setField(jwtValidationService, "replayGuard", new ReplayGuard(
+                new StaticListableBeanFactory().getBeanProvider(ReplayStore.class), false, Duration.ofHours(1), 16, 0));
+        ReflectionTestUtils.setField(jwtValidationService, "jwksRefresher", new JwksRefresher(jwtVerifier,
+                new StaticListableBeanFactory().getBeanProvider(JwksProvider.class), Duration.ZERO, Duration.ZERO,
+                Duration.ZERO, Duration.ZERO));
         key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
     }
 
@@ -146,6 +190,59 @@ class JwtValidationServiceTest {
         assertTrue(result.endsWith("}"));
     }
 
+    @Test
+    void testWriteClaims_ShouldStreamTypedClaimsToOutput() throws Exception {
+        String jwt = Jwts.builder()
+                .claim("Name", "John \"Doe\"")
+                .claim("Role", "Admin")
+                .claim("Seed", 7)
+                .signWith(key)
+                .compact();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        jwtValidationService.writeClaims(jwt, out);
+
+        assertEquals("{\"Name\":\"John \\\"Doe\\\"\",\"Role\":\"Admin\",\"Seed\":7}", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testExtractClaims_PayloadAndClaimsModes_ShouldAgree() throws Exception {
+        String jwt = Jwts.builder()
+                .claim("Name", "JohnDoe")
+                .claim("Role", "Admin")
+                .claim("Seed", 7)
+                .claim("Groups", List.of("a", "b"))
+                .signWith(key)
+                .compact();
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        String fromPayload = jwtValidationService.extractClaims(jwt);
+        ReflectionTestUtils.setField(jwtValidationService, "extractMode", JwtValidationService.ExtractMode.CLAIMS);
+        String fromClaims = jwtValidationService.extractClaims(jwt);
+
+        assertEquals(objectMapper.readTree(fromClaims), objectMapper.readTree(fromPayload));
+    }
+
+    @Test
+    void testExtractClaimsJson_WithProjection_ShouldReturnOnlyRequestedClaims() {
+        String jwt = Jwts.builder()
+                .claim("Name", "JohnDoe")
+                .claim("Role", "Admin")
+                .claim("Seed", 7)
+                .signWith(key)
+                .compact();
+        ClaimProjection projection = ClaimProjection.of(List.of("Seed", "Role", "Missing"));
+
+        String fromPayload = new String(jwtValidationService.extractClaimsJson(jwt, projection), StandardCharsets.UTF_8);
+        ReflectionTestUtils.setField(jwtValidationService, "extractMode", JwtValidationService.ExtractMode.CLAIMS);
+        String fromClaims = new String(jwtValidationService.extractClaimsJson(jwt, projection), StandardCharsets.UTF_8);
+
+        assertEquals("{\"Role\":\"Admin\",\"Seed\":7}", fromPayload);
+        assertEquals(fromPayload, fromClaims);
+        assertEquals("{\"error\":\"Token JWT inválido\"}",
+                new String(jwtValidationService.extractClaimsJson("invalid.jwt.token", projection), StandardCharsets.UTF_8));
+    }
+
     @Test
     void testExtractClaims_InvalidJWT_ShouldReturnErrorJson() {
         String invalidJwt = "invalid.jwt.token";
@@ -188,4 +285,225 @@ class JwtValidationServiceTest {
         assertNotNull(result);
         assertEquals("{\"error\":\"Token JWT inválido\"}", result);
     }
+
+    @Test
+    void testValidateToken_CacheEnabled_ShouldReuseVerdict() {
+        JwtVerifier jwtVerifier = (JwtVerifier) ReflectionTestUtils.getField(jwtValidationService, "jwtVerifier");
+        RevocationList revocationList = (RevocationList) ReflectionTestUtils.getField(jwtValidationService, "revocationList");
+        ValidationResultCache cache = new ValidationResultCache(jwtVerifier, revocationList, true, 100, Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(jwtValidationService, "validationResultCache", cache);
+        String jwt = Jwts.builder()
+                .claim("Name", "JohnDoe")
+                .claim("Role", "Admin")
+                .claim("Seed", "7")
+                .signWith(key)
+                .compact();
+
+        assertTrue(jwtValidationService.validateToken(jwt));
+        assertTrue(jwtValidationService.validateToken(jwt));
+        assertEquals(1, cache.stats().hitCount());
+    }
+
+    private String jwtWith(String name, String role, Object seed) {
+        return Jwts.builder()
+                .claim("Name", name)
+                .claim("Role", role)
+                .claim("Seed", seed)
+                .signWith(key)
+                .compact();
+    }
+
+    @Test
+    void testValidate_ShouldReportRejectionReason() {
+        SecretKey wrongKey = Keys.hmacShaKeyFor("wrongsecretwrongsecretwrongsecret".getBytes(StandardCharsets.UTF_8));
+        String badSignature = Jwts.builder().claim("Name", "JohnDoe").signWith(wrongKey).compact();
+        String extraClaim = Jwts.builder()
+                .claim("Name", "JohnDoe").claim("Role", "Admin").claim("Seed", "7").claim("Org", "BR")
+                .signWith(key)
+                .compact();
+
+        assertNull(jwtValidationService.validate(jwtWith("JohnDoe", "Admin", "7")).getReason());
+        assertEquals(RejectionReason.MALFORMED, jwtValidationService.validate("invalid.jwt.token").getReason());
+        assertEquals(RejectionReason.BAD_SIGNATURE, jwtValidationService.validate(badSignature).getReason());
+        assertEquals(RejectionReason.CLAIM_COUNT, jwtValidationService.validate(extraClaim).getReason());
+        assertEquals(RejectionReason.NAME_INVALID, jwtValidationService.validate(jwtWith("John1", "Admin", "7")).getReason());
+        assertEquals(RejectionReason.ROLE_INVALID, jwtValidationService.validate(jwtWith("JohnDoe", "Root", "7")).getReason());
+        assertEquals(RejectionReason.SEED_NOT_PRIME, jwtValidationService.validate(jwtWith("JohnDoe", "Admin", "8")).getReason());
+        assertEquals(RejectionReason.SEED_NOT_NUMERIC, jwtValidationService.validate(jwtWith("JohnDoe", "Admin", "abc")).getReason());
+        assertEquals(RejectionReason.SEED_NOT_NUMERIC, jwtValidationService.validate(jwtWith("JohnDoe", "Admin", 7)).getReason());
+        assertEquals(RejectionReason.SEED_NOT_NUMERIC, jwtValidationService.validate(jwtWith("JohnDoe", "Admin", "99999999999")).getReason());
+    }
+
+    @Test
+    void testValidate_RevokedToken_ShouldBeRejectedAfterSignature() {
+        RevocationList revocationList = (RevocationList) ReflectionTestUtils.getField(jwtValidationService, "revocationList");
+        String revoked = jwtWith("JohnDoe", "Admin", "7");
+        String withJwtId = Jwts.builder().id("jti-1").claim("Name", "JohnDoe").signWith(key).compact();
+        assertEquals("{\"jti\":\"jti-1\",\"Name\":\"JohnDoe\"}", jwtValidationService.extractClaims(withJwtId));
+
+        revocationList.add(List.of(
+                RevocationList.Revocation.ofToken(revoked, RevocationList.NEVER_EXPIRES),
+                RevocationList.Revocation.ofJwtId("jti-1", RevocationList.NEVER_EXPIRES)));
+
+        assertEquals(RejectionReason.REVOKED, jwtValidationService.validate(revoked).getReason());
+        assertTrue(jwtValidationService.validate(jwtWith("JohnDoe", "Admin", "11")).isValid());
+        assertEquals("{\"error\":\"Token JWT inválido\"}", jwtValidationService.extractClaims(withJwtId));
+        // A assinatura vem antes: um token forjado com o mesmo jti é rejeitado como assinatura incorreta.
+        SecretKey wrongKey = Keys.hmacShaKeyFor("wrongsecretwrongsecretwrongsecret".getBytes(StandardCharsets.UTF_8));
+        String forged = Jwts.builder().id("jti-1").claim("Name", "JohnDoe").signWith(wrongKey).compact();
+        assertEquals(RejectionReason.BAD_SIGNATURE, jwtValidationService.validate(forged).getReason());
+    }
+
+    @Test
+    void testValidate_RevokedByHash_ShouldAlsoRejectTheNonCanonicalSignature() throws Exception {
+        RevocationList revocationList = (RevocationList) ReflectionTestUtils.getField(jwtValidationService, "revocationList");
+        String revoked = jwtWith("JohnDoe", "Admin", "7");
+        String hash = HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(revoked.getBytes(StandardCharsets.UTF_8)));
+        revocationList.add(List.of(RevocationList.Revocation.ofTokenHash(hash, RevocationList.NEVER_EXPIRES)));
+
+        // HS256: 43 caracteres de assinatura, e o último bit do último caractere é ignorado na decodificação.
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        int last = alphabet.indexOf(revoked.charAt(revoked.length() - 1));
+        String variant = revoked.substring(0, revoked.length() - 1) + alphabet.charAt(last ^ 1);
+
+        assertEquals(RejectionReason.REVOKED, jwtValidationService.validate(revoked).getReason());
+        assertEquals(RejectionReason.REVOKED, jwtValidationService.validate(variant).getReason());
+    }
+
+    @Test
+    void testValidate_ReplayGuard_ShouldAcceptOneTimeTokenOnce() {
+        String oneTime = Jwts.builder()
+                .id("one-time-1")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .claim("Name", "JohnDoe").claim("Role", "Admin").claim("Seed", "7")
+                .signWith(key)
+                .compact();
+        // Sem a guarda, jti e exp contam como claims a mais.
+        assertEquals(RejectionReason.CLAIM_COUNT, jwtValidationService.validate(oneTime).getReason());
+
+        ReflectionTestUtils.setField(jwtValidationService, "replayGuard", new ReplayGuard(
+                new StaticListableBeanFactory().getBeanProvider(ReplayStore.class), true, Duration.ofHours(1), 16, 0));
+        JwtVerifier jwtVerifier = (JwtVerifier) ReflectionTestUtils.getField(jwtValidationService, "jwtVerifier");
+        RevocationList revocationList = (RevocationList) ReflectionTestUtils.getField(jwtValidationService, "revocationList");
+        ReflectionTestUtils.setField(jwtValidationService, "validationResultCache",
+                new ValidationResultCache(jwtVerifier, revocationList, true, 100, Duration.ofMinutes(5)));
+
+        assertTrue(jwtValidationService.validate(oneTime).isValid());
+        // O segundo uso vem do cache de resultados e ainda assim é recusado.
+        assertEquals(RejectionReason.REPLAYED, jwtValidationService.validate(oneTime).getReason());
+        assertTrue(jwtValidationService.validate(jwtWith("JohnDoe", "Admin", "7")).isValid());
+        assertTrue(jwtValidationService.validate(jwtWith("JohnDoe", "Admin", "7")).isValid());
+        String extraClaim = Jwts.builder().id("one-time-2")
+                .claim("Name", "JohnDoe").claim("Role", "Admin").claim("Seed", "7").claim("Org", "BR")
+                .signWith(key)
+                .compact();
+        assertEquals(RejectionReason.CLAIM_COUNT, jwtValidationService.validate(extraClaim).getReason());
+        // Sem exp, ou com exp além do tempo de vida máximo, o jti seria esquecido antes de o token expirar.
+        String noExp = Jwts.builder().id("one-time-3")
+                .claim("Name", "JohnDoe").claim("Role", "Admin").claim("Seed", "7")
+                .signWith(key)
+                .compact();
+        assertEquals(RejectionReason.LIFETIME_EXCEEDED, jwtValidationService.validate(noExp).getReason());
+        String farExp = Jwts.builder().id("one-time-4")
+                .expiration(new Date(System.currentTimeMillis() + Duration.ofHours(2).toMillis()))
+                .claim("Name", "JohnDoe").claim("Role", "Admin").claim("Seed", "7")
+                .signWith(key)
+                .compact();
+        assertEquals(RejectionReason.LIFETIME_EXCEEDED, jwtValidationService.validate(farExp).getReason());
+        assertEquals(RejectionReason.LIFETIME_EXCEEDED, jwtValidationService.validate(farExp).getReason());
+    }
+
+    @Test
+    void testValidate_JwksDownAtStartup_ShouldAcceptAsymmetricTokensOnceItRecovers() throws Exception {
+        JwtVerifier jwtVerifier = (JwtVerifier) ReflectionTestUtils.getField(jwtValidationService, "jwtVerifier");
+        KeyPair rsa = Jwts.SIG.RS256.keyPair().build();
+        KeyPair ec = Jwts.SIG.ES256.keyPair().build();
+        AtomicReference<List<Jwk<?>>> published = new AtomicReference<>();
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("jwksProvider", (JwksProvider) () -> {
+            List<Jwk<?>> keys = published.get();
+            if (keys == null) {
+                throw new IOException("connection refused");
+            }
+            return keys;
+        });
+        // A busca da inicialização falha: nenhuma chave do JWKS carregada.
+        JwksRefresher jwksRefresher = new JwksRefresher(jwtVerifier, beans.getBeanProvider(JwksProvider.class),
+                Duration.ZERO, Duration.ZERO, Duration.ofMinutes(1), Duration.ofSeconds(5));
+        try {
+            ReflectionTestUtils.setField(jwtValidationService, "tokenPreScreener",
+                    new TokenPreScreener(jwtVerifier, beans.getBeanProvider(JwksProvider.class), true, 8192));
+            ReflectionTestUtils.setField(jwtValidationService, "jwksRefresher", jwksRefresher);
+            assertFalse(jwtVerifier.algorithms().contains("RS256"));
+
+            published.set(List.of(Jwks.builder().key(rsa.getPublic()).id("rsa").build()));
+            assertNull(jwtValidationService.validate(signedWith("rsa", rsa)).getReason());
+
+            // Primeira chave EC depois de um JWKS só com RSA.
+            published.set(List.of(Jwks.builder().key(rsa.getPublic()).id("rsa").build(),
+                    Jwks.builder().key(ec.getPublic()).id("ec").build()));
+            assertNull(jwtValidationService.validate(signedWith("ec", ec)).getReason());
+        } finally {
+            jwksRefresher.shutdown();
+        }
+    }
+
+    private static String signedWith(String kid, KeyPair pair) {
+        return Jwts.builder()
+                .header().keyId(kid).and()
+                .claim("Name", "JohnDoe")
+                .claim("Role", "Admin")
+                .claim("Seed", "7")
+                .signWith(pair.getPrivate())
+                .compact();
+    }
+
+    @Test
+    void testValidate_UnicodeNumericName_ShouldBeRejected() {
+        assertEquals(RejectionReason.NAME_INVALID, jwtValidationService.validate(jwtWith("John٣", "Admin", "7")).getReason());
+        assertEquals(RejectionReason.NAME_INVALID, jwtValidationService.validate(jwtWith("Henry Ⅷ", "Admin", "7")).getReason());
+        assertTrue(jwtValidationService.validate(jwtWith("José Conceição", "Admin", "7")).isValid());
+    }
+
+    @Test
+    void testValidate_RepeatedSeed_ShouldUsePrimalityCache() {
+        assertTrue(jwtValidationService.validate(jwtWith("JohnDoe", "Admin", "2147483647")).isValid());
+        assertTrue(jwtValidationService.validate(jwtWith("JaneDoe", "Member", "2147483647")).isValid());
+        assertEquals(RejectionReason.SEED_NOT_PRIME, jwtValidationService.validate(jwtWith("JohnDoe", "Admin", "2147117569")).getReason());
+        assertEquals(RejectionReason.SEED_NOT_PRIME, jwtValidationService.validate(jwtWith("JaneDoe", "Admin", "2147117569")).getReason());
+
+        assertEquals(2, seedPrimalityCache.stats().hitCount());
+        assertEquals(2, seedPrimalityCache.stats().missCount());
+    }
+
+    @Test
+    void testValidate_ShouldRecordJfrEventsWithTheSettingsProfile() throws Exception {
+        Path dump = Files.createTempFile("jwt-validator", ".jfr");
+        try (Recording recording = new Recording(Configuration.create(Path.of("src/main/jfr/jwt-validator.jfc")))) {
+            recording.start();
+            jwtValidationService.validate(jwtWith("JohnDoe", "Admin", "7"));
+            jwtValidationService.validate(jwtWith("JohnDoe", "Admin", "8"));
+            recording.stop();
+            recording.dump(dump);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+            List<RecordedEvent> validations = events.stream()
+                    .filter(e -> e.getEventType().getName().equals(ValidationEvent.NAME)).toList();
+            assertEquals(2, validations.size());
+            assertTrue(validations.get(0).getBoolean("valid"));
+            assertNull(validations.get(0).getString("reason"));
+            assertFalse(validations.get(1).getBoolean("valid"));
+            assertEquals("SEED_NOT_PRIME", validations.get(1).getString("reason"));
+            assertFalse(validations.get(1).getDuration().isNegative());
+
+            Set<String> stages = events.stream()
+                    .filter(e -> e.getEventType().getName().equals(ValidationStageEvent.NAME))
+                    .map(e -> e.getString("stage"))
+                    .collect(Collectors.toSet());
+            assertEquals(Set.of("prescreen", "signature", "revocation", "claim-count", "name", "role", "seed"), stages);
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
 }
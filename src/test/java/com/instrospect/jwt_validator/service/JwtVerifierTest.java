@@ -0,0 +1,339 @@
+package com.instrospect.jwt_validator.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtVerifierTest {
+
+    private static final String SECRET = "3Vq#mP9$kL2@nR5*jF8&hX4^wC7!tY6zB1";
+    private static final String OTHER_SECRET = "wrongsecretwrongsecretwrongsecret";
+
+    private JwtVerifier jwtVerifier;
+
+    @BeforeEach
+    void setUp() {
+        jwtVerifier = new JwtVerifier(SECRET);
+    }
+
+    private String signedWith(String secret) {
+        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        return Jwts.builder()
+                .claim("Name", "JohnDoe")
+                .claim("Role", "Admin")
+                .claim("Seed", "7")
+                .signWith(key)
+                .compact();
+    }
+
+    @Test
+    void testParseClaims_ValidSignature_ShouldReturnClaims() {
+        Claims claims = jwtVerifier.parseClaims(signedWith(SECRET));
+
+        assertEquals("JohnDoe", claims.get("Name"));
+        assertEquals(3, claims.size());
+    }
+
+    @Test
+    void testParseClaims_ReusedAcrossCalls_ShouldReturnSameResult() {
+        String jwt = signedWith(SECRET);
+
+        assertEquals(jwtVerifier.parseClaims(jwt), jwtVerifier.parseClaims(jwt));
+    }
+
+    @Test
+    void testParseClaims_WrongSignature_ShouldThrowJwtException() {
+        String jwt = signedWith(OTHER_SECRET);
+
+        assertThrows(JwtException.class, () -> jwtVerifier.parseClaims(jwt));
+    }
+
+    @Test
+    void testUpdateSecret_ShouldVerifyWithNewSecretOnly() {
+        String oldJwt = signedWith(SECRET);
+        String newJwt = signedWith(OTHER_SECRET);
+
+        jwtVerifier.updateSecret(OTHER_SECRET);
+
+        assertEquals("Admin", jwtVerifier.parseClaims(newJwt).get("Role"));
+        assertThrows(JwtException.class, () -> jwtVerifier.parseClaims(oldJwt));
+    }
+
+    @Test
+    void testUpdateKeys_JwkAlgorithm_ShouldRestrictAcceptedAlgorithms() {
+        // 512 bits: o tamanho permitiria HS512, mas o alg da JWK limita a chave a HS256.
+        SecretKey key = new SecretKeySpec(new byte[64], "HmacSHA256");
+        jwtVerifier.updateKeys("test", List.of(Jwks.builder().key(key).id("hs256-only").algorithm("HS256").build()));
+
+        String hs256 = Jwts.builder().header().keyId("hs256-only").and().claim("Role", "Admin")
+                .signWith(key, Jwts.SIG.HS256).compact();
+        String hs512 = Jwts.builder().header().keyId("hs256-only").and().claim("Role", "Admin")
+                .signWith(key, Jwts.SIG.HS512).compact();
+
+        assertTrue(jwtVerifier.verify(hs256).isValid());
+        assertEquals(RejectionReason.UNSUPPORTED_ALGORITHM, jwtVerifier.verify(hs512).getReason());
+        assertTrue(jwtVerifier.verify(signedWith(SECRET)).isValid());
+    }
+
+    @Test
+    void testUpdateKeys_InvalidKeys_ShouldBeRejected() {
+        SecretKey key = Keys.hmacShaKeyFor(new byte[32]);
+
+        assertThrows(IllegalArgumentException.class, () -> jwtVerifier.updateKeys("test", List.of(Jwks.builder().key(key).build())));
+        assertThrows(IllegalArgumentException.class, () -> jwtVerifier.updateKeys("test", List.of(
+                Jwks.builder().key(key).id("a").build(), Jwks.builder().key(key).id("a").build())));
+    }
+
+    @Test
+    void testUpdateKeys_PublicKeys_ShouldVerifyAsymmetricAlgorithms() {
+        Map<String, KeyPair> pairs = Map.of(
+                "RS256", Jwts.SIG.RS256.keyPair().build(),
+                "PS256", Jwts.SIG.PS256.keyPair().build(),
+                "ES256", Jwts.SIG.ES256.keyPair().build(),
+                "EdDSA", Jwks.CRV.Ed25519.keyPair().build());
+        List<Jwk<?>> jwks = new ArrayList<>();
+        pairs.forEach((alg, pair) -> jwks.add(Jwks.builder().key(pair.getPublic()).id(alg).build()));
+        jwtVerifier.updateKeys("test", jwks);
+
+        pairs.forEach((alg, pair) -> {
+            String jwt = Jwts.builder().header().keyId(alg).and().claim("Role", "Admin")
+                    .signWith(pair.getPrivate()).compact();
+            String tampered = jwt.substring(0, jwt.lastIndexOf('.') + 1)
+                    + Base64.getUrlEncoder().withoutPadding().encodeToString(new byte[jwt.length() - jwt.lastIndexOf('.')]);
+
+            assertEquals("Admin", jwtVerifier.verify(jwt).getClaims().get("Role"), alg);
+            assertTrue(jwtVerifier.verifyPayload(jwt).isValid(), alg);
+            assertEquals(RejectionReason.BAD_SIGNATURE, jwtVerifier.verify(tampered).getReason(), alg);
+        });
+        // O kid da chave RSA com um token HMAC: o algoritmo não serve para a chave.
+        String hmacWithRsaKid = Jwts.builder().header().keyId("RS256").and().claim("Role", "Admin")
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8))).compact();
+        assertEquals(RejectionReason.UNSUPPORTED_ALGORITHM, jwtVerifier.verify(hmacWithRsaKid).getReason());
+    }
+
+    @Test
+    void testUpdateKeys_SameKeys_ShouldKeepOtherSources() {
+        KeyPair pair = Jwts.SIG.ES256.keyPair().build();
+        SecretKey secret = Keys.hmacShaKeyFor(new byte[32]);
+        jwtVerifier.updateKeys("jwks", List.of(Jwks.builder().key(pair.getPublic()).id("ec").build()));
+        jwtVerifier.updateKeys("file", List.of(Jwks.builder().key(secret).id("oct").build()));
+        String ec = Jwts.builder().header().keyId("ec").and().subject("a").signWith(pair.getPrivate()).compact();
+
+        assertTrue(jwtVerifier.verify(ec).isValid());
+        assertThrows(IllegalArgumentException.class, () -> jwtVerifier.updateKeys("file",
+                List.of(Jwks.builder().key(secret).id("ec").build())));
+        assertThrows(IllegalArgumentException.class, () -> jwtVerifier.updateKeys("file",
+                List.of(Jwks.builder().key(pair.getPrivate()).publicKey(pair.getPublic()).id("private").build())));
+
+        jwtVerifier.updateKeys("jwks", List.of());
+        assertEquals(RejectionReason.UNKNOWN_KEY, jwtVerifier.verify(ec).getReason());
+    }
+
+    @Test
+    void testVerify_ValidSignature_ShouldReturnClaims() {
+        ValidationResult result = jwtVerifier.verify(signedWith(SECRET));
+
+        assertTrue(result.isValid());
+        assertEquals("JohnDoe", result.getClaims().get("Name"));
+        assertEquals(3, result.getClaims().size());
+    }
+
+    @Test
+    void testVerify_WrongSignature_ShouldReturnBadSignature() {
+        ValidationResult result = jwtVerifier.verify(signedWith(OTHER_SECRET));
+
+        assertEquals(RejectionReason.BAD_SIGNATURE, result.getReason());
+        assertNull(result.getClaims());
+    }
+
+    @Test
+    void testVerify_MalformedTokens_ShouldReturnMalformed() {
+        String jwt = signedWith(SECRET);
+
+        assertEquals(RejectionReason.MALFORMED, jwtVerifier.verify(null).getReason());
+        assertEquals(RejectionReason.MALFORMED, jwtVerifier.verify("").getReason());
+        assertEquals(RejectionReason.MALFORMED, jwtVerifier.verify("invalid.jwt.token").getReason());
+        assertEquals(RejectionReason.MALFORMED, jwtVerifier.verify(jwt + ".extra").getReason());
+        assertEquals(RejectionReason.MALFORMED, jwtVerifier.verify(jwt.substring(0, jwt.lastIndexOf('.'))).getReason());
+        assertEquals(RejectionReason.MALFORMED, jwtVerifier.verify(jwt.replace('.', '!')).getReason());
+        assertEquals(RejectionReason.MALFORMED, jwtVerifier.verify("e30.e30.").getReason());
+    }
+
+    @Test
+    void testVerify_ExpiredToken_ShouldReturnExpired() {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        String jwt = Jwts.builder()
+                .claim("Name", "JohnDoe")
+                .expiration(new Date(System.currentTimeMillis() - 60_000))
+                .signWith(key)
+                .compact();
+
+        assertEquals(RejectionReason.EXPIRED, jwtVerifier.verify(jwt).getReason());
+    }
+
+    @Test
+    void testVerify_NotYetValidToken_ShouldReturnNotYetValid() {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        String jwt = Jwts.builder()
+                .claim("Name", "JohnDoe")
+                .notBefore(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(key)
+                .compact();
+
+        assertEquals(RejectionReason.NOT_YET_VALID, jwtVerifier.verify(jwt).getReason());
+    }
+
+    @Test
+    void testVerify_UnsupportedAlgorithms_ShouldReturnUnsupportedAlgorithm() {
+        // {"alg":"none"} sem assinatura
+        String unsecured = "eyJhbGciOiJub25lIn0.eyJOYW1lIjoiSm9obkRvZSJ9.";
+        // HS512 exige chave de 512 bits; o segredo configurado tem 272 bits
+        SecretKey strongKey = Keys.hmacShaKeyFor(SECRET.repeat(2).getBytes(StandardCharsets.UTF_8));
+        String hs512 = Jwts.builder().claim("Name", "JohnDoe").signWith(strongKey, Jwts.SIG.HS512).compact();
+
+        assertEquals(RejectionReason.UNSUPPORTED_ALGORITHM, jwtVerifier.verify(unsecured).getReason());
+        assertEquals(RejectionReason.UNSUPPORTED_ALGORITHM, jwtVerifier.verify(hs512).getReason());
+    }
+
+    @Test
+    void testVerify_CompressedPayload_ShouldDelegateToParser() {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        String jwt = Jwts.builder()
+                .claim("Name", "JohnDoe")
+                .compressWith(Jwts.ZIP.DEF)
+                .signWith(key)
+                .compact();
+
+        ValidationResult result = jwtVerifier.verify(jwt);
+
+        assertTrue(result.isValid());
+        assertEquals("JohnDoe", result.getClaims().get("Name"));
+    }
+
+    @Test
+    void testVerify_ShouldAgreeWithParser() {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        String jwt = Jwts.builder()
+                .claim("Name", "JohnDoe")
+                .claim("Seed", 7)
+                .claim("Nested", Map.of("a", true))
+                .issuedAt(new Date(1_640_995_200_000L))
+                .signWith(key)
+                .compact();
+
+        assertEquals(jwtVerifier.parseClaims(jwt), jwtVerifier.verify(jwt).getClaims());
+    }
+
+    @Test
+    void testVerifyPayload_ValidToken_ShouldReturnDecodedPayloadBytes() {
+        String jwt = signedWith(SECRET);
+        byte[] expected = Base64.getUrlDecoder().decode(jwt.split("\\.")[1]);
+
+        VerifiedPayload payload = jwtVerifier.verifyPayload(jwt);
+
+        assertTrue(payload.isValid());
+        assertArrayEquals(expected, payload.getJson());
+        assertNull(payload.getClaims());
+        assertEquals(Long.MAX_VALUE, payload.getExpiresAtMillis());
+    }
+
+    @Test
+    void testVerifyPayload_ShouldRejectLikeVerify() {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        String expired = Jwts.builder()
+                .claim("Name", "JohnDoe")
+                .expiration(new Date(System.currentTimeMillis() - 60_000))
+                .signWith(key)
+                .compact();
+        String notYetValid = Jwts.builder()
+                .claim("Name", "JohnDoe")
+                .notBefore(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(key)
+                .compact();
+
+        assertEquals(RejectionReason.BAD_SIGNATURE, jwtVerifier.verifyPayload(signedWith(OTHER_SECRET)).getReason());
+        assertEquals(RejectionReason.MALFORMED, jwtVerifier.verifyPayload("invalid.jwt.token").getReason());
+        assertEquals(RejectionReason.MALFORMED, jwtVerifier.verifyPayload(null).getReason());
+        assertEquals(RejectionReason.EXPIRED, jwtVerifier.verifyPayload(expired).getReason());
+        assertEquals(RejectionReason.NOT_YET_VALID, jwtVerifier.verifyPayload(notYetValid).getReason());
+    }
+
+    @Test
+    void testVerifyPayload_ShouldReadExpirationInSeconds() {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        long exp = (System.currentTimeMillis() / 1000 + 3600) * 1000;
+        String jwt = Jwts.builder().claim("Name", "JohnDoe").expiration(new Date(exp)).signWith(key).compact();
+
+        assertEquals(exp, jwtVerifier.verifyPayload(jwt).getExpiresAtMillis());
+    }
+
+    @Test
+    void testVerifyPayload_DatesBeyondTheMillisecondRange_ShouldNotWrapAround() throws Exception {
+        long last = Long.MAX_VALUE / 1000;
+        VerifiedPayload lastExp = jwtVerifier.verifyPayload(signedPayload("{\"Name\":\"a\",\"exp\":" + last + "}"));
+        VerifiedPayload hugeExp = jwtVerifier.verifyPayload(signedPayload("{\"Name\":\"a\",\"exp\":" + (last + 1) + "}"));
+
+        assertTrue(lastExp.isValid());
+        assertEquals(last * 1000, lastExp.getExpiresAtMillis());
+        assertTrue(hugeExp.isValid());
+        assertEquals(Long.MAX_VALUE, hugeExp.getExpiresAtMillis());
+        assertEquals(RejectionReason.EXPIRED,
+                jwtVerifier.verifyPayload(signedPayload("{\"exp\":" + (-last - 1) + "}")).getReason());
+        assertEquals(RejectionReason.NOT_YET_VALID,
+                jwtVerifier.verifyPayload(signedPayload("{\"nbf\":" + last + "}")).getReason());
+        assertEquals(RejectionReason.NOT_YET_VALID,
+                jwtVerifier.verifyPayload(signedPayload("{\"nbf\":" + (last + 1) + "}")).getReason());
+        assertTrue(jwtVerifier.verifyPayload(signedPayload("{\"nbf\":" + (-last - 1) + "}")).isValid());
+    }
+
+    @Test
+    void testVerifyPayload_SignedInvalidJson_ShouldReturnMalformed() throws Exception {
+        assertEquals(RejectionReason.MALFORMED, jwtVerifier.verifyPayload(signedPayload("{\"Name\":")).getReason());
+        assertEquals(RejectionReason.MALFORMED, jwtVerifier.verifyPayload(signedPayload("[1,2]")).getReason());
+        assertEquals(RejectionReason.MALFORMED,
+                jwtVerifier.verifyPayload(signedPayload("{\"Name\":\"a\",\"Name\":\"b\"}")).getReason());
+    }
+
+    @Test
+    void testVerifyPayload_UnusualTokens_ShouldFallBackToClaims() throws Exception {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        String compressed = Jwts.builder().claim("Name", "JohnDoe").compressWith(Jwts.ZIP.DEF).signWith(key).compact();
+        String audienceList = signedPayload("{\"Name\":\"JohnDoe\",\"aud\":[\"a\",\"b\"]}");
+
+        VerifiedPayload fromCompressed = jwtVerifier.verifyPayload(compressed);
+        VerifiedPayload fromAudienceList = jwtVerifier.verifyPayload(audienceList);
+
+        assertNull(fromCompressed.getJson());
+        assertEquals("JohnDoe", fromCompressed.getClaims().get("Name"));
+        assertNull(fromAudienceList.getJson());
+        assertEquals(jwtVerifier.verify(audienceList).getClaims(), fromAudienceList.getClaims());
+    }
+
+    // Assina um payload arbitrário com HS256, para payloads que o jjwt não produziria.
+    private static String signedPayload(String json) throws Exception {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String signingInput = encoder.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8))
+                + "." + encoder.encodeToString(json.getBytes(StandardCharsets.UTF_8));
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return signingInput + "." + encoder.encodeToString(mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
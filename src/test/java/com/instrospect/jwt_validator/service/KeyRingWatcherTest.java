@@ -0,0 +1,147 @@
+package com.instrospect.jwt_validator.service;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyRingWatcherTest {
+
+    private static final String SECRET = "3Vq#mP9$kL2@nR5*jF8&hX4^wC7!tY6zB1";
+    private static final String OLD_KEY = "key-ring-old-secret-key-ring-old-secret";
+    private static final String NEW_KEY = "key-ring-new-secret-key-ring-new-secret";
+
+    @TempDir
+    Path directory;
+
+    private JwtVerifier jwtVerifier;
+    private KeyRingWatcher watcher;
+
+    @BeforeEach
+    void setUp() {
+        jwtVerifier = new JwtVerifier(SECRET);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (watcher != null) {
+            watcher.shutdown();
+        }
+    }
+
+    private static String jwk(String kid, String secret) {
+        String k = Base64.getUrlEncoder().withoutPadding().encodeToString(secret.getBytes(StandardCharsets.UTF_8));
+        return "{\"kty\":\"oct\",\"kid\":\"" + kid + "\",\"k\":\"" + k + "\"}";
+    }
+
+    private static String jwkSet(String... jwks) {
+        return "{\"keys\":[" + String.join(",", jwks) + "]}";
+    }
+
+    // Grava num arquivo temporário e renomeia, como um deploy (o observador nunca lê o arquivo pela metade).
+    private static void write(Path file, String content) throws IOException {
+        Path temporary = Files.writeString(file.resolveSibling(file.getFileName() + ".tmp"), content);
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String signed(String kid, String secret) {
+        return Jwts.builder()
+                .header().keyId(kid).and()
+                .claim("Role", "Admin")
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    @Test
+    void testStartup_ShouldSelectKeyByKid() throws IOException {
+        Path file = directory.resolve("keys.json");
+        write(file, jwkSet(jwk("old", OLD_KEY)));
+
+        watcher = new KeyRingWatcher(jwtVerifier, file.toString(), false);
+
+        assertTrue(jwtVerifier.verify(signed("old", OLD_KEY)).isValid());
+        assertEquals(RejectionReason.BAD_SIGNATURE, jwtVerifier.verify(signed("old", NEW_KEY)).getReason());
+        assertEquals(RejectionReason.UNKNOWN_KEY, jwtVerifier.verify(signed("new", NEW_KEY)).getReason());
+        // Sem kid, o token continua sendo verificado com jwt.secret.
+        assertTrue(jwtVerifier.verify(Jwts.builder().claim("Role", "Admin")
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8))).compact()).isValid());
+    }
+
+    @Test
+    void testReload_ShouldRotateWithOverlapAndSkipUnchangedContent() throws IOException {
+        Path file = directory.resolve("keys.json");
+        write(file, jwkSet(jwk("old", OLD_KEY)));
+        watcher = new KeyRingWatcher(jwtVerifier, file.toString(), false);
+        long generation = jwtVerifier.generation();
+
+        assertFalse(watcher.reload());
+        assertEquals(generation, jwtVerifier.generation());
+
+        write(file, jwkSet(jwk("old", OLD_KEY), jwk("new", NEW_KEY)));
+        assertTrue(watcher.reload());
+        assertTrue(jwtVerifier.verify(signed("old", OLD_KEY)).isValid());
+        assertTrue(jwtVerifier.verify(signed("new", NEW_KEY)).isValid());
+
+        write(file, jwkSet(jwk("new", NEW_KEY)));
+        assertTrue(watcher.reload());
+        assertEquals(RejectionReason.UNKNOWN_KEY, jwtVerifier.verify(signed("old", OLD_KEY)).getReason());
+        assertTrue(jwtVerifier.generation() > generation);
+    }
+
+    @Test
+    void testReload_InvalidContent_ShouldKeepPreviousKeys() throws IOException {
+        Path file = directory.resolve("keys.json");
+        write(file, jwkSet(jwk("old", OLD_KEY)));
+        watcher = new KeyRingWatcher(jwtVerifier, file.toString(), false);
+
+        write(file, "{\"keys\":[");
+        assertFalse(watcher.reload());
+        write(file, jwkSet(jwk("old", OLD_KEY), jwk("old", NEW_KEY)));
+        assertFalse(watcher.reload());
+
+        assertTrue(jwtVerifier.verify(signed("old", OLD_KEY)).isValid());
+    }
+
+    @Test
+    void testDirectory_ShouldMergeFilesAndRejectDuplicateKids() throws IOException {
+        write(directory.resolve("a.json"), jwkSet(jwk("old", OLD_KEY)));
+        write(directory.resolve("b.json"), jwkSet(jwk("new", NEW_KEY)));
+        Files.writeString(directory.resolve("README"), "ignorado");
+
+        watcher = new KeyRingWatcher(jwtVerifier, directory.toString(), false);
+
+        assertTrue(jwtVerifier.verify(signed("old", OLD_KEY)).isValid());
+        assertTrue(jwtVerifier.verify(signed("new", NEW_KEY)).isValid());
+
+        write(directory.resolve("c.json"), jwkSet(jwk("new", OLD_KEY)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new KeyRingWatcher(new JwtVerifier(SECRET), directory.toString(), false));
+    }
+
+    @Test
+    void testWatch_ShouldPickUpNewKeyWithoutRestart() throws Exception {
+        write(directory.resolve("old.json"), jwkSet(jwk("old", OLD_KEY)));
+        watcher = new KeyRingWatcher(jwtVerifier, directory.toString(), true);
+
+        write(directory.resolve("new.json"), jwkSet(jwk("new", NEW_KEY)));
+
+        String token = signed("new", NEW_KEY);
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!jwtVerifier.verify(token).isValid() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(jwtVerifier.verify(token).isValid());
+        assertTrue(jwtVerifier.verify(signed("old", OLD_KEY)).isValid());
+    }
+}
@@ -0,0 +1,127 @@
+package com.instrospect.jwt_validator.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalReplayStoreTest {
+
+    // Fatias de 60s; a roda cobre uma hora.
+    private static final Duration LIFETIME = Duration.ofHours(1);
+    private static final long NOW = 1_800_000_000L;
+
+    @Test
+    void testMarkUsed_SecondUse_ShouldBeRejected() {
+        LocalReplayStore store = new LocalReplayStore(LIFETIME, 60, 4);
+
+        assertTrue(store.markUsed("a", NOW + 300, NOW));
+        assertFalse(store.markUsed("a", NOW + 300, NOW + 10));
+        assertTrue(store.markUsed("b", NOW + 300, NOW + 10));
+        assertEquals(2, store.size());
+
+        assertFalse(store.isUsed("c", Long.MAX_VALUE));
+        assertFalse(store.isUsed("c", Long.MAX_VALUE), "a consulta não registra o jti");
+        assertTrue(store.markUsed("c", Long.MAX_VALUE));
+        assertTrue(store.isUsed("c", Long.MAX_VALUE));
+        assertEquals(4, store.shards());
+    }
+
+    @Test
+    void testMarkUsed_ShouldRememberUntilTheBucketOfExpEnds() {
+        LocalReplayStore store = new LocalReplayStore(LIFETIME, 60, 1);
+        long exp = NOW + 300;
+
+        assertTrue(store.markUsed("a", exp, NOW));
+
+        // Ainda dentro do exp: o jti continua lembrado.
+        assertFalse(store.markUsed("a", exp, exp));
+        // Depois do fim da fatia do exp, a fatia inteira foi descartada.
+        long bucketEnd = (exp / 60 + 1) * 60;
+        assertTrue(store.markUsed("other", NOW + 3000, bucketEnd));
+        assertEquals(1, store.size());
+        assertTrue(store.markUsed("a", bucketEnd + 300, bucketEnd));
+    }
+
+    @Test
+    void testMarkUsed_ExpBeyondLifetime_ShouldBeKeptForTheWholeWheel() {
+        LocalReplayStore store = new LocalReplayStore(LIFETIME, 60, 1);
+
+        assertTrue(store.markUsed("no-exp", Long.MAX_VALUE, NOW));
+
+        assertFalse(store.markUsed("no-exp", Long.MAX_VALUE, NOW + 3599));
+        assertTrue(store.markUsed("no-exp", Long.MAX_VALUE, NOW + 3600 + 60));
+    }
+
+    @Test
+    void testMarkUsed_ClampedThenWithinLifetime_ShouldStillBeFound() {
+        LocalReplayStore store = new LocalReplayStore(LIFETIME, 60, 1);
+        long exp = NOW + 3700;
+
+        // Além da roda: vai para a última fatia, não para a do exp.
+        assertTrue(store.markUsed("far", exp, NOW));
+
+        // Dois minutos depois, o exp já cabe na roda e aponta para outra fatia, mas o jti continua sendo encontrado.
+        assertFalse(store.markUsed("far", exp, NOW + 120));
+        assertTrue(store.markUsed("near", NOW + 600, NOW + 120));
+        assertFalse(store.markUsed("near", NOW + 600, NOW + 180));
+    }
+
+    @Test
+    void testMarkUsed_LongPause_ShouldDropEveryBucket() {
+        LocalReplayStore store = new LocalReplayStore(LIFETIME, 60, 1);
+        for (int i = 0; i < 1000; i++) {
+            store.markUsed("jti-" + i, NOW + i, NOW);
+        }
+        assertEquals(1000, store.size());
+
+        assertTrue(store.markUsed("late", NOW + 86_400 + 10, NOW + 86_400));
+
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void testMarkUsed_ConcurrentUsesOfTheSameJti_ShouldAcceptOnlyOne() throws Exception {
+        LocalReplayStore store = new LocalReplayStore(LIFETIME, 60, 16);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 200; round++) {
+                String jwtId = "jti-" + round;
+                CountDownLatch start = new CountDownLatch(1);
+                AtomicInteger accepted = new AtomicInteger();
+                Future<?>[] futures = new Future<?>[threads];
+                for (int t = 0; t < threads; t++) {
+                    futures[t] = executor.submit(() -> {
+                        start.await();
+                        if (store.markUsed(jwtId, Long.MAX_VALUE)) {
+                            accepted.incrementAndGet();
+                        }
+                        return null;
+                    });
+                }
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get(10, TimeUnit.SECONDS);
+                }
+                assertEquals(1, accepted.get(), jwtId);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testConstructor_InvalidSizes_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new LocalReplayStore(Duration.ZERO, 60, 1));
+        assertThrows(IllegalArgumentException.class, () -> new LocalReplayStore(LIFETIME, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new LocalReplayStore(LIFETIME, 60, 0));
+    }
+}
@@ -0,0 +1,104 @@
+package com.instrospect.jwt_validator.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayGuardTest {
+
+    private static ReplayGuard guard(ReplayStore shared, boolean enabled) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        if (shared != null) {
+            beans.addBean("replayStore", shared);
+        }
+        return new ReplayGuard(beans.getBeanProvider(ReplayStore.class), enabled, Duration.ofHours(1), 16, 0);
+    }
+
+    private static Claims claims(String jwtId) {
+        return Jwts.claims()
+                .id(jwtId)
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .add("Name", "JohnDoe")
+                .build();
+    }
+
+    @Test
+    void testUse_LocalOnly_ShouldRejectTheSecondUse() {
+        ReplayGuard guard = guard(null, true);
+
+        assertNull(guard.use(claims("one-time")));
+        assertEquals(RejectionReason.REPLAYED, guard.use(claims("one-time")));
+        assertNull(guard.use(Jwts.claims().add("Name", "JohnDoe").build()), "sem jti, o token não é de uso único");
+        assertNull(guard.use(Jwts.claims().add("Name", "JohnDoe").build()));
+    }
+
+    @Test
+    void testUse_ExpMissingOrBeyondLifetime_ShouldBeRejected() {
+        ReplayGuard guard = guard(null, true);
+        Claims farExp = Jwts.claims()
+                .id("far")
+                .expiration(new Date(System.currentTimeMillis() + Duration.ofHours(2).toMillis()))
+                .build();
+
+        assertEquals(RejectionReason.LIFETIME_EXCEEDED, guard.use(Jwts.claims().id("no-exp").build()));
+        assertEquals(RejectionReason.LIFETIME_EXCEEDED, guard.use(Jwts.claims().id("no-exp").build()));
+        assertEquals(RejectionReason.LIFETIME_EXCEEDED, guard.use(farExp));
+    }
+
+    @Test
+    void testUse_Disabled_ShouldAcceptEveryUse() {
+        ReplayGuard guard = guard(null, false);
+
+        assertFalse(guard.isEnabled());
+        assertNull(guard.use(claims("one-time")));
+        assertNull(guard.use(claims("one-time")));
+        assertNull(guard.use(Jwts.claims().id("no-exp").build()));
+    }
+
+    @Test
+    void testUse_SharedStore_ShouldRejectAReplayOnAnotherNode() {
+        // Um registro em memória faz o papel do registro compartilhado (Redis, banco) entre os dois nós.
+        LocalReplayStore shared = new LocalReplayStore(Duration.ofHours(1), 16, 1);
+        ReplayGuard nodeA = guard(shared, true);
+        ReplayGuard nodeB = guard(shared, true);
+
+        assertNull(nodeA.use(claims("one-time")));
+        assertEquals(RejectionReason.REPLAYED, nodeB.use(claims("one-time")));
+        assertEquals(RejectionReason.REPLAYED, nodeA.use(claims("one-time")));
+        assertNull(nodeB.use(claims("other")));
+        assertEquals(2, shared.size());
+    }
+
+    @Test
+    void testUse_SharedStoreDown_ShouldFailClosedAndAllowARetry() {
+        LocalReplayStore backend = new LocalReplayStore(Duration.ofHours(1), 16, 1);
+        AtomicBoolean down = new AtomicBoolean(true);
+        ReplayGuard guard = guard((jwtId, expiresAtSeconds) -> {
+            if (down.get()) {
+                throw new IOException("connection refused");
+            }
+            return backend.markUsed(jwtId, expiresAtSeconds);
+        }, true);
+
+        assertThrows(UncheckedIOException.class, () -> guard.use(claims("one-time")));
+        assertThrows(UncheckedIOException.class, () -> guard.use(claims("one-time")));
+
+        // O token nunca foi aceito: com o registro de volta, a nova tentativa é o primeiro uso.
+        down.set(false);
+        assertNull(guard.use(claims("one-time")));
+        assertEquals(RejectionReason.REPLAYED, guard.use(claims("one-time")));
+
+        // Já visto por este nó: recusado mesmo com o registro compartilhado fora do ar.
+        down.set(true);
+        assertEquals(RejectionReason.REPLAYED, guard.use(claims("one-time")));
+    }
+}
@@ -0,0 +1,136 @@
+package com.instrospect.jwt_validator.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevocationFeedTest {
+
+    private static final String SECRET = "3Vq#mP9$kL2@nR5*jF8&hX4^wC7!tY6zB1";
+    // SHA-256 de "x.y.z".
+    private static final String TOKEN_HASH = "f7304f12be673526050bf784fcb0aeac9d6a9f6516b4acbf99a375891644b123";
+
+    @TempDir
+    Path directory;
+
+    private RevocationList revocationList;
+    private RevocationFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        revocationList = new RevocationList();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (feed != null) {
+            feed.shutdown();
+        }
+    }
+
+    private RevocationFeed feed(Path file, boolean watch) throws IOException {
+        JwtVerifier jwtVerifier = new JwtVerifier(SECRET);
+        ValidationResultCache cache = new ValidationResultCache(jwtVerifier, revocationList, true, 100, Duration.ofMinutes(5));
+        return new RevocationFeed(revocationList, cache, file.toString(), watch, Duration.ZERO);
+    }
+
+    private static void append(Path file, String content) throws IOException {
+        Files.writeString(file, content, StandardOpenOption.APPEND);
+    }
+
+    @Test
+    void testStartup_ShouldLoadEntriesAndSkipInvalidLines() throws IOException {
+        Path file = Files.writeString(directory.resolve("revoked.txt"), """
+                # revogados
+                jti first
+                jti second 4102444800
+
+                sha256 %s
+                sha256 not-hex
+                jwk third
+                jti fourth -1
+                """.formatted(TOKEN_HASH));
+
+        feed = feed(file, false);
+
+        assertEquals(3, revocationList.size());
+        assertTrue(revocationList.isRevoked(null, "first"));
+        assertTrue(revocationList.isRevoked(null, "second"));
+        assertFalse(revocationList.isRevoked(null, "third"));
+        assertFalse(revocationList.isRevoked(null, "fourth"));
+        assertTrue(revocationList.isRevoked("x.y.z", null));
+    }
+
+    @Test
+    void testUpdate_AppendedLines_ShouldBeAddedIncrementally() throws IOException {
+        Path file = Files.writeString(directory.resolve("revoked.txt"), "jti first\n");
+        feed = feed(file, false);
+
+        append(file, "jti second\njti thi");
+        assertEquals(1, feed.update());
+        assertTrue(revocationList.isRevoked(null, "second"));
+        // A linha sem quebra final espera a próxima gravação.
+        assertFalse(revocationList.isRevoked(null, "thi"));
+
+        append(file, "rd\n");
+        assertEquals(1, feed.update());
+        assertTrue(revocationList.isRevoked(null, "third"));
+        assertEquals(0, feed.update());
+        assertEquals(3, revocationList.size());
+    }
+
+    @Test
+    void testUpdate_ReplacedOrTruncatedFile_ShouldReloadEverything() throws IOException {
+        Path file = Files.writeString(directory.resolve("revoked.txt"), "jti first\njti second\n");
+        feed = feed(file, false);
+
+        Path replacement = Files.writeString(directory.resolve("revoked.tmp"), "jti third\n");
+        Files.move(replacement, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        assertEquals(-1, feed.update());
+        assertFalse(revocationList.isRevoked(null, "first"));
+        assertTrue(revocationList.isRevoked(null, "third"));
+
+        Files.writeString(file, "jti x\n", StandardOpenOption.TRUNCATE_EXISTING);
+        assertEquals(-1, feed.update());
+        assertFalse(revocationList.isRevoked(null, "third"));
+        assertTrue(revocationList.isRevoked(null, "x"));
+    }
+
+    @Test
+    void testWatch_AppendedLine_ShouldBeAppliedWithoutRestart() throws Exception {
+        Path file = Files.writeString(directory.resolve("revoked.txt"), "");
+        feed = feed(file, true);
+
+        append(file, "jti late\n");
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(20).toNanos();
+        while (!revocationList.isRevoked(null, "late") && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(revocationList.isRevoked(null, "late"));
+    }
+
+    @Test
+    void testStartup_MissingFile_ShouldFail() {
+        assertThrows(NoSuchFileException.class, () -> feed(directory.resolve("missing.txt"), false));
+    }
+
+    @Test
+    void testStartup_BlankPath_ShouldDisableFeed() throws IOException {
+        feed = new RevocationFeed(revocationList, null, "", true, Duration.ofMinutes(1));
+
+        assertEquals(0, feed.update());
+        assertEquals(0, revocationList.size());
+    }
+}
@@ -0,0 +1,131 @@
+package com.instrospect.jwt_validator.service;
+
+import com.instrospect.jwt_validator.service.RevocationList.Revocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevocationListTest {
+
+    private RevocationList revocationList;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        revocationList = new RevocationList();
+        now = System.currentTimeMillis() / 1000;
+    }
+
+    private static String sha256Hex(String value) throws NoSuchAlgorithmException {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest);
+    }
+
+    @Test
+    void testIsRevoked_ByJwtIdAndByTokenHash() throws NoSuchAlgorithmException {
+        assertFalse(revocationList.isRevoked("a.b.c", "jti-1"));
+
+        int added = revocationList.add(List.of(
+                Revocation.ofJwtId("jti-1", now + 3600),
+                Revocation.ofTokenHash(sha256Hex("x.y.z"), RevocationList.NEVER_EXPIRES)));
+
+        assertEquals(2, added);
+        assertTrue(revocationList.isRevoked("a.b.c", "jti-1"));
+        assertTrue(revocationList.isRevoked("x.y.z", null));
+        assertFalse(revocationList.isRevoked("a.b.c", "jti-2"));
+        assertFalse(revocationList.isRevoked("a.b.c", null));
+        // Um jti igual ao texto de um token revogado por hash não é confundido com ele.
+        assertFalse(revocationList.isRevoked("other", "x.y.z"));
+        assertEquals(Revocation.ofToken("x.y.z", 1).key(), Revocation.ofTokenHash(sha256Hex("x.y.z"), 1).key());
+    }
+
+    @Test
+    void testIsRevoked_NonCanonicalSignature_ShouldMatchTheRevokedHash() throws NoSuchAlgorithmException {
+        // 43 caracteres (32 bytes): os 2 últimos bits do último caractere não fazem parte da assinatura.
+        String signature = "A".repeat(42) + "Q";
+        String token = "eyJhbGciOiJIUzI1NiJ9.eyJOYW1lIjoiSm9obkRvZSJ9." + signature;
+        revocationList.add(List.of(Revocation.ofTokenHash(sha256Hex(token), RevocationList.NEVER_EXPIRES)));
+
+        assertTrue(revocationList.isRevoked(token, null));
+        assertTrue(revocationList.isRevoked(token.substring(0, token.length() - 1) + "R", null));
+        assertTrue(revocationList.isRevoked(token.substring(0, token.length() - 1) + "T", null));
+        assertFalse(revocationList.isRevoked(token.substring(0, token.length() - 1) + "U", null));
+        assertSame(token, RevocationList.canonicalToken(token));
+    }
+
+    @Test
+    void testAdd_RepeatedEntry_ShouldKeepLatestExpiry() {
+        assertEquals(1, revocationList.add(List.of(Revocation.ofJwtId("jti-1", now + 60))));
+        assertEquals(0, revocationList.add(List.of(Revocation.ofJwtId("jti-1", now + 3600))));
+        assertEquals(1, revocationList.size());
+        assertTrue(revocationList.isRevoked(null, "jti-1"));
+    }
+
+    @Test
+    void testCompact_ShouldRemoveEntriesPastExpiry() throws InterruptedException {
+        revocationList.add(List.of(Revocation.ofJwtId("expired", now - 10)));
+        assertEquals(0, revocationList.size(), "entradas já expiradas não são incluídas");
+
+        revocationList.add(List.of(Revocation.ofJwtId("live", now + 3600), Revocation.ofJwtId("short", now + 1)));
+        assertTrue(revocationList.isRevoked(null, "short"));
+
+        while (System.currentTimeMillis() / 1000 <= now + 1) {
+            Thread.sleep(50);
+        }
+
+        assertFalse(revocationList.isRevoked(null, "short"));
+        assertEquals(1, revocationList.compact());
+        assertEquals(1, revocationList.size());
+        assertTrue(revocationList.isRevoked(null, "live"));
+    }
+
+    @Test
+    void testAdd_ManyEntries_ShouldGrowWithoutLosingAny() {
+        List<Revocation> revocations = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            revocations.add(Revocation.ofJwtId("jti-" + i, now + 3600));
+        }
+        for (int i = 0; i < revocations.size(); i += 1000) {
+            revocationList.add(revocations.subList(i, i + 1000));
+        }
+
+        assertEquals(50_000, revocationList.size());
+        for (int i = 0; i < 50_000; i++) {
+            assertTrue(revocationList.isRevoked(null, "jti-" + i), "jti-" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 50_000; i < 100_000; i++) {
+            if (revocationList.isRevoked(null, "jti-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertEquals(0, falsePositives);
+        // 12 bytes por posição, com ocupação de pelo menos 3/8, mais o filtro de Bloom.
+        assertTrue(revocationList.memoryBytes() < 50_000 * 48L, "memória: " + revocationList.memoryBytes());
+    }
+
+    @Test
+    void testReplaceAll_ShouldDropPreviousEntries() {
+        revocationList.add(List.of(Revocation.ofJwtId("old", now + 3600)));
+
+        revocationList.replaceAll(List.of(Revocation.ofJwtId("new", now + 3600), Revocation.ofJwtId("gone", now - 10)));
+
+        assertFalse(revocationList.isRevoked(null, "old"));
+        assertTrue(revocationList.isRevoked(null, "new"));
+        assertEquals(1, revocationList.size());
+    }
+
+    @Test
+    void testOfTokenHash_InvalidHex_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> Revocation.ofTokenHash("abc", 0));
+        assertThrows(IllegalArgumentException.class, () -> Revocation.ofTokenHash("z".repeat(64), 0));
+    }
+}
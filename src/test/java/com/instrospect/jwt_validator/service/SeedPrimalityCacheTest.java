@@ -0,0 +1,49 @@
+package com.instrospect.jwt_validator.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeedPrimalityCacheTest {
+
+    @Test
+    void testGet_ShouldReturnStoredVerdictAndCountHits() {
+        SeedPrimalityCache cache = new SeedPrimalityCache(true, 16);
+
+        assertNull(cache.get("7"));
+        cache.put("7", true);
+        cache.put("8", false);
+
+        assertEquals(Boolean.TRUE, cache.get("7"));
+        assertEquals(Boolean.FALSE, cache.get("8"));
+        assertEquals(2, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    void testGet_Disabled_ShouldAlwaysMiss() {
+        SeedPrimalityCache cache = new SeedPrimalityCache(false, 16);
+
+        cache.put("7", true);
+
+        assertNull(cache.get("7"));
+        assertEquals(0, cache.stats().requestCount());
+    }
+
+    @Test
+    void testBindTo_ShouldPublishHitAndMissCounters() {
+        SeedPrimalityCache cache = new SeedPrimalityCache(true, 16);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.get("7");
+        cache.put("7", true);
+        cache.get("7");
+
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", SeedPrimalityCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", SeedPrimalityCache.CACHE_NAME)
+                .tag("result", "miss").functionCounter().count());
+    }
+}
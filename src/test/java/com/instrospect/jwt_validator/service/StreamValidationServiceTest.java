@@ -0,0 +1,166 @@
+package com.instrospect.jwt_validator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import javax.crypto.SecretKey;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamValidationServiceTest {
+
+    private static final String SECRET = "3Vq#mP9$kL2@nR5*jF8&hX4^wC7!tY6zB1";
+
+    private ExecutorService executor;
+    private JwtValidationService jwtValidationService;
+    private SecretKey key;
+
+    @BeforeEach
+    void setUp() {
+        jwtValidationService = new JwtValidationService();
+        JwtVerifier jwtVerifier = new JwtVerifier(SECRET);
+        ReflectionTestUtils.setField(jwtValidationService, "jwtVerifier", jwtVerifier);
+        ReflectionTestUtils.setField(jwtValidationService, "tokenPreScreener", new TokenPreScreener(jwtVerifier,
+                new StaticListableBeanFactory().getBeanProvider(JwksProvider.class), true, 8192));
+        RevocationList revocationList = new RevocationList();
+        ReflectionTestUtils.setField(jwtValidationService, "validationResultCache",
+                new ValidationResultCache(jwtVerifier, revocationList, false, 0, Duration.ZERO));
+        ReflectionTestUtils.setField(jwtValidationService, "primalityChecker", new PrimalityChecker(DataSize.ofKilobytes(64)));
+        ReflectionTestUtils.setField(jwtValidationService, "seedPrimalityCache", new SeedPrimalityCache(true, 16));
+        ReflectionTestUtils.setField(jwtValidationService, "validationLogger",
+                new ValidationLogger(ValidationLogger.Mode.SAMPLED, 0, 0, true, Duration.ZERO));
+        ReflectionTestUtils.setField(jwtValidationService, "validationMetrics",
+                new ValidationMetrics(new SimpleMeterRegistry(), true, true, 1.0));
+        ReflectionTestUtils.setField(jwtValidationService, "claimsJsonWriter", new ClaimsJsonWriter());
+        ReflectionTestUtils.setField(jwtValidationService, "revocationList", revocationList);
+        ReflectionTestUtils.setField(jwtValidationService, "replayGuard", new ReplayGuard(
+                new StaticListableBeanFactory().getBeanProvider(ReplayStore.class), false, Duration.ofHours(1), 16, 0));
+        ReflectionTestUtils.setField(jwtValidationService, "jwksRefresher", new JwksRefresher(jwtVerifier,
+                new StaticListableBeanFactory().getBeanProvider(JwksProvider.class), Duration.ZERO, Duration.ZERO,
+                Duration.ZERO, Duration.ZERO));
+        executor = Executors.newFixedThreadPool(3);
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private StreamValidationService service(int window, int maxLineLength) {
+        return new StreamValidationService(jwtValidationService, executor, new ObjectMapper(), window, maxLineLength, true);
+    }
+
+    private String jwtWithSeed(int seed) {
+        return Jwts.builder()
+                .claim("Name", "JohnDoe")
+                .claim("Role", "Admin")
+                .claim("Seed", Integer.toString(seed))
+                .signWith(key)
+                .compact();
+    }
+
+    private static String run(StreamValidationService service, String input) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.validateStream(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testValidateStream_ShouldWriteOrderedVerdictsWithSmallWindow() throws IOException {
+        StringBuilder input = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int seed = 2; seed <= 30; seed++) {
+            input.append("{\"jwt\":\"").append(jwtWithSeed(seed)).append("\"}\n");
+            boolean prime = seed == 2 || seed == 3 || seed == 5 || seed == 7 || seed == 11 || seed == 13
+                    || seed == 17 || seed == 19 || seed == 23 || seed == 29;
+            expected.append("{\"line\":").append(seed - 1).append(",\"valid\":").append(prime)
+                    .append(prime ? "" : ",\"reason\":\"SEED_NOT_PRIME\"").append("}\n");
+        }
+
+        assertEquals(expected.toString(), run(service(2, 1024), input.toString()));
+    }
+
+    @Test
+    void testValidateStream_InvalidLines_ShouldProduceRejections() throws IOException {
+        String input = "{\"jwt\":\"" + jwtWithSeed(7) + "\"}\r\n"
+                + "\n"
+                + "not json\n"
+                + "{\"jwt\":\"" + "a".repeat(400) + "\"}\n"
+                + "{}\n"
+                + "{\"jwt\":\"" + jwtWithSeed(7) + "\"}";
+
+        String output = run(service(4, 384), input);
+
+        assertEquals("""
+                {"line":1,"valid":true}
+                {"line":3,"valid":false,"reason":"MALFORMED"}
+                {"line":4,"valid":false,"reason":"TOKEN_TOO_LARGE"}
+                {"line":5,"valid":false,"reason":"MALFORMED"}
+                {"line":6,"valid":true}
+                """, output);
+    }
+
+    @Test
+    void testValidateStream_RepeatedJti_ShouldAcceptTheFirstLineEvenIfItFinishesLast() throws IOException {
+        ReflectionTestUtils.setField(jwtValidationService, "replayGuard", new ReplayGuard(
+                new StaticListableBeanFactory().getBeanProvider(ReplayStore.class), true, Duration.ofHours(1), 16, 0));
+        // A verificação da primeira linha só começa depois das demais terminarem.
+        AtomicBoolean first = new AtomicBoolean(true);
+        executor.shutdownNow();
+        executor = new ThreadPoolExecutor(3, 3, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()) {
+            @Override
+            protected void beforeExecute(Thread thread, Runnable task) {
+                if (first.compareAndSet(true, false)) {
+                    try {
+                        Thread.sleep(200);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        };
+        String token = Jwts.builder()
+                .id("one-time")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .claim("Name", "JohnDoe")
+                .claim("Role", "Admin")
+                .claim("Seed", "7")
+                .signWith(key)
+                .compact();
+        String line = "{\"jwt\":\"" + token + "\"}\n";
+
+        String output = run(service(4, 1024), line.repeat(3));
+
+        assertEquals("""
+                {"line":1,"valid":true}
+                {"line":2,"valid":false,"reason":"REPLAYED"}
+                {"line":3,"valid":false,"reason":"REPLAYED"}
+                """, output);
+    }
+
+    @Test
+    void testValidateStream_EmptyInput_ShouldWriteNothing() throws IOException {
+        assertEquals("", run(service(4, 1024), ""));
+    }
+}
@@ -0,0 +1,98 @@
+package com.instrospect.jwt_validator.service;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenPreScreenerTest {
+
+    private static final String SECRET = "3Vq#mP9$kL2@nR5*jF8&hX4^wC7!tY6zB1";
+
+    private TokenPreScreener preScreener;
+    private String validJwt;
+
+    @BeforeEach
+    void setUp() {
+        preScreener = new TokenPreScreener(new JwtVerifier(SECRET),
+                new StaticListableBeanFactory().getBeanProvider(JwksProvider.class), true, 512);
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        validJwt = Jwts.builder()
+                .claim("Name", "JohnDoe")
+                .claim("Role", "Admin")
+                .claim("Seed", "7")
+                .signWith(key)
+                .compact();
+    }
+
+    private static String withHeader(String headerJson) {
+        String header = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(headerJson.getBytes(StandardCharsets.UTF_8));
+        return header + ".eyJOYW1lIjoiSm9obkRvZSJ9.c2lnbmF0dXJl";
+    }
+
+    @Test
+    void testScreen_WellFormedToken_ShouldPass() {
+        assertNull(preScreener.screen(validJwt));
+        assertNull(preScreener.screen(withHeader("{ \"typ\" : \"JWT\" , \"alg\" : \"HS256\" }")));
+    }
+
+    @Test
+    void testScreen_StructuralProblems_ShouldReturnMalformed() {
+        assertEquals(RejectionReason.MALFORMED, preScreener.screen(null));
+        assertEquals(RejectionReason.MALFORMED, preScreener.screen(""));
+        assertEquals(RejectionReason.MALFORMED, preScreener.screen("abc.def"));
+        assertEquals(RejectionReason.MALFORMED, preScreener.screen(validJwt + ".extra"));
+        assertEquals(RejectionReason.MALFORMED, preScreener.screen(validJwt.replace('.', '+')));
+        assertEquals(RejectionReason.MALFORMED, preScreener.screen(validJwt.substring(0, validJwt.lastIndexOf('.') + 1)));
+        assertEquals(RejectionReason.MALFORMED, preScreener.screen(validJwt + "=="));
+        assertEquals(RejectionReason.MALFORMED, preScreener.screen(withHeader("[\"alg\",\"HS256\"]")));
+    }
+
+    @Test
+    void testScreen_OversizedToken_ShouldReturnTokenTooLarge() {
+        assertEquals(RejectionReason.TOKEN_TOO_LARGE, preScreener.screen("a".repeat(513)));
+    }
+
+    @Test
+    void testScreen_UnexpectedAlgorithm_ShouldReturnUnsupportedAlgorithm() {
+        assertEquals(RejectionReason.UNSUPPORTED_ALGORITHM, preScreener.screen(withHeader("{\"alg\":\"none\"}")));
+        assertEquals(RejectionReason.UNSUPPORTED_ALGORITHM, preScreener.screen(withHeader("{\"alg\":\"HS2560\"}")));
+        assertEquals(RejectionReason.UNSUPPORTED_ALGORITHM, preScreener.screen(withHeader("{\"alg\":\"HS512\"}")));
+        assertEquals(RejectionReason.UNSUPPORTED_ALGORITHM, preScreener.screen(withHeader("{\"alg\":256}")));
+        assertEquals(RejectionReason.UNSUPPORTED_ALGORITHM, preScreener.screen(withHeader("{\"typ\":\"JWT\"}")));
+        // "alg" como valor, e não como chave, não conta
+        assertEquals(RejectionReason.UNSUPPORTED_ALGORITHM, preScreener.screen(withHeader("{\"kid\":\"alg\"}")));
+    }
+
+    @Test
+    void testScreen_JwksConfigured_ShouldPassAsymmetricAlgorithmsWithoutLoadedKeys() {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("jwksProvider", (JwksProvider) List::of);
+        TokenPreScreener withJwks = new TokenPreScreener(new JwtVerifier(SECRET),
+                beans.getBeanProvider(JwksProvider.class), true, 512);
+
+        assertNull(withJwks.screen(withHeader("{\"alg\":\"RS256\",\"kid\":\"k1\"}")));
+        assertNull(withJwks.screen(withHeader("{\"alg\":\"ES256\",\"kid\":\"k1\"}")));
+        assertNull(withJwks.screen(withHeader("{\"alg\":\"EdDSA\",\"kid\":\"k1\"}")));
+        assertEquals(RejectionReason.UNSUPPORTED_ALGORITHM, withJwks.screen(withHeader("{\"alg\":\"none\"}")));
+        assertEquals(RejectionReason.UNSUPPORTED_ALGORITHM, withJwks.screen(withHeader("{\"alg\":\"HS512\"}")));
+        assertEquals(RejectionReason.UNSUPPORTED_ALGORITHM, preScreener.screen(withHeader("{\"alg\":\"RS256\"}")));
+    }
+
+    @Test
+    void testScreen_Disabled_ShouldPassEverything() {
+        TokenPreScreener disabled = new TokenPreScreener(new JwtVerifier(SECRET),
+                new StaticListableBeanFactory().getBeanProvider(JwksProvider.class), false, 512);
+
+        assertNull(disabled.screen("not-a-jwt"));
+    }
+}
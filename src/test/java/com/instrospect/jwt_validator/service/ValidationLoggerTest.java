@@ -0,0 +1,104 @@
+package com.instrospect.jwt_validator.service;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationLoggerTest {
+
+    private final Claims claims = Jwts.claims()
+            .add("Name", "JohnDoe").add("Role", "Admin").add("Seed", "7").build();
+    private Logger logger;
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        logger = (Logger) LoggerFactory.getLogger(ValidationLogger.class);
+        appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void testAccepted_ShouldRedactClaimValuesByDefault() {
+        ValidationLogger validationLogger = new ValidationLogger(ValidationLogger.Mode.PER_REQUEST, 0, 0, true, Duration.ZERO);
+
+        validationLogger.accepted(claims);
+
+        assertEquals(1, appender.list.size());
+        String message = appender.list.get(0).getFormattedMessage();
+        assertTrue(message.contains("Name=***"));
+        assertFalse(message.contains("JohnDoe"));
+    }
+
+    @Test
+    void testRejected_RedactionDisabled_ShouldLogClaimValues() {
+        ValidationLogger validationLogger = new ValidationLogger(ValidationLogger.Mode.PER_REQUEST, 0, 0, false, Duration.ZERO);
+
+        validationLogger.rejected(RejectionReason.SEED_NOT_PRIME, claims);
+
+        String message = appender.list.get(0).getFormattedMessage();
+        assertTrue(message.contains("SEED_NOT_PRIME"));
+        assertTrue(message.contains("JohnDoe"));
+    }
+
+    @Test
+    void testSampled_ShouldHonourRates() {
+        ValidationLogger silent = new ValidationLogger(ValidationLogger.Mode.SAMPLED, 0, 0, true, Duration.ZERO);
+        for (int i = 0; i < 100; i++) {
+            silent.accepted(claims);
+            silent.rejected(RejectionReason.BAD_SIGNATURE, null);
+        }
+        assertTrue(appender.list.isEmpty());
+
+        ValidationLogger rejectionsOnly = new ValidationLogger(ValidationLogger.Mode.SAMPLED, 0, 1, true, Duration.ZERO);
+        rejectionsOnly.accepted(claims);
+        rejectionsOnly.rejected(RejectionReason.BAD_SIGNATURE, null);
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().contains("BAD_SIGNATURE"));
+    }
+
+    @Test
+    void testFailed_ShouldAlwaysLog() {
+        ValidationLogger validationLogger = new ValidationLogger(ValidationLogger.Mode.SAMPLED, 0, 0, true, Duration.ZERO);
+
+        validationLogger.failed("Erro inesperado", new IllegalStateException("falha"));
+
+        assertEquals(1, appender.list.size());
+        assertNotNull(appender.list.get(0).getThrowableProxy());
+    }
+
+    @Test
+    void testLogSummary_ShouldReportCountersAndReset() {
+        ValidationLogger validationLogger = new ValidationLogger(ValidationLogger.Mode.SAMPLED, 0, 0, true, Duration.ZERO);
+        validationLogger.accepted(claims);
+        validationLogger.extracted();
+        validationLogger.rejected(RejectionReason.NAME_INVALID, claims);
+        validationLogger.rejected(RejectionReason.MALFORMED, null);
+        validationLogger.rejected(RejectionReason.MALFORMED, null);
+
+        validationLogger.logSummary();
+        validationLogger.logSummary();
+
+        assertEquals(1, appender.list.size());
+        String summary = appender.list.get(0).getFormattedMessage();
+        assertTrue(summary.contains("2 aceitos, 3 rejeitados"));
+        assertTrue(summary.contains("MALFORMED=2"));
+        assertTrue(summary.contains("NAME_INVALID=1"));
+    }
+}
@@ -0,0 +1,67 @@
+package com.instrospect.jwt_validator.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void testLap_ShouldRecordStageAndReturnCurrentInstant() {
+        ValidationMetrics metrics = new ValidationMetrics(registry, true, true, 1.0);
+
+        long start = metrics.start();
+        long next = metrics.lap(ValidationMetrics.Stage.PRESCREEN, start);
+        metrics.lap(ValidationMetrics.Stage.CLAIMS_JSON, next);
+
+        assertTrue(next >= start);
+        assertEquals(1, registry.get("jwt.validation.stage").tag("stage", "prescreen").timer().count());
+        assertEquals(1, registry.get("jwt.validation.stage").tag("stage", "claims-json").timer().count());
+        assertEquals(0, registry.get("jwt.validation.stage").tag("stage", "signature").timer().count());
+    }
+
+    @Test
+    void testCompleted_ShouldCountRejectionsByReason() {
+        ValidationMetrics metrics = new ValidationMetrics(registry, true, true, 1.0);
+        Claims claims = Jwts.claims().add("Name", "JohnDoe").build();
+
+        metrics.completed(ValidationResult.valid(claims), metrics.start());
+        metrics.completed(ValidationResult.rejected(RejectionReason.SEED_NOT_PRIME, claims), metrics.start());
+        metrics.completed(ValidationResult.rejected(RejectionReason.SEED_NOT_PRIME, claims), metrics.start());
+
+        assertEquals(1.0, registry.get("jwt.validation.accepted").counter().count());
+        assertEquals(1, registry.get("jwt.validation").tag("result", "valid").timer().count());
+        assertEquals(2, registry.get("jwt.validation").tag("result", "rejected").timer().count());
+        assertEquals(2.0, registry.get("jwt.validation.rejections").tag("reason", "SEED_NOT_PRIME").counter().count());
+        assertEquals(0.0, registry.get("jwt.validation.rejections").tag("reason", "NAME_INVALID").counter().count());
+    }
+
+    @Test
+    void testDisabled_ShouldRecordNothing() {
+        ValidationMetrics metrics = new ValidationMetrics(registry, false, true, 1.0);
+
+        metrics.lap(ValidationMetrics.Stage.SEED, metrics.start());
+        metrics.completed(ValidationResult.rejected(RejectionReason.MALFORMED), metrics.start());
+
+        assertEquals(0, registry.get("jwt.validation.stage").tag("stage", "seed").timer().count());
+        assertEquals(0.0, registry.get("jwt.validation.rejections").tag("reason", "MALFORMED").counter().count());
+    }
+
+    @Test
+    void testTimerSampleRate_ShouldCountEveryResultButTimeOnlySampledOnes() {
+        ValidationMetrics metrics = new ValidationMetrics(registry, true, true, 0);
+
+        long start = metrics.start();
+        assertEquals(ValidationMetrics.NOT_SAMPLED, metrics.lap(ValidationMetrics.Stage.PRESCREEN, start));
+        metrics.completed(ValidationResult.rejected(RejectionReason.MALFORMED), start);
+
+        assertEquals(0, registry.get("jwt.validation.stage").tag("stage", "prescreen").timer().count());
+        assertEquals(0, registry.get("jwt.validation").tag("result", "rejected").timer().count());
+        assertEquals(1.0, registry.get("jwt.validation.rejections").tag("reason", "MALFORMED").counter().count());
+    }
+}
@@ -0,0 +1,105 @@
+package com.instrospect.jwt_validator.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationResultCacheTest {
+
+    private static final String SECRET = "3Vq#mP9$kL2@nR5*jF8&hX4^wC7!tY6zB1";
+    private static final String TOKEN = "header.payload.signature";
+
+    private JwtVerifier jwtVerifier;
+    private RevocationList revocationList;
+    private ValidationResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        jwtVerifier = new JwtVerifier(SECRET);
+        revocationList = new RevocationList();
+        cache = new ValidationResultCache(jwtVerifier, revocationList, true, 100, Duration.ofMinutes(5));
+    }
+
+    private static Claims claimsExpiringIn(Duration duration) {
+        return Jwts.claims()
+                .add("Name", "JohnDoe")
+                .expiration(new Date(System.currentTimeMillis() + duration.toMillis()))
+                .build();
+    }
+
+    private static ValidationResult validExpiringIn(Duration duration) {
+        return ValidationResult.valid(claimsExpiringIn(duration));
+    }
+
+    @Test
+    void testGetResult_AfterPut_ShouldReturnStoredResult() {
+        ValidationResult result = validExpiringIn(Duration.ofMinutes(1));
+        cache.putResult(cache.keyFor(TOKEN), result);
+
+        assertSame(result, cache.getResult(cache.keyFor(TOKEN)));
+        assertNull(cache.getResult(cache.keyFor(TOKEN + "x")));
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    void testPutClaimsJson_ShouldKeepPreviousResult() {
+        ValidationResultCache.CacheKey key = cache.keyFor(TOKEN);
+        Claims claims = claimsExpiringIn(Duration.ofMinutes(1));
+        cache.putResult(key, ValidationResult.rejected(RejectionReason.ROLE_INVALID, claims));
+        cache.putClaimsJson(key, claims, "{\"Name\":\"JohnDoe\"}".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(RejectionReason.ROLE_INVALID, cache.getResult(key).getReason());
+        assertArrayEquals("{\"Name\":\"JohnDoe\"}".getBytes(StandardCharsets.UTF_8), cache.getClaimsJson(key));
+    }
+
+    @Test
+    void testPutResult_ExpiredToken_ShouldNotBeStored() {
+        ValidationResultCache.CacheKey key = cache.keyFor(TOKEN);
+        cache.putResult(key, validExpiringIn(Duration.ofSeconds(-1)));
+
+        assertNull(cache.getResult(key));
+    }
+
+    @Test
+    void testKeyFor_AfterSecretRotation_ShouldMissPreviousEntries() {
+        cache.putResult(cache.keyFor(TOKEN), validExpiringIn(Duration.ofMinutes(1)));
+
+        jwtVerifier.updateSecret("wrongsecretwrongsecretwrongsecret");
+
+        assertNull(cache.getResult(cache.keyFor(TOKEN)));
+    }
+
+    @Test
+    void testKeyFor_RevocationDuringValidation_ShouldMissTheLateResult() {
+        // A validação calcula a chave e consulta a lista antes da revogação, e grava o resultado depois dela.
+        ValidationResultCache.CacheKey key = cache.keyFor(TOKEN);
+        assertFalse(revocationList.isRevoked(TOKEN, null));
+        revocationList.add(List.of(RevocationList.Revocation.ofToken(TOKEN, RevocationList.NEVER_EXPIRES)));
+        cache.putResult(key, validExpiringIn(Duration.ofMinutes(1)));
+        cache.putClaimsJson(key, claimsExpiringIn(Duration.ofMinutes(1)), "{}".getBytes(StandardCharsets.UTF_8));
+
+        assertNull(cache.getResult(cache.keyFor(TOKEN)));
+        assertNull(cache.getClaimsJson(cache.keyFor(TOKEN)));
+    }
+
+    @Test
+    void testDisabledCache_ShouldNeverStoreResults() {
+        ValidationResultCache disabled = new ValidationResultCache(jwtVerifier, revocationList, false, 100, Duration.ofMinutes(5));
+        ValidationResultCache.CacheKey key = disabled.keyFor(TOKEN);
+        disabled.putResult(key, validExpiringIn(Duration.ofMinutes(1)));
+
+        assertFalse(disabled.isEnabled());
+        assertNull(key);
+        assertNull(disabled.getResult(key));
+        assertEquals(0, disabled.size());
+    }
+}
@@ -0,0 +1,75 @@
+package com.instrospect.jwt_validator.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Base64UrlTest {
+
+    @Test
+    @DisplayName("Should decode the same bytes as java.util.Base64 for every remainder length")
+    void testDecode_ShouldMatchJdkDecoder() {
+        for (int length = 0; length < 40; length++) {
+            byte[] original = new byte[length];
+            for (int i = 0; i < length; i++) {
+                original[i] = (byte) (i * 37 + length);
+            }
+            String encoded = "x." + Base64.getUrlEncoder().withoutPadding().encodeToString(original) + ".y";
+
+            byte[] decoded = Base64Url.decode(encoded, 2, encoded.length() - 2);
+
+            assertArrayEquals(original, decoded);
+            for (int i = 0; i < length; i++) {
+                assertEquals(original[i] & 0xFF, Base64Url.decodedByteAt(encoded, 2, i));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should return null instead of throwing for invalid input")
+    void testDecode_InvalidInput_ShouldReturnNull() {
+        assertNull(Base64Url.decode("ab+c", 0, 4));
+        assertNull(Base64Url.decode("abc=", 0, 4));
+        assertNull(Base64Url.decode("abcde", 0, 5));
+        assertNull(Base64Url.decode("ação", 0, 4));
+    }
+
+    @Test
+    @DisplayName("Should accept only base64url characters")
+    void testIsBase64UrlChar() {
+        assertTrue(Base64Url.isBase64UrlChar('A'));
+        assertTrue(Base64Url.isBase64UrlChar('z'));
+        assertTrue(Base64Url.isBase64UrlChar('0'));
+        assertTrue(Base64Url.isBase64UrlChar('-'));
+        assertTrue(Base64Url.isBase64UrlChar('_'));
+        assertFalse(Base64Url.isBase64UrlChar('+'));
+        assertFalse(Base64Url.isBase64UrlChar('/'));
+        assertFalse(Base64Url.isBase64UrlChar('='));
+        assertFalse(Base64Url.isBase64UrlChar('.'));
+        assertFalse(Base64Url.isBase64UrlChar('é'));
+    }
+
+    @Test
+    @DisplayName("Should decode a JWT header segment")
+    void testDecode_JwtHeader() {
+        String header = "eyJhbGciOiJIUzI1NiJ9";
+
+        assertEquals("{\"alg\":\"HS256\"}", new String(Base64Url.decode(header, 0, header.length()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should clear only the trailing bits the decoder ignores")
+    void testCanonicalLastChar() {
+        // "AR" e "AQ" decodificam o mesmo byte: os 4 últimos bits de "R" sobram.
+        assertArrayEquals(Base64Url.decode("AR", 0, 2), Base64Url.decode("AQ", 0, 2));
+        assertEquals('Q', Base64Url.canonicalLastChar('R', 2));
+        assertEquals('Q', Base64Url.canonicalLastChar('T', 3));
+        assertEquals('U', Base64Url.canonicalLastChar('U', 3));
+        assertEquals('R', Base64Url.canonicalLastChar('R', 4));
+        assertEquals('+', Base64Url.canonicalLastChar('+', 2));
+    }
+}
@@ -0,0 +1,55 @@
+package com.instrospect.jwt_validator.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Should never report an added key as absent")
+    void testMightContain_AddedKeys_ShouldAlwaysBeFound() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        SplittableRandom random = new SplittableRandom(42);
+        long[] keys = new long[10_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+            filter.add(keys[i]);
+        }
+
+        for (long key : keys) {
+            assertTrue(filter.mightContain(key));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the false positive rate close to the requested one when full")
+    void testMightContain_AbsentKeys_ShouldRespectFalsePositiveRate() {
+        BloomFilter filter = BloomFilter.create(100_000, 0.01);
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 100_000; i++) {
+            filter.add(random.nextLong());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(random.nextLong())) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 1_000, "falsos positivos: " + falsePositives);
+        assertEquals(7, filter.hashes());
+        assertEquals(1, Long.bitCount(filter.memoryBytes()));
+    }
+
+    @Test
+    @DisplayName("Should reject false positive rates outside (0, 1)")
+    void testCreate_InvalidRate_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(10, 1));
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(10, Double.NaN));
+    }
+}
@@ -0,0 +1,80 @@
+package com.instrospect.jwt_validator.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DigitUtilTest {
+
+    @Test
+    @DisplayName("Should return false for text without numeric characters")
+    void testContainsNumeric_NoDigits_ShouldReturnFalse() {
+        assertFalse(DigitUtil.containsNumeric(""));
+        assertFalse(DigitUtil.containsNumeric("Toninho Araujo"));
+        assertFalse(DigitUtil.containsNumeric("José da Conceição"));
+        assertFalse(DigitUtil.containsNumeric("Ἀριστοτέλης"));
+        assertFalse(DigitUtil.containsNumeric("李小龍"));
+        assertFalse(DigitUtil.containsNumeric("O'Connor-Smith !@#$%"));
+    }
+
+    @Test
+    @DisplayName("Should detect ASCII digits anywhere in the text")
+    void testContainsNumeric_AsciiDigits_ShouldReturnTrue() {
+        assertTrue(DigitUtil.containsNumeric("1John"));
+        assertTrue(DigitUtil.containsNumeric("Jo5hn"));
+        assertTrue(DigitUtil.containsNumeric("John0"));
+        assertTrue(DigitUtil.containsNumeric("9"));
+    }
+
+    @Test
+    @DisplayName("Should detect non-ASCII decimal digits missed by \\d")
+    void testContainsNumeric_UnicodeDecimalDigits_ShouldReturnTrue() {
+        assertTrue(DigitUtil.containsNumeric("John٣"));       // ARABIC-INDIC DIGIT THREE
+        assertTrue(DigitUtil.containsNumeric("John३"));       // DEVANAGARI DIGIT THREE
+        assertTrue(DigitUtil.containsNumeric("John３"));      // FULLWIDTH DIGIT THREE
+        assertTrue(DigitUtil.containsNumeric("John𝟏")); // MATHEMATICAL BOLD DIGIT ONE (par substituto)
+    }
+
+    @Test
+    @DisplayName("Should detect letter numbers and other numbers")
+    void testContainsNumeric_OtherNumberCategories_ShouldReturnTrue() {
+        assertTrue(DigitUtil.containsNumeric("Henry Ⅷ"));     // ROMAN NUMERAL EIGHT (Nl)
+        assertTrue(DigitUtil.containsNumeric("Area²"));       // SUPERSCRIPT TWO (No)
+        assertTrue(DigitUtil.containsNumeric("Half½"));       // VULGAR FRACTION ONE HALF (No)
+        assertTrue(DigitUtil.containsNumeric("①John"));       // CIRCLED DIGIT ONE (No)
+    }
+
+    @Test
+    @DisplayName("Should not fail on unpaired surrogates")
+    void testContainsNumeric_UnpairedSurrogates_ShouldReturnFalse() {
+        assertFalse(DigitUtil.containsNumeric("John\uD835"));
+        assertFalse(DigitUtil.containsNumeric("\uDFCFJohn"));
+    }
+
+    @Test
+    @DisplayName("Should agree with \\d for every ASCII character")
+    void testContainsNumeric_AsciiRange_ShouldMatchRegex() {
+        for (char c = 0; c < 0x80; c++) {
+            String text = String.valueOf(c);
+            assertEquals(text.matches("\\d"), DigitUtil.containsNumeric(text), "char " + (int) c);
+        }
+    }
+
+    @Test
+    @DisplayName("Should throw UnsupportedOperationException when trying to instantiate")
+    void testPrivateConstructor_ShouldThrowUnsupportedOperationException() {
+        assertThrows(UnsupportedOperationException.class, () -> {
+            Constructor<DigitUtil> constructor = DigitUtil.class.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            try {
+                constructor.newInstance();
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+}
@@ -0,0 +1,50 @@
+package com.instrospect.jwt_validator.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimeSieveTest {
+
+    @Test
+    @DisplayName("Should agree with trial division for every number covered by the sieve")
+    void testIsPrime_CoveredRange_ShouldMatchTrialDivision() {
+        PrimeSieve sieve = new PrimeSieve(64 * 1024);
+
+        assertEquals(1_048_576, sieve.limit());
+        for (int n = -10; n < sieve.limit(); n++) {
+            assertEquals(PrimeUtil.isPrimeByTrialDivision(n), sieve.isPrime(n), "n = " + n);
+        }
+    }
+
+    @Test
+    @DisplayName("Should fall back to Miller-Rabin above the sieve limit")
+    void testIsPrime_AboveLimit_ShouldUseMillerRabin() {
+        PrimeSieve sieve = new PrimeSieve(1024);
+
+        for (int n = (int) sieve.limit() - 1000; n < sieve.limit() + 100_000; n++) {
+            assertEquals(PrimeUtil.isPrimeByTrialDivision(n), sieve.isPrime(n), "n = " + n);
+        }
+        assertTrue(sieve.isPrime(Integer.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("Should work without memory, using only Miller-Rabin")
+    void testIsPrime_ZeroMemory_ShouldUseMillerRabin() {
+        PrimeSieve sieve = new PrimeSieve(0);
+
+        assertEquals(0, sieve.limit());
+        assertFalse(sieve.isPrime(1));
+        assertTrue(sieve.isPrime(2));
+        assertTrue(sieve.isPrime(7841));
+        assertFalse(sieve.isPrime(7843));
+    }
+
+    @Test
+    @DisplayName("Should reject memory budgets outside the allowed range")
+    void testConstructor_InvalidMemory_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new PrimeSieve(-1));
+        assertThrows(IllegalArgumentException.class, () -> new PrimeSieve(PrimeSieve.MAX_MEMORY_BYTES + 1));
+    }
+}
@@ -5,6 +5,9 @@ import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.SplittableRandom;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -286,4 +289,73 @@ class PrimeUtilTest {
 
         assertEquals("Esta é uma classe utilitária e não deve ser instanciada", exception.getMessage());
     }
+
+    @Test
+    @DisplayName("Should agree with trial division for every number up to 2,000,000")
+    void testIsPrime_SmallRange_ShouldMatchTrialDivision() {
+        for (int n = -100; n <= 2_000_000; n++) {
+            assertEquals(PrimeUtil.isPrimeByTrialDivision(n), PrimeUtil.isPrime(n), "n = " + n);
+        }
+    }
+
+    @Test
+    @DisplayName("Should agree with trial division for the top of the int range")
+    void testIsPrime_TopOfIntRange_ShouldMatchTrialDivision() {
+        // Inclui os números acima de 46341², onde i * i estourava int na versão original.
+        for (long value = Integer.MAX_VALUE - 200_000L; value <= Integer.MAX_VALUE; value++) {
+            int n = (int) value;
+            assertEquals(PrimeUtil.isPrimeByTrialDivision(n), PrimeUtil.isPrime(n), "n = " + n);
+        }
+    }
+
+    @Test
+    @DisplayName("Should agree with trial division for random ints")
+    void testIsPrime_RandomInts_ShouldMatchTrialDivision() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 200_000; i++) {
+            int n = random.nextInt(Integer.MAX_VALUE);
+            assertEquals(PrimeUtil.isPrimeByTrialDivision(n), PrimeUtil.isPrime(n), "n = " + n);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject strong pseudoprimes and Carmichael numbers")
+    void testIsPrime_StrongPseudoprimes_ShouldReturnFalse() {
+        // Pseudoprimos fortes para a base 2 e números de Carmichael
+        int[] ints = {2047, 3277, 4033, 4681, 8321, 561, 1105, 1729, 2465, 25326001, 1_373_653};
+        for (int n : ints) {
+            assertEquals(PrimeUtil.isPrimeByTrialDivision(n), PrimeUtil.isPrime(n), "n = " + n);
+            assertFalse(PrimeUtil.isPrime(n), "n = " + n);
+        }
+        // Pseudoprimos fortes para várias bases primas consecutivas
+        long[] longs = {3_215_031_751L, 2_152_302_898_747L, 3_474_749_660_383L, 341_550_071_728_321L,
+                3_825_123_056_546_413_051L};
+        for (long n : longs) {
+            assertFalse(PrimeUtil.isPrime(n), "n = " + n);
+        }
+    }
+
+    @Test
+    @DisplayName("Should agree with BigInteger for 64-bit numbers")
+    void testIsPrime_Longs_ShouldMatchBigInteger() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 20_000; i++) {
+            long n = random.nextLong(Long.MAX_VALUE);
+            assertEquals(BigInteger.valueOf(n).isProbablePrime(64), PrimeUtil.isPrime(n), "n = " + n);
+        }
+        Random primes = new Random(11);
+        for (int i = 0; i < 2_000; i++) {
+            BigInteger p = BigInteger.probablePrime(32 + primes.nextInt(31), primes);
+            assertTrue(PrimeUtil.isPrime(p.longValueExact()), "p = " + p);
+            BigInteger q = BigInteger.probablePrime(31, primes);
+            if (p.bitLength() + q.bitLength() <= 63) {
+                assertFalse(PrimeUtil.isPrime(p.multiply(q).longValueExact()), "p * q = " + p.multiply(q));
+            }
+        }
+        assertTrue(PrimeUtil.isPrime(9_223_372_036_854_775_783L)); // maior primo em long
+        assertFalse(PrimeUtil.isPrime(Long.MAX_VALUE));
+        assertTrue(PrimeUtil.isPrime(4_294_967_291L));             // maior primo abaixo de 2^32
+        assertFalse(PrimeUtil.isPrime(-7L));
+        assertTrue(PrimeUtil.isPrime((long) Integer.MAX_VALUE));
+    }
 }